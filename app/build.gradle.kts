@@ -32,10 +32,24 @@ android {
     buildFeatures {
         viewBinding = true
     }
+    testOptions {
+        unitTests {
+            isIncludeAndroidResources = true
+            all {
+                if (project.findProperty("benchmark") != "true") {
+                    it.exclude("**/*BenchmarkTest.class")
+                }
+                it.systemProperty("benchmark.sizes", project.findProperty("benchmark.sizes") ?: "1000")
+                it.systemProperty("benchmark.record", project.findProperty("benchmark.record") ?: "false")
+                it.systemProperty("benchmark.outputDir", layout.buildDirectory.dir("benchmark").get().asFile.path)
+            }
+        }
+    }
 }
 
 dependencies {
 
+    implementation(project(":core"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.constraintlayout)
@@ -46,8 +60,14 @@ dependencies {
     implementation(libs.navigation.ui)
     implementation(libs.room.runtime)
     annotationProcessor(libs.room.compiler)
+    implementation(libs.room.paging)
+    implementation(libs.paging.runtime)
+    implementation(libs.work.runtime)
     implementation(libs.lifecycle.runtime)
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.test.core)
+    testImplementation(libs.work.testing)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
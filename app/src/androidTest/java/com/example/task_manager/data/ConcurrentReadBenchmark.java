@@ -0,0 +1,162 @@
+package com.example.task_manager.data;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class ConcurrentReadBenchmark {
+
+    private static final String TAG = "ConcurrentReadBenchmark";
+    private static final String DB_NAME = "concurrent-read-benchmark.db";
+    private static final int SEED_TASKS = 2000;
+    private static final int READ_ITERATIONS = 300;
+    private static final int WRITE_BATCH = 20;
+    private static final String LIST_QUERY = "SELECT * FROM tasks WHERE done = 0 ORDER BY pinned DESC, dueOrder ASC, createdAt DESC LIMIT 50";
+
+    private Context context;
+    private ExecutorService queryExecutor;
+    private ExecutorService transactionExecutor;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        queryExecutor = Executors.newFixedThreadPool(4);
+        transactionExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        queryExecutor.shutdownNow();
+        transactionExecutor.shutdownNow();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void walConfig_enablesWriteAheadLog() {
+        AppDatabase db = open(DatabaseConfig.defaults());
+        try {
+            SupportSQLiteDatabase database = db.getOpenHelper().getWritableDatabase();
+            assertEquals("wal", queryString(database, "PRAGMA journal_mode").toLowerCase(Locale.ROOT));
+            assertEquals(String.valueOf(DatabaseConfig.Synchronous.NORMAL.ordinal()), queryString(database, "PRAGMA synchronous"));
+            assertEquals(String.valueOf(-DatabaseConfig.defaults().getCacheSizeKib()), queryString(database, "PRAGMA cache_size"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void readLatencyDuringWriteStorm() throws Exception {
+        long[] truncate = measure(new DatabaseConfig(RoomDatabase.JournalMode.TRUNCATE, DatabaseConfig.Synchronous.FULL, 0));
+        context.deleteDatabase(DB_NAME);
+        long[] wal = measure(DatabaseConfig.defaults());
+        Log.i(TAG, "truncate/full " + describe(truncate));
+        Log.i(TAG, "wal/normal " + describe(wal));
+        assertEquals(READ_ITERATIONS, wal.length);
+        assertTrue("WAL p95 " + describe(wal) + " vs rollback journal " + describe(truncate),
+                percentile(wal, 95) <= percentile(truncate, 95) * 2);
+    }
+
+    private long[] measure(DatabaseConfig config) throws InterruptedException {
+        AppDatabase db = open(config);
+        try {
+            TaskDao taskDao = db.taskDao();
+            seed(taskDao);
+            AtomicBoolean writing = new AtomicBoolean(true);
+            Thread writer = new Thread(() -> {
+                long now = System.currentTimeMillis();
+                while (writing.get()) {
+                    List<TaskEntity> batch = new ArrayList<>(WRITE_BATCH);
+                    for (int i = 0; i < WRITE_BATCH; i++) {
+                        batch.add(new TaskEntity("storm " + i, false, now + i, now + i * 60_000L));
+                    }
+                    List<Long> ids = taskDao.insertAll(batch);
+                    taskDao.setDoneByIds(ids, true, now);
+                    taskDao.deleteByIds(ids);
+                }
+            }, TAG + "-writer");
+            writer.start();
+            SupportSQLiteDatabase database = db.getOpenHelper().getReadableDatabase();
+            long[] samples = new long[READ_ITERATIONS];
+            try {
+                for (int i = 0; i < READ_ITERATIONS; i++) {
+                    long startedAt = SystemClock.elapsedRealtimeNanos();
+                    try (Cursor cursor = database.query(LIST_QUERY)) {
+                        while (cursor.moveToNext()) {
+                            cursor.getLong(0);
+                        }
+                    }
+                    samples[i] = SystemClock.elapsedRealtimeNanos() - startedAt;
+                }
+            } finally {
+                writing.set(false);
+                writer.join();
+            }
+            return samples;
+        } finally {
+            db.close();
+        }
+    }
+
+    private AppDatabase open(DatabaseConfig config) {
+        return AppDatabase.configure(Room.databaseBuilder(context, AppDatabase.class, DB_NAME), config, queryExecutor, transactionExecutor)
+                .build();
+    }
+
+    private static void seed(TaskDao taskDao) {
+        long now = System.currentTimeMillis();
+        List<TaskEntity> tasks = new ArrayList<>(SEED_TASKS);
+        for (int i = 0; i < SEED_TASKS; i++) {
+            tasks.add(new TaskEntity("task " + i, i % 3 == 0, now - i * 1000L, i % 2 == 0 ? now + i * 60_000L : null));
+        }
+        taskDao.insertAll(tasks);
+    }
+
+    private static String queryString(SupportSQLiteDatabase database, String sql) {
+        try (Cursor cursor = database.query(sql)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getString(0);
+        }
+    }
+
+    private static long percentile(long[] samples, int percentile) {
+        List<Long> sorted = new ArrayList<>(samples.length);
+        for (long sample : samples) {
+            sorted.add(sample);
+        }
+        Collections.sort(sorted);
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1);
+        return sorted.get(Math.max(index, 0));
+    }
+
+    private static String describe(long[] samples) {
+        return String.format(Locale.ROOT, "p50=%.2fms p95=%.2fms p99=%.2fms",
+                percentile(samples, 50) / 1_000_000.0,
+                percentile(samples, 95) / 1_000_000.0,
+                percentile(samples, 99) / 1_000_000.0);
+    }
+}
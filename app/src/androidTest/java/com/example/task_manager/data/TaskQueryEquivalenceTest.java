@@ -0,0 +1,204 @@
+package com.example.task_manager.data;
+
+import android.content.Context;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class TaskQueryEquivalenceTest {
+
+    private static final List<String> TEXTS = Arrays.asList("отчет", "milk", "nothing");
+    private static final List<List<String>> TAG_NAMES = Arrays.asList(
+            Collections.singletonList("work"),
+            Arrays.asList("work", "home"),
+            Collections.singletonList("missing"));
+
+    private AppDatabase db;
+    private TaskDao taskDao;
+    private long workGroupId;
+    private long homeGroupId;
+    private long workTagId;
+    private long urgentTagId;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        taskDao = db.taskDao();
+        seed();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void listQueries_matchLegacyQueries() throws InterruptedException {
+        for (List<Long> tagIds : tagIdFilters()) {
+            int apply = tagIds.isEmpty() ? 0 : 1;
+            assertSameOrder(awaitValue(taskDao.observeAllWithTagsAndSubtasks(apply, tagIds)),
+                    TaskQuery.all().withAnyTagId(tagIds));
+            assertSameOrder(awaitValue(taskDao.observeUndoneWithTagsAndSubtasksWithDeadline(apply, tagIds)),
+                    TaskQuery.deadlines().withAnyTagId(tagIds));
+            for (Long groupId : groupFilters()) {
+                assertSameOrder(awaitValue(taskDao.observeAllWithTagsAndSubtasksByGroup(groupId, apply, tagIds)),
+                        TaskQuery.inGroup(groupId).withAnyTagId(tagIds));
+            }
+        }
+    }
+
+    @Test
+    public void textSearches_matchLegacyQueries() throws InterruptedException {
+        for (String text : TEXTS) {
+            String q = FtsQuery.fromText(text);
+            for (List<Long> tagIds : tagIdFilters()) {
+                int apply = tagIds.isEmpty() ? 0 : 1;
+                assertSameOrder(awaitValue(taskDao.searchUndoneWithTagsAndSubtasksAll(q, apply, tagIds)),
+                        TaskQuery.all().withText(q).withAnyTagId(tagIds));
+                assertSameOrder(awaitValue(taskDao.searchUndoneWithTagsAndSubtasksWithDeadline(q, apply, tagIds)),
+                        TaskQuery.deadlines().withText(q).withAnyTagId(tagIds));
+                assertSameOrder(awaitValue(taskDao.searchUndoneWithTagsAndSubtasksInInbox(q, apply, tagIds)),
+                        TaskQuery.inGroup(null).withText(q).withAnyTagId(tagIds));
+                assertSameOrder(awaitValue(taskDao.searchUndoneWithTagsAndSubtasksInGroup(workGroupId, q, apply, tagIds)),
+                        TaskQuery.inGroup(workGroupId).withText(q).withAnyTagId(tagIds));
+            }
+        }
+    }
+
+    @Test
+    public void tagNameSearches_matchLegacyQueries() throws InterruptedException {
+        List<String> texts = new ArrayList<>(TEXTS);
+        texts.add("");
+        for (String text : texts) {
+            String q = FtsQuery.fromText(text);
+            int applyText = text.isEmpty() ? 0 : 1;
+            for (List<String> names : TAG_NAMES) {
+                for (List<Long> tagIds : tagIdFilters()) {
+                    int apply = tagIds.isEmpty() ? 0 : 1;
+                    TaskQuery all = TaskQuery.all();
+                    TaskQuery deadlines = TaskQuery.deadlines();
+                    TaskQuery inbox = TaskQuery.inGroup(null);
+                    TaskQuery group = TaskQuery.inGroup(workGroupId);
+                    if (applyText == 1) {
+                        all = all.withText(q);
+                        deadlines = deadlines.withText(q);
+                        inbox = inbox.withText(q);
+                        group = group.withText(q);
+                    }
+                    assertSameOrder(awaitValue(taskDao.searchUndoneWithTagsAndSubtasksAllByTagNames(q, applyText, names, names.size(), apply, tagIds)),
+                            all.withAnyTagId(tagIds).withAllTagNames(names));
+                    assertSameOrder(awaitValue(taskDao.searchUndoneWithTagsAndSubtasksWithDeadlineByTagNames(q, applyText, names, names.size(), apply, tagIds)),
+                            deadlines.withAnyTagId(tagIds).withAllTagNames(names));
+                    assertSameOrder(awaitValue(taskDao.searchUndoneWithTagsAndSubtasksInInboxByTagNames(q, applyText, names, names.size(), apply, tagIds)),
+                            inbox.withAnyTagId(tagIds).withAllTagNames(names));
+                    assertSameOrder(awaitValue(taskDao.searchUndoneWithTagsAndSubtasksInGroupByTagNames(workGroupId, q, applyText, names, names.size(), apply, tagIds)),
+                            group.withAnyTagId(tagIds).withAllTagNames(names));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sameShape_reusesSqlText() {
+        String first = TaskQuery.inGroup(workGroupId).withText("a*").withAnyTagId(Collections.singletonList(workTagId)).toSqlQuery().getSql();
+        String second = TaskQuery.inGroup(homeGroupId).withText("b*").withAnyTagId(Collections.singletonList(urgentTagId)).toSqlQuery().getSql();
+        String otherShape = TaskQuery.inGroup(homeGroupId).withText("b*").toSqlQuery().getSql();
+        assertEquals(first, second);
+        assertFalse(first.equals(otherShape));
+    }
+
+    private List<List<Long>> tagIdFilters() {
+        return Arrays.asList(Collections.emptyList(), Collections.singletonList(workTagId), Arrays.asList(workTagId, urgentTagId));
+    }
+
+    private List<Long> groupFilters() {
+        return Arrays.asList(null, workGroupId, homeGroupId);
+    }
+
+    private void assertSameOrder(List<TaskWithTagsAndSubtasks> expected, TaskQuery query) {
+        List<TaskWithTagsAndSubtasks> actual = taskDao.getTasksSync(query.toSqlQuery());
+        assertEquals(query.toSqlQuery().getSql(), ids(expected), ids(actual));
+    }
+
+    private static List<Long> ids(List<TaskWithTagsAndSubtasks> items) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskWithTagsAndSubtasks item : items) {
+            ids.add(item.task.getId());
+        }
+        return ids;
+    }
+
+    private void seed() {
+        GroupDao groupDao = db.groupDao();
+        TagDao tagDao = db.tagDao();
+        TaskTagDao taskTagDao = db.taskTagDao();
+        SubtaskDao subtaskDao = db.subtaskDao();
+        workGroupId = groupDao.insert(new GroupEntity("Work"));
+        homeGroupId = groupDao.insert(new GroupEntity("Home"));
+        workTagId = tagDao.insert(new TagEntity("work"));
+        long homeTagId = tagDao.insert(new TagEntity("Home "));
+        urgentTagId = tagDao.insert(new TagEntity("urgent"));
+
+        long now = 1_700_000_000_000L;
+        Long[] groups = {null, workGroupId, homeGroupId};
+        String[] titles = {"Отчет за квартал", "Buy milk", "Call mom", "Отчетность", "Plan trip", "Read book"};
+        for (int i = 0; i < 36; i++) {
+            Long dueAt = i % 3 == 0 ? null : now + (i % 7) * 3_600_000L;
+            TaskEntity task = new TaskEntity(titles[i % titles.length] + " " + i, i % 4 == 0, now - i * 60_000L, dueAt,
+                    i % 5 == 0 ? "milk and bread" : "");
+            task.setPinned(i % 6 == 1);
+            task.setGroupId(groups[i % groups.length]);
+            long taskId = taskDao.insert(task);
+            if (i % 2 == 0) {
+                taskTagDao.insertCrossRef(new TaskTagCrossRef(taskId, workTagId));
+            }
+            if (i % 3 == 0) {
+                taskTagDao.insertCrossRef(new TaskTagCrossRef(taskId, homeTagId));
+            }
+            if (i % 5 == 0) {
+                taskTagDao.insertCrossRef(new TaskTagCrossRef(taskId, urgentTagId));
+            }
+            if (i % 4 == 2) {
+                subtaskDao.insert(new SubtaskEntity(taskId, "подготовить отчет", false, now, now));
+            }
+        }
+    }
+
+    private static <T> T awaitValue(LiveData<T> liveData) throws InterruptedException {
+        AtomicReference<T> value = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Observer<T> observer = new Observer<T>() {
+            @Override
+            public void onChanged(T t) {
+                value.set(t);
+                latch.countDown();
+                liveData.removeObserver(this);
+            }
+        };
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> liveData.observeForever(observer));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        return value.get();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.task_manager.data;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class TaskQueryPlanTest {
+
+    private AppDatabase db;
+
+    @Before
+    public void createDb() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void allTasksList_isOrderedByIndex() {
+        assertNoTempBTree("SELECT * FROM tasks WHERE (? = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (?))) ORDER BY pinned DESC, done ASC, dueOrder ASC, createdAt DESC",
+                0, 1);
+    }
+
+    @Test
+    public void groupTasksList_isOrderedByIndex() {
+        assertNoTempBTree("SELECT * FROM tasks WHERE groupId IS ? AND (? = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (?))) ORDER BY pinned DESC, done ASC, dueOrder ASC, createdAt DESC",
+                1, 0, 1);
+    }
+
+    @Test
+    public void deadlineTasksList_isOrderedByIndex() {
+        assertNoTempBTree("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL AND (? = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (?))) ORDER BY pinned DESC, dueOrder ASC, createdAt DESC",
+                0, 1);
+    }
+
+    @Test
+    public void undoneByGroup_isOrderedByIndex() {
+        assertNoTempBTree("SELECT * FROM tasks WHERE done = 0 AND groupId IS ? ORDER BY pinned DESC, dueOrder ASC, createdAt DESC",
+                1);
+    }
+
+    @Test
+    public void calendarRange_isOrderedByIndex() {
+        assertNoTempBTree("SELECT t.*, COALESCE(g.name, ?) AS groupName, g.color AS groupColor " +
+                        "FROM tasks t LEFT JOIN groups g ON g.id = t.groupId " +
+                        "WHERE t.done = 0 AND t.dueAt IS NOT NULL AND t.dueAt BETWEEN ? AND ? " +
+                        "AND (? = 0 OR ((? IS NULL AND t.groupId IS NULL) OR t.groupId = ?)) " +
+                        "ORDER BY t.dueAt ASC, t.createdAt DESC",
+                "inbox", 0, Long.MAX_VALUE, 0, null, null);
+    }
+
+    @Test
+    public void nextReminder_seeksDeadlineIndex() {
+        List<String> plan = explain("SELECT MIN(dueAt) FROM tasks WHERE done = 0 AND dueAt >= ?", 0L);
+        assertTrue("Plan " + plan, plan.toString().contains("COVERING INDEX index_tasks_done_dueAt_createdAt"));
+    }
+
+    @Test
+    public void archiveDonePage_mergesIndexOrderedArms() {
+        assertNoTempBTree(TaskDao.PAGE_DONE_BEFORE, "inbox", Long.MAX_VALUE, Long.MAX_VALUE, 60);
+    }
+
+    @Test
+    public void archivePastPage_mergesIndexOrderedArms() {
+        assertNoTempBTree(TaskDao.PAGE_PAST_BEFORE, "inbox", Long.MAX_VALUE, Long.MAX_VALUE, 60);
+    }
+
+    @Test
+    public void tagNameSearch_resolvesKeysAndDividesByTagIdIndex() {
+        String sql = TaskQuery.all().withAllTagNames(Arrays.asList("Работа", "home")).toSqlQuery().getSql();
+        List<String> plan = explain(sql, "работа", "home");
+        assertTrue("Plan " + plan, plan.toString().contains("index_tags_nameKey"));
+        assertTrue("Plan " + plan, plan.toString().contains("index_task_tags_tagId"));
+    }
+
+    private void assertNoTempBTree(String sql, Object... args) {
+        List<String> plan = explain(sql, args);
+        for (String step : plan) {
+            assertFalse("Unexpected sort in plan " + plan + " for " + sql, step.contains("USE TEMP B-TREE"));
+        }
+    }
+
+    private List<String> explain(String sql, Object... args) {
+        SupportSQLiteDatabase database = db.getOpenHelper().getReadableDatabase();
+        List<String> plan = new ArrayList<>();
+        try (Cursor cursor = database.query("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detailIndex = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.add(cursor.getString(detailIndex));
+            }
+        }
+        return plan;
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.task_manager;
 
+import android.Manifest;
+import android.content.pm.PackageManager;
+import android.os.Build;
 import android.os.Bundle;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.app.ActivityCompat;
+import androidx.core.content.ContextCompat;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowCompat;
@@ -16,10 +22,18 @@ import androidx.navigation.Navigation;
 import androidx.navigation.ui.AppBarConfiguration;
 import androidx.navigation.ui.NavigationUI;
 
+import com.example.task_manager.data.QueryStats;
 import com.example.task_manager.databinding.ActivityMainBinding;
+import com.example.task_manager.ui.debug.QueryStatsActivity;
+import com.example.task_manager.ui.debug.RenderStats;
+
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
 
 public class MainActivity extends AppCompatActivity {
 
+    private static final int REQUEST_NOTIFICATIONS = 1;
+
     private AppBarConfiguration mAppBarConfiguration;
     private ActivityMainBinding binding;
 
@@ -48,6 +62,23 @@ public class MainActivity extends AppCompatActivity {
         );
 
         NavigationUI.setupActionBarWithNavController(this, navController, mAppBarConfiguration);
+
+        binding.toolbar.setOnLongClickListener(v -> {
+            startActivity(QueryStatsActivity.createIntent(this));
+            return true;
+        });
+
+        if (savedInstanceState == null) {
+            requestNotificationPermission();
+        }
+    }
+
+    /** Deadline reminders are posted from {@link com.example.task_manager.reminders.ReminderWorker}. */
+    private void requestNotificationPermission() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS) != PackageManager.PERMISSION_GRANTED) {
+            ActivityCompat.requestPermissions(this, new String[]{Manifest.permission.POST_NOTIFICATIONS}, REQUEST_NOTIFICATIONS);
+        }
     }
 
     @Override
@@ -73,6 +104,16 @@ public class MainActivity extends AppCompatActivity {
                 || super.onSupportNavigateUp();
     }
 
+    /** {@code adb shell dumpsys activity com.example.task_manager/.MainActivity} prints the debug stats. */
+    @Override
+    public void dump(@NonNull String prefix, @Nullable FileDescriptor fd, @NonNull PrintWriter writer, @Nullable String[] args) {
+        super.dump(prefix, fd, writer, args);
+        writer.println(prefix + "RenderStats:");
+        writer.println(RenderStats.get(this).report());
+        writer.println(prefix + "QueryStats:");
+        writer.println(QueryStats.get(this).toJson());
+    }
+
     private void applyWindowInsets() {
         final int appBarPaddingStart = binding.appBarLayout.getPaddingStart();
         final int appBarPaddingTop = binding.appBarLayout.getPaddingTop();
@@ -2,12 +2,63 @@ package com.example.task_manager;
 
 import android.app.Application;
 
+import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.ArchiveWorker;
+import com.example.task_manager.data.DbExecutors;
+import com.example.task_manager.data.DictionaryRepository;
+import com.example.task_manager.data.QueryStats;
+import com.example.task_manager.reminders.ReminderScheduler;
+import com.example.task_manager.ui.common.DateLabels;
+import com.example.task_manager.ui.debug.RenderStats;
 import com.google.android.material.color.DynamicColors;
 
 public class TaskManagerApplication extends Application {
+
+    private DbExecutors dbExecutors;
+    private QueryStats queryStats;
+    private RenderStats renderStats;
+    private DictionaryRepository dictionary;
+    private DateLabels dateLabels;
+    private ReminderScheduler reminders;
+
     @Override
     public void onCreate() {
         super.onCreate();
+        dbExecutors = new DbExecutors();
+        queryStats = new QueryStats(this);
+        renderStats = new RenderStats(this);
         DynamicColors.applyToActivitiesIfAvailable(this);
+        ArchiveWorker.schedule(this);
+        reminders = new ReminderScheduler(this, AppDatabase.getInstance(this), dbExecutors.reads());
+    }
+
+    public DbExecutors getDbExecutors() {
+        return dbExecutors;
+    }
+
+    public QueryStats getQueryStats() {
+        return queryStats;
+    }
+
+    public RenderStats getRenderStats() {
+        return renderStats;
+    }
+
+    public ReminderScheduler getReminders() {
+        return reminders;
+    }
+
+    public synchronized DictionaryRepository getDictionary() {
+        if (dictionary == null) {
+            dictionary = new DictionaryRepository(AppDatabase.getInstance(this), dbExecutors.reads());
+        }
+        return dictionary;
+    }
+
+    public synchronized DateLabels getDateLabels() {
+        if (dateLabels == null) {
+            dateLabels = new DateLabels(this);
+        }
+        return dateLabels;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.example.task_manager.data;
 
 import android.content.Context;
+import android.database.Cursor;
 
 import androidx.annotation.NonNull;
 import androidx.room.Database;
@@ -8,8 +9,14 @@ import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.migration.Migration;
 import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
 
-@Database(entities = {TaskEntity.class, SubtaskEntity.class, GroupEntity.class, TagEntity.class, TaskTagCrossRef.class}, version = 7, exportSchema = false)
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+@Database(entities = {TaskEntity.class, SubtaskEntity.class, GroupEntity.class, TagEntity.class, TaskTagCrossRef.class, TaskFtsEntity.class, SubtaskFtsEntity.class, ArchivedTaskEntity.class, ArchivedSubtaskEntity.class, ArchivedTaskTagRef.class}, version = 15, exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
 
     private static volatile AppDatabase INSTANCE;
@@ -19,6 +26,7 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract GroupDao groupDao();
     public abstract TagDao tagDao();
     public abstract TaskTagDao taskTagDao();
+    public abstract ArchiveDao archiveDao();
 
     public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
         @Override
@@ -73,27 +81,167 @@ public abstract class AppDatabase extends RoomDatabase {
         }
     };
 
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `tasks_fts` USING FTS4(`title` TEXT NOT NULL, `description` TEXT NOT NULL, tokenize=unicode61, content=`tasks`)");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_BEFORE_UPDATE BEFORE UPDATE ON `tasks` BEGIN DELETE FROM `tasks_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_BEFORE_DELETE BEFORE DELETE ON `tasks` BEGIN DELETE FROM `tasks_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_AFTER_UPDATE AFTER UPDATE ON `tasks` BEGIN INSERT INTO `tasks_fts`(`docid`, `title`, `description`) VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_AFTER_INSERT AFTER INSERT ON `tasks` BEGIN INSERT INTO `tasks_fts`(`docid`, `title`, `description`) VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+            database.execSQL("INSERT INTO tasks_fts(tasks_fts) VALUES('rebuild')");
+
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `subtasks_fts` USING FTS4(`title` TEXT NOT NULL, tokenize=unicode61, content=`subtasks`)");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_subtasks_fts_BEFORE_UPDATE BEFORE UPDATE ON `subtasks` BEGIN DELETE FROM `subtasks_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_subtasks_fts_BEFORE_DELETE BEFORE DELETE ON `subtasks` BEGIN DELETE FROM `subtasks_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_subtasks_fts_AFTER_UPDATE AFTER UPDATE ON `subtasks` BEGIN INSERT INTO `subtasks_fts`(`docid`, `title`) VALUES (NEW.`rowid`, NEW.`title`); END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_subtasks_fts_AFTER_INSERT AFTER INSERT ON `subtasks` BEGIN INSERT INTO `subtasks_fts`(`docid`, `title`) VALUES (NEW.`rowid`, NEW.`title`); END");
+            database.execSQL("INSERT INTO subtasks_fts(subtasks_fts) VALUES('rebuild')");
+        }
+    };
+
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE tasks ADD COLUMN dueOrder INTEGER NOT NULL DEFAULT " + TaskEntity.NO_DUE_ORDER);
+            database.execSQL("UPDATE tasks SET dueOrder = dueAt WHERE dueAt IS NOT NULL");
+            database.execSQL("DROP INDEX IF EXISTS index_tasks_pinned");
+            database.execSQL("DROP INDEX IF EXISTS index_tasks_groupId");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_done_pinned_dueOrder_createdAt` ON `tasks` (`done` ASC, `pinned` DESC, `dueOrder` ASC, `createdAt` DESC)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_done_groupId_pinned_dueOrder_createdAt` ON `tasks` (`done` ASC, `groupId` ASC, `pinned` DESC, `dueOrder` ASC, `createdAt` DESC)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_pinned_done_dueOrder_createdAt` ON `tasks` (`pinned` DESC, `done` ASC, `dueOrder` ASC, `createdAt` DESC)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_groupId_pinned_done_dueOrder_createdAt` ON `tasks` (`groupId` ASC, `pinned` DESC, `done` ASC, `dueOrder` ASC, `createdAt` DESC)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_done_dueAt_createdAt` ON `tasks` (`done` ASC, `dueAt` ASC, `createdAt` DESC)");
+        }
+    };
+
+    public static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE tags ADD COLUMN nameKey TEXT NOT NULL DEFAULT ''");
+            Map<Long, String> nameById = new LinkedHashMap<>();
+            try (Cursor cursor = database.query("SELECT id, name FROM tags ORDER BY id ASC")) {
+                while (cursor.moveToNext()) {
+                    nameById.put(cursor.getLong(0), cursor.getString(1));
+                }
+            }
+            Map<String, Long> idByKey = new HashMap<>();
+            for (Map.Entry<Long, String> tag : nameById.entrySet()) {
+                long id = tag.getKey();
+                String key = TagEntity.keyOf(tag.getValue());
+                Long keptId = idByKey.get(key);
+                if (keptId == null) {
+                    idByKey.put(key, id);
+                    database.execSQL("UPDATE tags SET nameKey = ? WHERE id = ?", new Object[]{key, id});
+                } else {
+                    database.execSQL("UPDATE OR IGNORE task_tags SET tagId = ? WHERE tagId = ?", new Object[]{keptId, id});
+                    database.execSQL("DELETE FROM task_tags WHERE tagId = ?", new Object[]{id});
+                    database.execSQL("DELETE FROM tags WHERE id = ?", new Object[]{id});
+                }
+            }
+            database.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_tags_nameKey` ON `tags` (`nameKey`)");
+        }
+    };
+
+    public static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE tasks ADD COLUMN archiveTime INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("UPDATE tasks SET archiveTime = COALESCE(dueAt, createdAt)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_done_archiveTime` ON `tasks` (`done`, `archiveTime`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_archiveTime` ON `tasks` (`archiveTime`)");
+        }
+    };
+
+    public static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `archived_tasks` (`id` INTEGER NOT NULL, `title` TEXT NOT NULL, `description` TEXT NOT NULL, `createdAt` INTEGER NOT NULL, `dueAt` INTEGER, `archiveTime` INTEGER NOT NULL, `groupId` INTEGER, PRIMARY KEY(`id`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_archived_tasks_archiveTime` ON `archived_tasks` (`archiveTime`)");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `archived_subtasks` (`id` INTEGER NOT NULL, `taskId` INTEGER NOT NULL, `title` TEXT NOT NULL, `done` INTEGER NOT NULL, `createdAt` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_archived_subtasks_taskId` ON `archived_subtasks` (`taskId`)");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `archived_task_tags` (`taskId` INTEGER NOT NULL, `tagId` INTEGER NOT NULL, PRIMARY KEY(`taskId`, `tagId`))");
+        }
+    };
+
+    public static final Migration MIGRATION_12_13 = new Migration(12, 13) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE tasks ADD COLUMN subtaskTotal INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE tasks ADD COLUMN subtaskDone INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE tasks ADD COLUMN tagCount INTEGER NOT NULL DEFAULT 0");
+            TaskCounters.backfill(database);
+            TaskCounters.createTriggers(database);
+        }
+    };
+
+    public static final Migration MIGRATION_13_14 = new Migration(13, 14) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE tasks ADD COLUMN recurrence TEXT");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_done_recurrence` ON `tasks` (`done`, `recurrence`)");
+        }
+    };
+
+    /**
+     * Completion times were never recorded; done tasks get their old archive estimate, capped at the migration time
+     * so a done task with a future deadline still archives on schedule.
+     */
+    public static final Migration MIGRATION_14_15 = new Migration(14, 15) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE tasks ADD COLUMN completedAt INTEGER");
+            database.execSQL("UPDATE tasks SET completedAt = MIN(archiveTime, " + System.currentTimeMillis() + ") WHERE done = 1");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_done_completedAt` ON `tasks` (`done`, `completedAt`)");
+            database.execSQL("ALTER TABLE archived_tasks ADD COLUMN recurrence TEXT");
+        }
+    };
+
     public static AppDatabase getInstance(Context context) {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(
-                                    context.getApplicationContext(),
-                                    AppDatabase.class,
-                                    "tasks.db"
-                            )
-                            .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7)
-                            .addCallback(new Callback() {
-                                @Override
-                                public void onOpen(@NonNull SupportSQLiteDatabase db) {
-                                    super.onOpen(db);
-                                    db.execSQL("PRAGMA foreign_keys=ON");
-                                }
-                            })
-                            .build();
+                    DbExecutors executors = DbExecutors.get(context);
+                    QueryStats queryStats = QueryStats.get(context);
+                    RoomDatabase.Builder<AppDatabase> builder =
+                            Room.databaseBuilder(context.getApplicationContext(), AppDatabase.class, "tasks.db");
+                    if (queryStats.isEnabled()) {
+                        builder.openHelperFactory(new InstrumentedOpenHelperFactory(new FrameworkSQLiteOpenHelperFactory(), queryStats));
+                    }
+                    INSTANCE = configure(
+                            builder,
+                            DatabaseConfig.defaults(),
+                            executors.reads(),
+                            executors.writes()
+                    ).build();
                 }
             }
         }
         return INSTANCE;
     }
+
+    static RoomDatabase.Builder<AppDatabase> configure(RoomDatabase.Builder<AppDatabase> builder,
+                                                       DatabaseConfig config,
+                                                       Executor queryExecutor,
+                                                       Executor transactionExecutor) {
+        return builder
+                .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11, MIGRATION_11_12, MIGRATION_12_13, MIGRATION_13_14, MIGRATION_14_15)
+                .setJournalMode(config.getJournalMode())
+                .setQueryExecutor(queryExecutor)
+                .setTransactionExecutor(transactionExecutor)
+                .addCallback(new Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        super.onCreate(db);
+                        TaskCounters.createTriggers(db);
+                    }
+
+                    @Override
+                    public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                        super.onOpen(db);
+                        FtsSyncTriggers.apply(db);
+                        config.applyPragmas(db);
+                    }
+                });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.example.task_manager.data;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.List;
+
+/** Moves completed tasks with their subtasks and tag links between the hot tables and {@code archived_*}. */
+@Dao
+public interface ArchiveDao {
+
+    @Query("SELECT id FROM tasks WHERE done = 1 AND completedAt < :cutoff ORDER BY completedAt ASC LIMIT :limit")
+    List<Long> getArchivableIdsSync(long cutoff, int limit);
+
+    @Query("INSERT INTO archived_tasks (id, title, description, createdAt, dueAt, archiveTime, groupId, recurrence) " +
+            "SELECT id, title, description, createdAt, dueAt, archiveTime, groupId, recurrence FROM tasks WHERE id IN (:taskIds)")
+    void copyTasksToArchive(List<Long> taskIds);
+
+    @Query("INSERT INTO archived_subtasks (id, taskId, title, done, createdAt) " +
+            "SELECT id, taskId, title, done, createdAt FROM subtasks WHERE taskId IN (:taskIds)")
+    void copySubtasksToArchive(List<Long> taskIds);
+
+    @Query("INSERT INTO archived_task_tags (taskId, tagId) SELECT taskId, tagId FROM task_tags WHERE taskId IN (:taskIds)")
+    void copyTaskTagsToArchive(List<Long> taskIds);
+
+    @Query("DELETE FROM subtasks WHERE taskId IN (:taskIds)")
+    void deleteSubtasks(List<Long> taskIds);
+
+    @Query("DELETE FROM task_tags WHERE taskId IN (:taskIds)")
+    void deleteTaskTags(List<Long> taskIds);
+
+    @Query("DELETE FROM tasks WHERE id IN (:taskIds)")
+    void deleteTasks(List<Long> taskIds);
+
+    /** Archives up to {@code limit} tasks whose {@code completedAt} is before {@code cutoff}; returns how many were moved. */
+    @Transaction
+    default int archiveBatch(long cutoff, int limit) {
+        List<Long> taskIds = getArchivableIdsSync(cutoff, limit);
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        copyTasksToArchive(taskIds);
+        copySubtasksToArchive(taskIds);
+        copyTaskTagsToArchive(taskIds);
+        deleteSubtasks(taskIds);
+        deleteTaskTags(taskIds);
+        deleteTasks(taskIds);
+        return taskIds.size();
+    }
+
+    @Query("SELECT COUNT(*) FROM archived_tasks WHERE id = :taskId")
+    int countArchived(long taskId);
+
+    @Query("INSERT INTO tasks (id, title, done, pinned, createdAt, dueAt, dueOrder, archiveTime, description, groupId, " +
+            "subtaskTotal, subtaskDone, tagCount, recurrence) " +
+            "SELECT a.id, a.title, 0, 0, a.createdAt, a.dueAt, COALESCE(a.dueAt, " + TaskEntity.NO_DUE_ORDER + "), a.archiveTime, " +
+            "a.description, (SELECT g.id FROM groups g WHERE g.id = a.groupId), 0, 0, 0, a.recurrence " +
+            "FROM archived_tasks a WHERE a.id = :taskId")
+    void copyTaskFromArchive(long taskId);
+
+    @Query("INSERT INTO subtasks (id, taskId, title, done, createdAt, updatedAt) " +
+            "SELECT id, taskId, title, done, createdAt, createdAt FROM archived_subtasks WHERE taskId = :taskId")
+    void copySubtasksFromArchive(long taskId);
+
+    @Query("INSERT OR IGNORE INTO task_tags (taskId, tagId) " +
+            "SELECT taskId, tagId FROM archived_task_tags WHERE taskId = :taskId AND tagId IN (SELECT id FROM tags)")
+    void copyTaskTagsFromArchive(long taskId);
+
+    @Query("DELETE FROM archived_subtasks WHERE taskId = :taskId")
+    void deleteArchivedSubtasks(long taskId);
+
+    @Query("DELETE FROM archived_task_tags WHERE taskId = :taskId")
+    void deleteArchivedTaskTags(long taskId);
+
+    @Query("DELETE FROM archived_tasks WHERE id = :taskId")
+    void deleteArchivedTask(long taskId);
+
+    /**
+     * Moves an archived task back to {@code tasks} as undone, with its subtasks and the links to tags that still
+     * exist. A group deleted in the meantime leaves the task in the inbox. Returns false if it is not archived.
+     */
+    @Transaction
+    default boolean restore(long taskId) {
+        if (countArchived(taskId) == 0) {
+            return false;
+        }
+        copyTaskFromArchive(taskId);
+        copySubtasksFromArchive(taskId);
+        copyTaskTagsFromArchive(taskId);
+        deleteArchivedSubtasks(taskId);
+        deleteArchivedTaskTags(taskId);
+        deleteArchivedTask(taskId);
+        return true;
+    }
+}
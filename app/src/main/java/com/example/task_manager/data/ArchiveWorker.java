@@ -0,0 +1,61 @@
+package com.example.task_manager.data;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.task_manager.R;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily job that moves tasks completed more than {@code archive_after_days} ago into the {@code archived_*} tables.
+ * Works in short transactions so the UI is never blocked behind one long write. Afterwards it recounts any task
+ * counters that drifted from their subtasks and tags (see {@link TaskCounters}).
+ */
+public class ArchiveWorker extends Worker {
+
+    private static final String WORK_NAME = "archive-compaction";
+    private static final int BATCH_SIZE = 200;
+
+    public ArchiveWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Enqueues the daily run once; later calls keep the existing schedule. */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresBatteryNotLow(true)
+                .setRequiresDeviceIdle(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(ArchiveWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        int days = context.getResources().getInteger(R.integer.archive_after_days);
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+        AppDatabase db = AppDatabase.getInstance(context);
+        ArchiveDao archiveDao = db.archiveDao();
+        int moved;
+        do {
+            if (isStopped()) {
+                return Result.retry();
+            }
+            moved = archiveDao.archiveBatch(cutoff, BATCH_SIZE);
+        } while (moved == BATCH_SIZE);
+        db.taskDao().repairCounters();
+        return Result.success();
+    }
+}
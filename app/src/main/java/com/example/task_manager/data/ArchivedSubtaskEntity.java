@@ -0,0 +1,22 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+@Entity(tableName = "archived_subtasks", indices = {@Index("taskId")})
+public class ArchivedSubtaskEntity {
+
+    @PrimaryKey
+    public long id;
+
+    public long taskId;
+
+    @NonNull
+    public String title = "";
+
+    public boolean done;
+
+    public long createdAt;
+}
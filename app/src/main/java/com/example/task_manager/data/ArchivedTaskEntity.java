@@ -0,0 +1,39 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * A completed task moved out of {@code tasks} by {@link ArchiveWorker}. Keeps the original id so it can be restored
+ * in place; {@code done}, {@code pinned} and {@code dueOrder} are implied and not stored.
+ */
+@Entity(tableName = "archived_tasks", indices = {@Index("archiveTime")})
+public class ArchivedTaskEntity {
+
+    @PrimaryKey
+    public long id;
+
+    @NonNull
+    public String title = "";
+
+    @NonNull
+    public String description = "";
+
+    public long createdAt;
+
+    @Nullable
+    public Long dueAt;
+
+    public long archiveTime;
+
+    /** Not a foreign key: the group may be deleted while the task sits in the archive. */
+    @Nullable
+    public Long groupId;
+
+    /** Carried through so a restored series keeps repeating. */
+    @Nullable
+    public String recurrence;
+}
@@ -0,0 +1,10 @@
+package com.example.task_manager.data;
+
+import androidx.room.Entity;
+
+@Entity(tableName = "archived_task_tags", primaryKeys = {"taskId", "tagId"})
+public class ArchivedTaskTagRef {
+
+    public long taskId;
+    public long tagId;
+}
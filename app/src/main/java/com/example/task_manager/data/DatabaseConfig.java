@@ -0,0 +1,69 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+public final class DatabaseConfig {
+
+    public enum Synchronous {
+        OFF,
+        NORMAL,
+        FULL
+    }
+
+    private static final int DEFAULT_CACHE_SIZE_KIB = 4096;
+
+    @NonNull
+    private final RoomDatabase.JournalMode journalMode;
+    @NonNull
+    private final Synchronous synchronous;
+    private final int cacheSizeKib;
+
+    public DatabaseConfig(@NonNull RoomDatabase.JournalMode journalMode, @NonNull Synchronous synchronous, int cacheSizeKib) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSizeKib = cacheSizeKib;
+    }
+
+    @NonNull
+    public static DatabaseConfig defaults() {
+        return new DatabaseConfig(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING, Synchronous.NORMAL, DEFAULT_CACHE_SIZE_KIB);
+    }
+
+    @NonNull
+    public RoomDatabase.JournalMode getJournalMode() {
+        return journalMode;
+    }
+
+    @NonNull
+    public Synchronous getSynchronous() {
+        return synchronous;
+    }
+
+    public int getCacheSizeKib() {
+        return cacheSizeKib;
+    }
+
+    /**
+     * Runs the pragmas on every pooled connection where the platform allows it (API 33+). Below that only the primary
+     * connection is reached. That still covers {@code foreign_keys} and {@code synchronous}, because every write runs
+     * on the primary connection, but WAL reader connections keep SQLite's default page cache.
+     */
+    void applyPragmas(@NonNull SupportSQLiteDatabase db) {
+        boolean perConnection = db.isExecPerConnectionSQLSupported();
+        exec(db, perConnection, "PRAGMA foreign_keys=ON");
+        exec(db, perConnection, "PRAGMA synchronous=" + synchronous.name());
+        if (cacheSizeKib > 0) {
+            exec(db, perConnection, "PRAGMA cache_size=-" + cacheSizeKib);
+        }
+    }
+
+    private static void exec(@NonNull SupportSQLiteDatabase db, boolean perConnection, @NonNull String sql) {
+        if (perConnection) {
+            db.execPerConnectionSQL(sql, null);
+        } else {
+            db.execSQL(sql);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.task_manager.data;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.task_manager.TaskManagerApplication;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class DbExecutors {
+
+    private static final String TAG = "DbExecutors";
+    private static final int READ_THREADS = 4;
+    private static final long SLOW_TASK_MS = 250;
+
+    private final Lane reads;
+    private final Lane writes;
+
+    public DbExecutors() {
+        reads = new Lane("db-read", READ_THREADS);
+        writes = new Lane("db-write", 1);
+    }
+
+    @NonNull
+    public static DbExecutors get(@NonNull Context context) {
+        return ((TaskManagerApplication) context.getApplicationContext()).getDbExecutors();
+    }
+
+    @NonNull
+    public Lane reads() {
+        return reads;
+    }
+
+    @NonNull
+    public Lane writes() {
+        return writes;
+    }
+
+    public static final class Lane implements Executor {
+
+        private final String name;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong totalRunNanos = new AtomicLong();
+        private final AtomicLong maxRunNanos = new AtomicLong();
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+        Lane(String name, int threads) {
+            this.name = name;
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> new Thread(runnable, name + "-" + threadCount.incrementAndGet()));
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            long enqueuedAt = SystemClock.elapsedRealtimeNanos();
+            submitted.incrementAndGet();
+            executor.execute(() -> {
+                long startedAt = SystemClock.elapsedRealtimeNanos();
+                totalWaitNanos.addAndGet(startedAt - enqueuedAt);
+                try {
+                    command.run();
+                } finally {
+                    long runNanos = SystemClock.elapsedRealtimeNanos() - startedAt;
+                    totalRunNanos.addAndGet(runNanos);
+                    updateMax(maxRunNanos, runNanos);
+                    completed.incrementAndGet();
+                    if (runNanos > TimeUnit.MILLISECONDS.toNanos(SLOW_TASK_MS)) {
+                        Log.w(TAG, name + " task took " + TimeUnit.NANOSECONDS.toMillis(runNanos) + " ms");
+                    }
+                }
+            });
+            maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+        }
+
+        public int getQueueDepth() {
+            return executor.getQueue().size();
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth.get();
+        }
+
+        public long getSubmittedCount() {
+            return submitted.get();
+        }
+
+        public long getCompletedCount() {
+            return completed.get();
+        }
+
+        public double getAverageWaitMillis() {
+            long done = completed.get();
+            return done == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / done;
+        }
+
+        public double getAverageRunMillis() {
+            long done = completed.get();
+            return done == 0 ? 0 : totalRunNanos.get() / 1_000_000.0 / done;
+        }
+
+        public double getMaxRunMillis() {
+            return maxRunNanos.get() / 1_000_000.0;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%s: queued=%d (max %d), submitted=%d, completed=%d, avgWait=%.1fms, avgRun=%.1fms, maxRun=%.1fms",
+                    name, getQueueDepth(), getMaxQueueDepth(), getSubmittedCount(), getCompletedCount(),
+                    getAverageWaitMillis(), getAverageRunMillis(), getMaxRunMillis());
+        }
+
+        private static void updateMax(AtomicLong target, long value) {
+            target.accumulateAndGet(value, Math::max);
+        }
+    }
+}
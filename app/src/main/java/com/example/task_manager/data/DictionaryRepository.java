@@ -0,0 +1,186 @@
+package com.example.task_manager.data;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+
+import com.example.task_manager.TaskManagerApplication;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * App-wide in-memory copy of the tag and group tables, reloaded whenever Room reports them invalidated.
+ * Lookups are plain map reads and never touch the database.
+ */
+public final class DictionaryRepository {
+
+    private final TagDao tagDao;
+    private final GroupDao groupDao;
+    private final MutableLiveData<List<TagEntity>> tags = new MutableLiveData<>();
+    private final MutableLiveData<List<GroupEntity>> groups = new MutableLiveData<>();
+    private final SerialReload tagsReload;
+    private final SerialReload groupsReload;
+
+    private volatile Map<Long, TagEntity> tagsById = Collections.emptyMap();
+    private volatile Map<String, Long> tagIdByKey = Collections.emptyMap();
+    private volatile Map<Long, GroupEntity> groupsById = Collections.emptyMap();
+    private volatile Map<String, Long> groupIdByKey = Collections.emptyMap();
+
+    public DictionaryRepository(@NonNull AppDatabase db, @NonNull Executor readExecutor) {
+        this.tagDao = db.tagDao();
+        this.groupDao = db.groupDao();
+        this.tagsReload = new SerialReload(readExecutor, this::reloadTags);
+        this.groupsReload = new SerialReload(readExecutor, this::reloadGroups);
+        db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("tags", "groups") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                if (tables.contains("tags")) {
+                    scheduleTagsReload();
+                }
+                if (tables.contains("groups")) {
+                    scheduleGroupsReload();
+                }
+            }
+        });
+        scheduleTagsReload();
+        scheduleGroupsReload();
+    }
+
+    @NonNull
+    public static DictionaryRepository get(@NonNull Context context) {
+        return ((TaskManagerApplication) context.getApplicationContext()).getDictionary();
+    }
+
+    /** Tags ordered by name. */
+    @NonNull
+    public LiveData<List<TagEntity>> getTags() {
+        return tags;
+    }
+
+    /** Groups in display order. */
+    @NonNull
+    public LiveData<List<GroupEntity>> getGroups() {
+        return groups;
+    }
+
+    @Nullable
+    public TagEntity getTag(long id) {
+        return tagsById.get(id);
+    }
+
+    @Nullable
+    public TagEntity findTagByName(@NonNull String name) {
+        Long id = tagIdByKey.get(TagEntity.keyOf(name));
+        return id == null ? null : tagsById.get(id);
+    }
+
+    @Nullable
+    public GroupEntity getGroup(long id) {
+        return groupsById.get(id);
+    }
+
+    @Nullable
+    public GroupEntity findGroupByName(@NonNull String name) {
+        Long id = groupIdByKey.get(TagEntity.keyOf(name));
+        return id == null ? null : groupsById.get(id);
+    }
+
+    /** Returns the tag named {@code name}, inserting it first if it does not exist yet. */
+    @WorkerThread
+    @NonNull
+    public TagEntity resolveOrCreateTag(@NonNull String name) {
+        TagEntity cached = findTagByName(name);
+        if (cached != null) {
+            return cached;
+        }
+        TagEntity created = new TagEntity(name);
+        long id = tagDao.insert(created);
+        if (id == -1) {
+            TagEntity existing = tagDao.findByKeySync(created.getNameKey());
+            if (existing != null) {
+                return existing;
+            }
+        }
+        created.setId(id);
+        return created;
+    }
+
+    private void scheduleTagsReload() {
+        tagsReload.request();
+    }
+
+    private void scheduleGroupsReload() {
+        groupsReload.request();
+    }
+
+    private void reloadTags() {
+        List<TagEntity> loaded = tagDao.getAllOrderedSync();
+        Map<Long, TagEntity> byId = new HashMap<>(loaded.size() * 2);
+        Map<String, Long> byKey = new HashMap<>(loaded.size() * 2);
+        for (TagEntity tag : loaded) {
+            byId.put(tag.getId(), tag);
+            byKey.put(tag.getNameKey(), tag.getId());
+        }
+        tagsById = byId;
+        tagIdByKey = byKey;
+        tags.postValue(Collections.unmodifiableList(loaded));
+    }
+
+    private void reloadGroups() {
+        List<GroupEntity> loaded = groupDao.getAllOrderedSync();
+        Map<Long, GroupEntity> byId = new HashMap<>(loaded.size() * 2);
+        Map<String, Long> byKey = new HashMap<>(loaded.size() * 2);
+        for (GroupEntity group : loaded) {
+            byId.put(group.getId(), group);
+            byKey.put(TagEntity.keyOf(group.getName()), group.getId());
+        }
+        groupsById = byId;
+        groupIdByKey = byKey;
+        groups.postValue(Collections.unmodifiableList(loaded));
+    }
+
+    /**
+     * Runs a reload on the shared read lane at most once at a time, so an older snapshot can never be published
+     * after a newer one. Requests arriving during a load mark it dirty and cause exactly one more load.
+     */
+    private static final class SerialReload {
+        private final Executor executor;
+        private final Runnable load;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        SerialReload(Executor executor, Runnable load) {
+            this.executor = executor;
+            this.load = load;
+        }
+
+        void request() {
+            dirty.set(true);
+            if (running.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                dirty.set(false);
+                try {
+                    load.run();
+                } finally {
+                    running.set(false);
+                }
+            } while (dirty.get() && running.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+
+public final class FtsQuery {
+
+    private FtsQuery() {
+    }
+
+    /** Builds an FTS4 MATCH expression that requires every word of {@code text} as a prefix. */
+    @NonNull
+    public static String fromText(@Nullable String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        StringBuilder token = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+                continue;
+            }
+            if (token.length() > 0) {
+                if (builder.length() > 0) {
+                    builder.append(' ');
+                }
+                builder.append(token).append('*');
+                token.setLength(0);
+            }
+        }
+        return builder.toString();
+    }
+}
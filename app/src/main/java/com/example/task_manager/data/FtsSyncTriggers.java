@@ -0,0 +1,53 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Narrows the update triggers Room generates for the external-content FTS tables. Room's versions fire on any
+ * {@code UPDATE} of {@code tasks} or {@code subtasks}, so every counter bump from {@link TaskCounters} and every
+ * done toggle deleted and reinserted the FTS row. These fire only when an indexed column actually changes.
+ *
+ * <p>The replacements keep Room's {@code room_fts_content_sync_} prefix so Room drops them before a migration like
+ * its own; Room may recreate its broad triggers after one, so {@link #apply} runs on every open.
+ */
+final class FtsSyncTriggers {
+
+    private static final String[] ROOM_UPDATE_TRIGGERS = {
+            "room_fts_content_sync_tasks_fts_BEFORE_UPDATE",
+            "room_fts_content_sync_tasks_fts_AFTER_UPDATE",
+            "room_fts_content_sync_subtasks_fts_BEFORE_UPDATE",
+            "room_fts_content_sync_subtasks_fts_AFTER_UPDATE"
+    };
+
+    private static final String TASK_TEXT_CHANGED = "WHEN OLD.title IS NOT NEW.title OR OLD.description IS NOT NEW.description ";
+    private static final String SUBTASK_TEXT_CHANGED = "WHEN OLD.title IS NOT NEW.title ";
+
+    private static final String[] TRIGGERS = {
+            "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_BEFORE_UPDATE_OF_TEXT " +
+                    "BEFORE UPDATE OF title, description ON tasks " + TASK_TEXT_CHANGED + "BEGIN " +
+                    "DELETE FROM tasks_fts WHERE docid = OLD.rowid; END",
+            "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_tasks_fts_AFTER_UPDATE_OF_TEXT " +
+                    "AFTER UPDATE OF title, description ON tasks " + TASK_TEXT_CHANGED + "BEGIN " +
+                    "INSERT INTO tasks_fts(docid, title, description) VALUES (NEW.rowid, NEW.title, NEW.description); END",
+            "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_subtasks_fts_BEFORE_UPDATE_OF_TEXT " +
+                    "BEFORE UPDATE OF title ON subtasks " + SUBTASK_TEXT_CHANGED + "BEGIN " +
+                    "DELETE FROM subtasks_fts WHERE docid = OLD.rowid; END",
+            "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_subtasks_fts_AFTER_UPDATE_OF_TEXT " +
+                    "AFTER UPDATE OF title ON subtasks " + SUBTASK_TEXT_CHANGED + "BEGIN " +
+                    "INSERT INTO subtasks_fts(docid, title) VALUES (NEW.rowid, NEW.title); END"
+    };
+
+    private FtsSyncTriggers() {
+    }
+
+    /** Swaps Room's update triggers for the narrowed ones; a no-op once they are in place. */
+    static void apply(@NonNull SupportSQLiteDatabase db) {
+        for (String trigger : ROOM_UPDATE_TRIGGERS) {
+            db.execSQL("DROP TRIGGER IF EXISTS " + trigger);
+        }
+        for (String trigger : TRIGGERS) {
+            db.execSQL(trigger);
+        }
+    }
+}
@@ -15,6 +15,9 @@ public interface GroupDao {
     @Query("SELECT * FROM groups ORDER BY orderIndex ASC, name ASC")
     LiveData<List<GroupEntity>> observeAllOrdered();
 
+    @Query("SELECT * FROM groups ORDER BY orderIndex ASC, name ASC")
+    List<GroupEntity> getAllOrderedSync();
+
     @Query("SELECT * FROM groups")
     LiveData<List<GroupEntity>> observeAll();
 
@@ -0,0 +1,445 @@
+package com.example.task_manager.data;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.CursorWrapper;
+import android.database.sqlite.SQLiteTransactionListener;
+import android.os.CancellationSignal;
+import android.os.SystemClock;
+import android.util.Pair;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wraps another open helper factory and reports every query and statement to {@link QueryStats}.
+ * A cursor is timed from the query call until Room closes it, so the figure includes stepping through the rows.
+ */
+final class InstrumentedOpenHelperFactory implements SupportSQLiteOpenHelper.Factory {
+
+    private final SupportSQLiteOpenHelper.Factory delegate;
+    private final QueryStats stats;
+
+    InstrumentedOpenHelperFactory(@NonNull SupportSQLiteOpenHelper.Factory delegate, @NonNull QueryStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    @NonNull
+    @Override
+    public SupportSQLiteOpenHelper create(@NonNull SupportSQLiteOpenHelper.Configuration configuration) {
+        return new Helper(delegate.create(configuration), stats);
+    }
+
+    private static final class Helper implements SupportSQLiteOpenHelper {
+
+        private final SupportSQLiteOpenHelper delegate;
+        private final QueryStats stats;
+        private volatile Database wrapped;
+
+        Helper(SupportSQLiteOpenHelper delegate, QueryStats stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        @Nullable
+        @Override
+        public String getDatabaseName() {
+            return delegate.getDatabaseName();
+        }
+
+        @Override
+        public void setWriteAheadLoggingEnabled(boolean enabled) {
+            delegate.setWriteAheadLoggingEnabled(enabled);
+        }
+
+        @NonNull
+        @Override
+        public SupportSQLiteDatabase getWritableDatabase() {
+            return wrap(delegate.getWritableDatabase());
+        }
+
+        @NonNull
+        @Override
+        public SupportSQLiteDatabase getReadableDatabase() {
+            return wrap(delegate.getReadableDatabase());
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        private SupportSQLiteDatabase wrap(SupportSQLiteDatabase db) {
+            Database current = wrapped;
+            if (current == null || current.delegate != db) {
+                current = new Database(db, stats);
+                wrapped = current;
+            }
+            return current;
+        }
+    }
+
+    private static final class Database implements SupportSQLiteDatabase {
+
+        final SupportSQLiteDatabase delegate;
+        private final QueryStats stats;
+
+        Database(SupportSQLiteDatabase delegate, QueryStats stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        @NonNull
+        @Override
+        public SupportSQLiteStatement compileStatement(@NonNull String sql) {
+            return new Statement(delegate.compileStatement(sql), sql, stats);
+        }
+
+        @NonNull
+        @Override
+        public Cursor query(@NonNull String query) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            return new TimedCursor(delegate.query(query), query, startedAt, stats);
+        }
+
+        @NonNull
+        @Override
+        public Cursor query(@NonNull String query, @NonNull Object[] bindArgs) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            return new TimedCursor(delegate.query(query, bindArgs), query, startedAt, stats);
+        }
+
+        @NonNull
+        @Override
+        public Cursor query(@NonNull SupportSQLiteQuery query) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            return new TimedCursor(delegate.query(query), query.getSql(), startedAt, stats);
+        }
+
+        @NonNull
+        @Override
+        public Cursor query(@NonNull SupportSQLiteQuery query, @Nullable CancellationSignal cancellationSignal) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            return new TimedCursor(delegate.query(query, cancellationSignal), query.getSql(), startedAt, stats);
+        }
+
+        @Override
+        public long insert(@NonNull String table, int conflictAlgorithm, @NonNull ContentValues values) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            long id = delegate.insert(table, conflictAlgorithm, values);
+            stats.record("INSERT INTO " + table, SystemClock.elapsedRealtimeNanos() - startedAt, id == -1 ? 0 : 1);
+            return id;
+        }
+
+        @Override
+        public int delete(@NonNull String table, @Nullable String whereClause, @Nullable Object[] whereArgs) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            int rows = delegate.delete(table, whereClause, whereArgs);
+            stats.record("DELETE FROM " + table + (whereClause == null ? "" : " WHERE " + whereClause),
+                    SystemClock.elapsedRealtimeNanos() - startedAt, rows);
+            return rows;
+        }
+
+        @Override
+        public int update(@NonNull String table, int conflictAlgorithm, @NonNull ContentValues values,
+                          @Nullable String whereClause, @Nullable Object[] whereArgs) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            int rows = delegate.update(table, conflictAlgorithm, values, whereClause, whereArgs);
+            stats.record("UPDATE " + table + (whereClause == null ? "" : " WHERE " + whereClause),
+                    SystemClock.elapsedRealtimeNanos() - startedAt, rows);
+            return rows;
+        }
+
+        @Override
+        public void execSQL(@NonNull String sql) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            delegate.execSQL(sql);
+            stats.record(sql, SystemClock.elapsedRealtimeNanos() - startedAt, 0);
+        }
+
+        @Override
+        public void execSQL(@NonNull String sql, @NonNull Object[] bindArgs) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            delegate.execSQL(sql, bindArgs);
+            stats.record(sql, SystemClock.elapsedRealtimeNanos() - startedAt, 0);
+        }
+
+        @Override
+        public void beginTransaction() {
+            delegate.beginTransaction();
+        }
+
+        @Override
+        public void beginTransactionNonExclusive() {
+            delegate.beginTransactionNonExclusive();
+        }
+
+        @Override
+        public void beginTransactionWithListener(@NonNull SQLiteTransactionListener transactionListener) {
+            delegate.beginTransactionWithListener(transactionListener);
+        }
+
+        @Override
+        public void beginTransactionWithListenerNonExclusive(@NonNull SQLiteTransactionListener transactionListener) {
+            delegate.beginTransactionWithListenerNonExclusive(transactionListener);
+        }
+
+        @Override
+        public void endTransaction() {
+            delegate.endTransaction();
+        }
+
+        @Override
+        public void setTransactionSuccessful() {
+            delegate.setTransactionSuccessful();
+        }
+
+        @Override
+        public boolean inTransaction() {
+            return delegate.inTransaction();
+        }
+
+        @Override
+        public boolean isDbLockedByCurrentThread() {
+            return delegate.isDbLockedByCurrentThread();
+        }
+
+        @Override
+        public boolean yieldIfContendedSafely() {
+            return delegate.yieldIfContendedSafely();
+        }
+
+        @Override
+        public boolean yieldIfContendedSafely(long sleepAfterYieldDelayMillis) {
+            return delegate.yieldIfContendedSafely(sleepAfterYieldDelayMillis);
+        }
+
+        @Override
+        public boolean isExecPerConnectionSQLSupported() {
+            return delegate.isExecPerConnectionSQLSupported();
+        }
+
+        @Override
+        public void execPerConnectionSQL(@NonNull String sql, @Nullable Object[] bindArgs) {
+            delegate.execPerConnectionSQL(sql, bindArgs);
+        }
+
+        @Override
+        public int getVersion() {
+            return delegate.getVersion();
+        }
+
+        @Override
+        public void setVersion(int version) {
+            delegate.setVersion(version);
+        }
+
+        @Override
+        public long getMaximumSize() {
+            return delegate.getMaximumSize();
+        }
+
+        @Override
+        public long setMaximumSize(long numBytes) {
+            return delegate.setMaximumSize(numBytes);
+        }
+
+        @Override
+        public long getPageSize() {
+            return delegate.getPageSize();
+        }
+
+        @Override
+        public void setPageSize(long numBytes) {
+            delegate.setPageSize(numBytes);
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return delegate.isReadOnly();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public boolean needUpgrade(int newVersion) {
+            return delegate.needUpgrade(newVersion);
+        }
+
+        @Nullable
+        @Override
+        public String getPath() {
+            return delegate.getPath();
+        }
+
+        @Override
+        public void setLocale(@NonNull Locale locale) {
+            delegate.setLocale(locale);
+        }
+
+        @Override
+        public void setMaxSqlCacheSize(int cacheSize) {
+            delegate.setMaxSqlCacheSize(cacheSize);
+        }
+
+        @Override
+        public void setForeignKeyConstraintsEnabled(boolean enabled) {
+            delegate.setForeignKeyConstraintsEnabled(enabled);
+        }
+
+        @Override
+        public boolean enableWriteAheadLogging() {
+            return delegate.enableWriteAheadLogging();
+        }
+
+        @Override
+        public void disableWriteAheadLogging() {
+            delegate.disableWriteAheadLogging();
+        }
+
+        @Override
+        public boolean isWriteAheadLoggingEnabled() {
+            return delegate.isWriteAheadLoggingEnabled();
+        }
+
+        @Nullable
+        @Override
+        public List<Pair<String, String>> getAttachedDbs() {
+            return delegate.getAttachedDbs();
+        }
+
+        @Override
+        public boolean isDatabaseIntegrityOk() {
+            return delegate.isDatabaseIntegrityOk();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    private static final class Statement implements SupportSQLiteStatement {
+
+        private final SupportSQLiteStatement delegate;
+        private final String sql;
+        private final QueryStats stats;
+
+        Statement(SupportSQLiteStatement delegate, String sql, QueryStats stats) {
+            this.delegate = delegate;
+            this.sql = sql;
+            this.stats = stats;
+        }
+
+        @Override
+        public void execute() {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            delegate.execute();
+            stats.record(sql, SystemClock.elapsedRealtimeNanos() - startedAt, 0);
+        }
+
+        @Override
+        public int executeUpdateDelete() {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            int rows = delegate.executeUpdateDelete();
+            stats.record(sql, SystemClock.elapsedRealtimeNanos() - startedAt, rows);
+            return rows;
+        }
+
+        @Override
+        public long executeInsert() {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            long id = delegate.executeInsert();
+            stats.record(sql, SystemClock.elapsedRealtimeNanos() - startedAt, id == -1 ? 0 : 1);
+            return id;
+        }
+
+        @Override
+        public long simpleQueryForLong() {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            long value = delegate.simpleQueryForLong();
+            stats.record(sql, SystemClock.elapsedRealtimeNanos() - startedAt, 1);
+            return value;
+        }
+
+        @Nullable
+        @Override
+        public String simpleQueryForString() {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
+            String value = delegate.simpleQueryForString();
+            stats.record(sql, SystemClock.elapsedRealtimeNanos() - startedAt, 1);
+            return value;
+        }
+
+        @Override
+        public void bindNull(int index) {
+            delegate.bindNull(index);
+        }
+
+        @Override
+        public void bindLong(int index, long value) {
+            delegate.bindLong(index, value);
+        }
+
+        @Override
+        public void bindDouble(int index, double value) {
+            delegate.bindDouble(index, value);
+        }
+
+        @Override
+        public void bindString(int index, @NonNull String value) {
+            delegate.bindString(index, value);
+        }
+
+        @Override
+        public void bindBlob(int index, @NonNull byte[] value) {
+            delegate.bindBlob(index, value);
+        }
+
+        @Override
+        public void clearBindings() {
+            delegate.clearBindings();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    private static final class TimedCursor extends CursorWrapper {
+
+        private final String sql;
+        private final long startedAt;
+        private final QueryStats stats;
+        private boolean recorded;
+
+        TimedCursor(Cursor cursor, String sql, long startedAt, QueryStats stats) {
+            super(cursor);
+            this.sql = sql;
+            this.startedAt = startedAt;
+            this.stats = stats;
+        }
+
+        @Override
+        public void close() {
+            if (!recorded && !isClosed()) {
+                recorded = true;
+                stats.record(sql, SystemClock.elapsedRealtimeNanos() - startedAt, getCount());
+            }
+            super.close();
+        }
+    }
+}
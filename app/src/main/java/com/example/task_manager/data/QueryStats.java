@@ -0,0 +1,171 @@
+package com.example.task_manager.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.example.task_manager.TaskManagerApplication;
+import com.example.task_manager.core.LatencyWindow;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Per-SQL-shape counters fed by {@link InstrumentedOpenHelperFactory}. Latency percentiles are computed over
+ * the most recent {@value #WINDOW} executions of each shape.
+ */
+public final class QueryStats {
+
+    private static final String TAG = "QueryStats";
+    private static final String PREFS = "query_stats_prefs";
+    private static final String PREF_ENABLED = "enabled";
+    private static final String PREF_SLOW_MS = "slow_ms";
+    private static final long DEFAULT_SLOW_MS = 50;
+    private static final int WINDOW = 512;
+    private static final Pattern BIND_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SharedPreferences prefs;
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private volatile long slowThresholdNanos;
+
+    public QueryStats(@NonNull Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        slowThresholdNanos = prefs.getLong(PREF_SLOW_MS, DEFAULT_SLOW_MS) * 1_000_000L;
+    }
+
+    @NonNull
+    public static QueryStats get(@NonNull Context context) {
+        return ((TaskManagerApplication) context.getApplicationContext()).getQueryStats();
+    }
+
+    /** Whether the database is opened with instrumentation; read once when {@link AppDatabase} is created. */
+    public boolean isEnabled() {
+        return prefs.getBoolean(PREF_ENABLED, false);
+    }
+
+    public void setEnabled(boolean enabled) {
+        prefs.edit().putBoolean(PREF_ENABLED, enabled).apply();
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowThresholdNanos / 1_000_000L;
+    }
+
+    public void setSlowThresholdMillis(long millis) {
+        slowThresholdNanos = Math.max(0, millis) * 1_000_000L;
+        prefs.edit().putLong(PREF_SLOW_MS, Math.max(0, millis)).apply();
+    }
+
+    void record(@NonNull String sql, long durationNanos, int rows) {
+        String shape = shapeOf(sql);
+        Shape stats = shapes.get(shape);
+        if (stats == null) {
+            stats = shapes.computeIfAbsent(shape, Shape::new);
+        }
+        stats.add(durationNanos, rows);
+        if (durationNanos >= slowThresholdNanos) {
+            Log.w(TAG, String.format(Locale.ROOT, "Slow query %.1f ms, %d rows: %s", durationNanos / 1e6, rows, shape));
+        }
+    }
+
+    public void reset() {
+        shapes.clear();
+    }
+
+    /** Shapes ordered by total time spent, slowest first. */
+    @NonNull
+    public List<Entry> snapshot() {
+        List<Entry> entries = new ArrayList<>(shapes.size());
+        for (Shape shape : shapes.values()) {
+            entries.add(shape.toEntry());
+        }
+        entries.sort((a, b) -> Double.compare(b.totalMillis, a.totalMillis));
+        return entries;
+    }
+
+    @NonNull
+    public String toJson() {
+        try {
+            JSONArray queries = new JSONArray();
+            for (Entry entry : snapshot()) {
+                queries.put(new JSONObject()
+                        .put("sql", entry.sql)
+                        .put("count", entry.count)
+                        .put("rows", entry.rows)
+                        .put("totalMs", entry.totalMillis)
+                        .put("p50Ms", entry.p50Millis)
+                        .put("p95Ms", entry.p95Millis)
+                        .put("p99Ms", entry.p99Millis)
+                        .put("maxMs", entry.maxMillis));
+            }
+            return new JSONObject()
+                    .put("slowThresholdMs", getSlowThresholdMillis())
+                    .put("queries", queries)
+                    .toString(2);
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Collapses whitespace and expanded {@code IN (?,?,?)} lists so each query text maps to one shape. */
+    @NonNull
+    static String shapeOf(@NonNull String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return BIND_LIST.matcher(shape).replaceAll("?");
+    }
+
+    public static final class Entry {
+        public final String sql;
+        public final long count;
+        public final long rows;
+        public final double totalMillis;
+        public final double p50Millis;
+        public final double p95Millis;
+        public final double p99Millis;
+        public final double maxMillis;
+
+        Entry(String sql, long count, long rows, double totalMillis, double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+            this.sql = sql;
+            this.count = count;
+            this.rows = rows;
+            this.totalMillis = totalMillis;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+    }
+
+    private static final class Shape {
+        private final String sql;
+        private final LatencyWindow latency = new LatencyWindow(WINDOW);
+        private final AtomicLong rows = new AtomicLong();
+
+        Shape(String sql) {
+            this.sql = sql;
+        }
+
+        void add(long durationNanos, int rowCount) {
+            latency.add(durationNanos);
+            rows.addAndGet(Math.max(0, rowCount));
+        }
+
+        Entry toEntry() {
+            LatencyWindow.Snapshot snapshot = latency.snapshot();
+            return new Entry(sql, snapshot.count, rows.get(), snapshot.totalMillis,
+                    snapshot.p50Millis, snapshot.p95Millis, snapshot.p99Millis, snapshot.maxMillis);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/** Text of an undone task matched by a search, kept so that refinements of the query can be filtered in memory. */
+public class SearchHit {
+
+    /** Separates {@link #subtaskTitles}; a control character that does not occur in typed titles. */
+    public static final char SUBTASK_SEPARATOR = '\u001f';
+
+    public long taskId;
+
+    @NonNull
+    public String title = "";
+
+    @NonNull
+    public String description = "";
+
+    @Nullable
+    public String subtaskTitles;
+}
@@ -15,9 +15,15 @@ public interface SubtaskDao {
     @Query("SELECT * FROM subtasks WHERE taskId = :taskId ORDER BY createdAt ASC")
     LiveData<List<SubtaskEntity>> observeByTaskId(long taskId);
 
+    @Query("SELECT * FROM subtasks WHERE taskId = :taskId ORDER BY createdAt ASC")
+    List<SubtaskEntity> getByTaskIdSync(long taskId);
+
     @Insert
     long insert(SubtaskEntity subtask);
 
+    @Insert
+    void insertAll(List<SubtaskEntity> subtasks);
+
     @Update
     void update(SubtaskEntity subtask);
 
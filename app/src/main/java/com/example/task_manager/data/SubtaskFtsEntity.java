@@ -0,0 +1,14 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+@Fts4(contentEntity = SubtaskEntity.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "subtasks_fts")
+public class SubtaskFtsEntity {
+
+    @NonNull
+    public String title = "";
+}
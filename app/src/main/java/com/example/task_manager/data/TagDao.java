@@ -18,8 +18,15 @@ public interface TagDao {
     @Query("SELECT * FROM tags ORDER BY name ASC")
     LiveData<List<TagEntity>> observeAllOrdered();
 
-    @Query("SELECT * FROM tags WHERE LOWER(TRIM(name)) = LOWER(TRIM(:name)) LIMIT 1")
-    TagEntity findByNameSync(String name);
+    @Query("SELECT * FROM tags ORDER BY name ASC")
+    List<TagEntity> getAllOrderedSync();
+
+    @Query("SELECT * FROM tags WHERE nameKey = :nameKey LIMIT 1")
+    TagEntity findByKeySync(String nameKey);
+
+    default TagEntity findByNameSync(String name) {
+        return findByKeySync(TagEntity.keyOf(name));
+    }
 
     @Insert(onConflict = OnConflictStrategy.IGNORE)
     long insert(TagEntity tag);
@@ -5,7 +5,9 @@ import androidx.room.Entity;
 import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "tags", indices = {@Index(value = "name", unique = true)})
+import java.util.Locale;
+
+@Entity(tableName = "tags", indices = {@Index(value = "name", unique = true), @Index(value = "nameKey", unique = true)})
 public class TagEntity {
 
     @PrimaryKey(autoGenerate = true)
@@ -14,8 +16,18 @@ public class TagEntity {
     @NonNull
     private String name;
 
+    /** Lowercased, trimmed {@link #name}; the identity used for lookups and {@code #tag} search. */
+    @NonNull
+    private String nameKey;
+
     public TagEntity(@NonNull String name) {
         this.name = name;
+        this.nameKey = keyOf(name);
+    }
+
+    @NonNull
+    public static String keyOf(@NonNull String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
     }
 
     public long getId() {
@@ -33,5 +45,15 @@ public class TagEntity {
 
     public void setName(@NonNull String name) {
         this.name = name;
+        this.nameKey = keyOf(name);
+    }
+
+    @NonNull
+    public String getNameKey() {
+        return nameKey;
+    }
+
+    public void setNameKey(@NonNull String nameKey) {
+        this.nameKey = nameKey;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Triggers keeping {@code tasks.subtaskTotal}, {@code subtaskDone} and {@code tagCount} in step with
+ * {@code subtasks} and {@code task_tags}. Each trigger adjusts the parent row by the change rather than recounting,
+ * so the cost does not grow with the number of children. The parent update does not touch {@code tasks_fts}
+ * ({@link FtsSyncTriggers}), but it still invalidates {@code tasks}, so every task observer re-queries after a
+ * child write.
+ *
+ * <p>Delete triggers do not fire for rows removed by {@code INSERT OR REPLACE}, so neither child table is written
+ * with {@code REPLACE}. {@link TaskDao#repairCounters()} recounts rows that drifted anyway.
+ */
+final class TaskCounters {
+
+    static final String SUBTASK_TOTAL = "(SELECT COUNT(*) FROM subtasks s WHERE s.taskId = tasks.id)";
+    static final String SUBTASK_DONE = "(SELECT COUNT(*) FROM subtasks s WHERE s.taskId = tasks.id AND s.done = 1)";
+    static final String TAG_COUNT = "(SELECT COUNT(*) FROM task_tags tt WHERE tt.taskId = tasks.id)";
+
+    static final String MISMATCH = "subtaskTotal != " + SUBTASK_TOTAL + " OR subtaskDone != " + SUBTASK_DONE +
+            " OR tagCount != " + TAG_COUNT;
+
+    static final String RECOUNT = "subtaskTotal = " + SUBTASK_TOTAL + ", subtaskDone = " + SUBTASK_DONE +
+            ", tagCount = " + TAG_COUNT;
+
+    private static final String[] TRIGGERS = {
+            "CREATE TRIGGER IF NOT EXISTS tasks_counters_subtask_insert AFTER INSERT ON subtasks BEGIN " +
+                    "UPDATE tasks SET subtaskTotal = subtaskTotal + 1, subtaskDone = subtaskDone + NEW.done " +
+                    "WHERE id = NEW.taskId; END",
+            "CREATE TRIGGER IF NOT EXISTS tasks_counters_subtask_delete AFTER DELETE ON subtasks BEGIN " +
+                    "UPDATE tasks SET subtaskTotal = subtaskTotal - 1, subtaskDone = subtaskDone - OLD.done " +
+                    "WHERE id = OLD.taskId; END",
+            "CREATE TRIGGER IF NOT EXISTS tasks_counters_subtask_update AFTER UPDATE OF taskId, done ON subtasks " +
+                    "WHEN OLD.taskId != NEW.taskId OR OLD.done != NEW.done BEGIN " +
+                    "UPDATE tasks SET subtaskTotal = subtaskTotal - 1, subtaskDone = subtaskDone - OLD.done " +
+                    "WHERE id = OLD.taskId; " +
+                    "UPDATE tasks SET subtaskTotal = subtaskTotal + 1, subtaskDone = subtaskDone + NEW.done " +
+                    "WHERE id = NEW.taskId; END",
+            "CREATE TRIGGER IF NOT EXISTS tasks_counters_tag_insert AFTER INSERT ON task_tags BEGIN " +
+                    "UPDATE tasks SET tagCount = tagCount + 1 WHERE id = NEW.taskId; END",
+            "CREATE TRIGGER IF NOT EXISTS tasks_counters_tag_delete AFTER DELETE ON task_tags BEGIN " +
+                    "UPDATE tasks SET tagCount = tagCount - 1 WHERE id = OLD.taskId; END",
+            "CREATE TRIGGER IF NOT EXISTS tasks_counters_tag_update AFTER UPDATE OF taskId ON task_tags " +
+                    "WHEN OLD.taskId != NEW.taskId BEGIN " +
+                    "UPDATE tasks SET tagCount = tagCount - 1 WHERE id = OLD.taskId; " +
+                    "UPDATE tasks SET tagCount = tagCount + 1 WHERE id = NEW.taskId; END"
+    };
+
+    private TaskCounters() {
+    }
+
+    static void createTriggers(@NonNull SupportSQLiteDatabase db) {
+        for (String trigger : TRIGGERS) {
+            db.execSQL(trigger);
+        }
+    }
+
+    /** Recounts every task; used once by the migration that adds the columns. */
+    static void backfill(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("UPDATE tasks SET " + RECOUNT);
+    }
+}
@@ -2,71 +2,187 @@ package com.example.task_manager.data;
 
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.RawQuery;
 import androidx.room.Transaction;
 import androidx.room.Update;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
+import com.example.task_manager.core.Recurrence;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 
 @Dao
 public interface TaskDao {
 
+    /**
+     * Archived rows for the archive pages, in the column order their hot arm lists explicitly: {@code t.*} is laid
+     * out differently on migrated and freshly created databases. The compound ORDER BY needs the aliased names.
+     */
+    String ARCHIVED_PAGE_SELECT = "SELECT a.id, a.title, 1 AS done, 0 AS pinned, a.createdAt, a.dueAt, " +
+            "COALESCE(a.dueAt, " + TaskEntity.NO_DUE_ORDER + ") AS dueOrder, a.archiveTime, a.description, a.groupId, " +
+            "0 AS subtaskTotal, 0 AS subtaskDone, 0 AS tagCount, a.recurrence, NULL AS completedAt, " +
+            "COALESCE(g.name, :inboxName) AS groupName, g.color AS groupColor, 1 AS archived " +
+            "FROM archived_tasks a LEFT JOIN groups g ON g.id = a.groupId " +
+            "WHERE a.archiveTime <= :beforeTime AND (a.archiveTime < :beforeTime OR a.id < :beforeId) ";
+
+    /** Hot rows for the archive pages; the caller adds the filter after {@code WHERE}. */
+    String HOT_PAGE_SELECT = "SELECT t.id AS id, t.title, t.done, t.pinned, t.createdAt, t.dueAt, t.dueOrder, t.archiveTime AS archiveTime, t.description, t.groupId, " +
+            "t.subtaskTotal, t.subtaskDone, t.tagCount, t.recurrence, t.completedAt, " +
+            "COALESCE(g.name, :inboxName) AS groupName, g.color AS groupColor, 0 AS archived " +
+            "FROM tasks t LEFT JOIN groups g ON g.id = t.groupId " +
+            "WHERE t.archiveTime <= :beforeTime AND (t.archiveTime < :beforeTime OR t.id < :beforeId) ";
+
+    /** Body of {@link #pageDoneBefore}; shared with the query-plan tests so they check the SQL the app runs. */
+    String PAGE_DONE_BEFORE = HOT_PAGE_SELECT + "AND t.done = 1 " +
+            "UNION ALL " + ARCHIVED_PAGE_SELECT +
+            "ORDER BY archiveTime DESC, id DESC LIMIT :limit";
+
+    /** Body of {@link #pagePastBefore}, shared like {@link #PAGE_DONE_BEFORE}. */
+    String PAGE_PAST_BEFORE = HOT_PAGE_SELECT + "AND (t.done = 1 OR t.dueAt IS NOT NULL) " +
+            "UNION ALL " + ARCHIVED_PAGE_SELECT +
+            "ORDER BY archiveTime DESC, id DESC LIMIT :limit";
+
     @Query("SELECT * FROM tasks WHERE id = :id LIMIT 1")
     LiveData<TaskEntity> observeById(long id);
 
     @Query("SELECT * FROM tasks WHERE id = :id LIMIT 1")
     TaskEntity getByIdSync(long id);
 
+    /** Earliest deadline of an undone task at or after {@code from}; one seek on the {@code (done, dueAt)} index. */
+    @Nullable
+    @Query("SELECT MIN(dueAt) FROM tasks WHERE done = 0 AND dueAt >= :from")
+    Long getNextDueAtSync(long from);
+
+    @Query("SELECT COUNT(*) FROM tasks WHERE done = 0 AND dueAt >= :from AND dueAt < :to")
+    int countDueBetweenSync(long from, long to);
+
+    @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt >= :from AND dueAt < :to ORDER BY dueAt ASC, createdAt DESC LIMIT :limit")
+    List<TaskEntity> getDueBetweenSync(long from, long to, int limit);
+
     @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL AND dueAt BETWEEN :from AND :to ORDER BY dueAt ASC, createdAt DESC")
     LiveData<List<TaskEntity>> observeUndoneInRange(long from, long to);
 
-    @Query("SELECT t.*, COALESCE(g.name, :inboxName) AS groupName, g.color AS groupColor " +
+    /** One-off undone tasks due in the range; recurring series come from {@link #observeUndoneSeriesWithGroup}. */
+    @Query("SELECT t.*, COALESCE(g.name, :inboxName) AS groupName, g.color AS groupColor, 0 AS archived " +
             "FROM tasks t LEFT JOIN groups g ON g.id = t.groupId " +
-            "WHERE t.done = 0 AND t.dueAt IS NOT NULL AND t.dueAt BETWEEN :from AND :to " +
+            "WHERE t.done = 0 AND t.dueAt IS NOT NULL AND t.dueAt BETWEEN :from AND :to AND t.recurrence IS NULL " +
             "AND (:applyGroupFilter = 0 OR ((:groupIdFilter IS NULL AND t.groupId IS NULL) OR t.groupId = :groupIdFilter)) " +
             "ORDER BY t.dueAt ASC, t.createdAt DESC")
     LiveData<List<TaskWithGroup>> observeUndoneInRangeWithGroup(long from, long to, @Nullable Long groupIdFilter, int applyGroupFilter, String inboxName);
 
-    @Query("SELECT * FROM tasks WHERE done = 0 ORDER BY pinned DESC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    /** Undone recurring series, each with {@code dueAt} at its next pending occurrence. */
+    @Query("SELECT t.*, COALESCE(g.name, :inboxName) AS groupName, g.color AS groupColor, 0 AS archived " +
+            "FROM tasks t LEFT JOIN groups g ON g.id = t.groupId " +
+            "WHERE t.done = 0 AND t.recurrence IS NOT NULL AND t.dueAt IS NOT NULL " +
+            "AND (:applyGroupFilter = 0 OR ((:groupIdFilter IS NULL AND t.groupId IS NULL) OR t.groupId = :groupIdFilter)) " +
+            "ORDER BY t.dueAt ASC, t.createdAt DESC")
+    LiveData<List<TaskWithGroup>> observeUndoneSeriesWithGroup(@Nullable Long groupIdFilter, int applyGroupFilter, String inboxName);
+
+    @Query("SELECT * FROM tasks WHERE done = 0 ORDER BY pinned DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskEntity>> observeUndoneAll();
 
-    @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL ORDER BY pinned DESC, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL ORDER BY pinned DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskEntity>> observeUndoneWithDeadline();
 
-    @Query("SELECT * FROM tasks WHERE done = 0 AND groupId IS NULL AND (title LIKE '%'||:q||'%' OR description LIKE '%'||:q||'%') ORDER BY pinned DESC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND groupId IS NULL AND (id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q))) ORDER BY pinned DESC, id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskEntity>> searchUndoneInInbox(String q);
 
-    @Query("SELECT * FROM tasks WHERE done = 0 AND groupId = :groupId AND (title LIKE '%'||:q||'%' OR description LIKE '%'||:q||'%') ORDER BY pinned DESC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND groupId = :groupId AND (id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q))) ORDER BY pinned DESC, id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskEntity>> searchUndoneInGroup(long groupId, String q);
 
-    @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL AND (title LIKE '%'||:q||'%' OR description LIKE '%'||:q||'%') ORDER BY pinned DESC, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL AND (id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q))) ORDER BY pinned DESC, id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskEntity>> searchUndoneWithDeadline(String q);
 
-    @Query("SELECT * FROM tasks WHERE done = 0 AND (title LIKE '%'||:q||'%' OR description LIKE '%'||:q||'%') ORDER BY pinned DESC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND (id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q))) ORDER BY pinned DESC, id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskEntity>> searchUndoneAll(String q);
 
-    @Query("SELECT * FROM tasks WHERE done = 0 AND ((:groupId IS NULL AND groupId IS NULL) OR groupId = :groupId) ORDER BY pinned DESC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND groupId IS :groupId ORDER BY pinned DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskEntity>> observeUndoneByGroup(@Nullable Long groupId);
 
+    /**
+     * Undone tasks whose own text or one of whose subtasks matches the FTS expression, with the text that matched.
+     * Callers pass one more than they can use as {@code limit} to tell a full result from a truncated one.
+     */
+    @Query("SELECT t.id AS taskId, t.title AS title, t.description AS description, " +
+            "(SELECT GROUP_CONCAT(s.title, char(31)) FROM subtasks s WHERE s.taskId = t.id) AS subtaskTitles " +
+            "FROM tasks t WHERE t.done = 0 AND (t.id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) " +
+            "OR t.id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q))) LIMIT :limit")
+    List<SearchHit> searchHitsSync(String q, int limit);
+
     @Query("SELECT * FROM tasks WHERE done = 1 AND dueAt IS NOT NULL AND dueAt BETWEEN :from AND :to ORDER BY dueAt DESC, createdAt DESC")
     LiveData<List<TaskEntity>> observeDoneInRange(long from, long to);
 
     @Query("SELECT * FROM tasks WHERE done = 1 ORDER BY COALESCE(dueAt, createdAt) DESC")
     LiveData<List<TaskEntity>> observeDoneAll();
 
-    @Query("SELECT t.*, COALESCE(g.name, :inboxName) AS groupName, g.color AS groupColor " +
+    @Query("SELECT t.*, COALESCE(g.name, :inboxName) AS groupName, g.color AS groupColor, 0 AS archived " +
             "FROM tasks t LEFT JOIN groups g ON g.id = t.groupId " +
             "WHERE t.done = 1 " +
             "ORDER BY COALESCE(t.dueAt, t.createdAt) DESC")
     LiveData<List<TaskWithGroup>> observeDoneAllWithGroup(String inboxName);
+
+    /** Done tasks, hot and archived, after the keyset cursor {@code (beforeTime, beforeId)}, newest first. */
+    @Query(PAGE_DONE_BEFORE)
+    List<TaskWithGroup> pageDoneBefore(long beforeTime, long beforeId, int limit, String inboxName);
+
+    /** Done tasks, hot and archived, and undone tasks with a deadline after the keyset cursor, newest first. */
+    @Query(PAGE_PAST_BEFORE)
+    List<TaskWithGroup> pagePastBefore(long beforeTime, long beforeId, int limit, String inboxName);
+
     @Insert
     long insert(TaskEntity task);
 
-    @Update
-    void update(TaskEntity task);
+    @Insert
+    List<Long> insertAll(List<TaskEntity> tasks);
+
+    /** Writes every column except the trigger-maintained counters, which may be stale on {@code task}. */
+    default void update(TaskEntity task) {
+        updateFields(new TaskFields(task));
+    }
+
+    @Update(entity = TaskEntity.class)
+    void updateFields(TaskFields fields);
+
+    /**
+     * Marks the occurrence of a recurring task at {@code occurrenceAt} done by moving the series to the occurrence
+     * after it; the series itself is done once none is left. Earlier pending occurrences are skipped with it.
+     */
+    @Transaction
+    default void completeOccurrence(long taskId, long occurrenceAt, ZoneId zoneId) {
+        TaskEntity task = getByIdSync(taskId);
+        if (task == null || task.isDone() || task.getDueAt() == null) {
+            return;
+        }
+        long next = -1;
+        if (task.recurrence != null) {
+            try {
+                next = Recurrence.parse(task.recurrence).nextAfter(task.getDueAt(), zoneId, Math.max(occurrenceAt, task.getDueAt()));
+            } catch (IllegalArgumentException e) {
+                next = -1;
+            }
+        }
+        if (next < 0) {
+            task.setDone(true);
+        } else {
+            task.setDueAt(next);
+        }
+        update(task);
+    }
+
+    /** Tasks whose counters disagree with their subtasks and tag links; zero unless a write bypassed the triggers. */
+    @Query("SELECT COUNT(*) FROM tasks WHERE " + TaskCounters.MISMATCH)
+    int countInconsistentCounters();
+
+    /** Recounts the counters of tasks that drifted and returns how many were fixed. */
+    @Query("UPDATE tasks SET " + TaskCounters.RECOUNT + " WHERE " + TaskCounters.MISMATCH)
+    int repairCounters();
 
     @Delete
     void delete(TaskEntity task);
@@ -74,44 +190,74 @@ public interface TaskDao {
     @Query("UPDATE tasks SET groupId = NULL WHERE groupId = :groupId")
     void clearGroupId(long groupId);
 
+    /** Like {@link TaskEntity#setDone}: completion keeps an existing {@code completedAt}, else stamps {@code now}. */
+    @Query("UPDATE tasks SET done = :done, completedAt = CASE WHEN :done THEN COALESCE(completedAt, :now) ELSE NULL END " +
+            "WHERE id IN (:ids)")
+    int setDoneByIds(List<Long> ids, boolean done, long now);
+
+    @Query("SELECT id FROM tasks WHERE id IN (:ids) AND recurrence IS NOT NULL")
+    List<Long> getRecurringIdsSync(List<Long> ids);
+
+    /**
+     * Bulk completion: one-off tasks are marked done, recurring series move past their pending occurrence as if
+     * checked one by one (see {@link #completeOccurrence}).
+     */
+    @Transaction
+    default void completeByIds(List<Long> ids, ZoneId zoneId, long now) {
+        List<Long> recurring = getRecurringIdsSync(ids);
+        List<Long> oneOff = new ArrayList<>(ids);
+        oneOff.removeAll(recurring);
+        for (long id : recurring) {
+            completeOccurrence(id, Long.MIN_VALUE, zoneId);
+        }
+        if (!oneOff.isEmpty()) {
+            setDoneByIds(oneOff, true, now);
+        }
+    }
+
+    @Query("UPDATE tasks SET pinned = :pinned WHERE id IN (:ids)")
+    int setPinnedByIds(List<Long> ids, boolean pinned);
+
+    @Query("UPDATE tasks SET groupId = :groupId WHERE id IN (:ids)")
+    int setGroupIdByIds(List<Long> ids, @Nullable Long groupId);
+
+    @Query("DELETE FROM tasks WHERE id IN (:ids)")
+    int deleteByIds(List<Long> ids);
+
     @Transaction
-    @Query("SELECT * FROM tasks WHERE ((:groupId IS NULL AND groupId IS NULL) OR groupId = :groupId) AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, done ASC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE groupId IS :groupId AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, done ASC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> observeAllWithTagsAndSubtasksByGroup(@Nullable Long groupId, int applyTags, List<Long> tagIds);
 
     @Transaction
-    @Query("SELECT * FROM tasks WHERE (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, done ASC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, done ASC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> observeAllWithTagsAndSubtasks(int applyTags, List<Long> tagIds);
     @Transaction
-    @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> observeUndoneWithTagsAndSubtasksWithDeadline(int applyTags, List<Long> tagIds);
 
     @Transaction
-    @Query("SELECT * FROM tasks WHERE done = 0 AND groupId IS NULL AND (title LIKE '%'||:q||'%' OR description LIKE '%'||:q||'%') AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND groupId IS NULL AND (id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q))) AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> searchUndoneWithTagsAndSubtasksInInbox(String q, int applyTags, List<Long> tagIds);
 
     @Transaction
-    @Query("SELECT * FROM tasks WHERE done = 0 AND groupId = :groupId AND (title LIKE '%'||:q||'%' OR description LIKE '%'||:q||'%') AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND groupId = :groupId AND (id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q))) AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> searchUndoneWithTagsAndSubtasksInGroup(long groupId, String q, int applyTags, List<Long> tagIds);
 
     @Transaction
-    @Query("SELECT * FROM tasks WHERE done = 0 AND (title LIKE '%'||:q||'%' OR description LIKE '%'||:q||'%') AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, dueAt IS NULL, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND (id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q))) AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> searchUndoneWithTagsAndSubtasksAll(String q, int applyTags, List<Long> tagIds);
 
     @Transaction
-    @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL AND (title LIKE '%'||:q||'%' OR description LIKE '%'||:q||'%') AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, dueAt ASC, createdAt DESC")
+    @Query("SELECT * FROM tasks WHERE done = 0 AND dueAt IS NOT NULL AND (id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q))) AND (:applyTags = 0 OR id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) ORDER BY pinned DESC, id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, dueOrder ASC, createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> searchUndoneWithTagsAndSubtasksWithDeadline(String q, int applyTags, List<Long> tagIds);
 
     @Transaction
     @Query("SELECT t.* FROM tasks t " +
-            "JOIN task_tags tt ON tt.taskId = t.id " +
-            "JOIN tags tag ON tag.id = tt.tagId " +
             "WHERE t.done = 0 AND t.groupId IS NULL " +
-            "AND (:applyText = 0 OR (t.title LIKE '%'||:q||'%' OR t.description LIKE '%'||:q||'%')) " +
+            "AND (:applyText = 0 OR (t.id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR t.id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q)))) " +
             "AND (:applyTags = 0 OR t.id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) " +
-            "AND LOWER(TRIM(tag.name)) IN (:tagNames) " +
-            "GROUP BY t.id " +
-            "HAVING COUNT(DISTINCT LOWER(TRIM(tag.name))) = :tagCount " +
-            "ORDER BY t.pinned DESC, t.dueAt IS NULL, t.dueAt ASC, t.createdAt DESC")
+            "AND t.id IN (SELECT taskId FROM task_tags WHERE tagId IN (SELECT id FROM tags WHERE nameKey IN (:tagNames)) GROUP BY taskId HAVING COUNT(*) = :tagCount) " +
+            "ORDER BY t.pinned DESC, t.id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, t.dueOrder ASC, t.createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> searchUndoneWithTagsAndSubtasksInInboxByTagNames(
             String q,
             int applyText,
@@ -122,15 +268,11 @@ public interface TaskDao {
 
     @Transaction
     @Query("SELECT t.* FROM tasks t " +
-            "JOIN task_tags tt ON tt.taskId = t.id " +
-            "JOIN tags tag ON tag.id = tt.tagId " +
             "WHERE t.done = 0 AND t.groupId = :groupId " +
-            "AND (:applyText = 0 OR (t.title LIKE '%'||:q||'%' OR t.description LIKE '%'||:q||'%')) " +
+            "AND (:applyText = 0 OR (t.id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR t.id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q)))) " +
             "AND (:applyTags = 0 OR t.id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) " +
-            "AND LOWER(TRIM(tag.name)) IN (:tagNames) " +
-            "GROUP BY t.id " +
-            "HAVING COUNT(DISTINCT LOWER(TRIM(tag.name))) = :tagCount " +
-            "ORDER BY t.pinned DESC, t.dueAt IS NULL, t.dueAt ASC, t.createdAt DESC")
+            "AND t.id IN (SELECT taskId FROM task_tags WHERE tagId IN (SELECT id FROM tags WHERE nameKey IN (:tagNames)) GROUP BY taskId HAVING COUNT(*) = :tagCount) " +
+            "ORDER BY t.pinned DESC, t.id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, t.dueOrder ASC, t.createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> searchUndoneWithTagsAndSubtasksInGroupByTagNames(
             long groupId,
             String q,
@@ -142,15 +284,11 @@ public interface TaskDao {
 
     @Transaction
     @Query("SELECT t.* FROM tasks t " +
-            "JOIN task_tags tt ON tt.taskId = t.id " +
-            "JOIN tags tag ON tag.id = tt.tagId " +
             "WHERE t.done = 0 " +
-            "AND (:applyText = 0 OR (t.title LIKE '%'||:q||'%' OR t.description LIKE '%'||:q||'%')) " +
+            "AND (:applyText = 0 OR (t.id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR t.id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q)))) " +
             "AND (:applyTags = 0 OR t.id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) " +
-            "AND LOWER(TRIM(tag.name)) IN (:tagNames) " +
-            "GROUP BY t.id " +
-            "HAVING COUNT(DISTINCT LOWER(TRIM(tag.name))) = :tagCount " +
-            "ORDER BY t.pinned DESC, t.dueAt IS NULL, t.dueAt ASC, t.createdAt DESC")
+            "AND t.id IN (SELECT taskId FROM task_tags WHERE tagId IN (SELECT id FROM tags WHERE nameKey IN (:tagNames)) GROUP BY taskId HAVING COUNT(*) = :tagCount) " +
+            "ORDER BY t.pinned DESC, t.id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, t.dueOrder ASC, t.createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> searchUndoneWithTagsAndSubtasksAllByTagNames(
             String q,
             int applyText,
@@ -161,15 +299,11 @@ public interface TaskDao {
 
     @Transaction
     @Query("SELECT t.* FROM tasks t " +
-            "JOIN task_tags tt ON tt.taskId = t.id " +
-            "JOIN tags tag ON tag.id = tt.tagId " +
             "WHERE t.done = 0 AND t.dueAt IS NOT NULL " +
-            "AND (:applyText = 0 OR (t.title LIKE '%'||:q||'%' OR t.description LIKE '%'||:q||'%')) " +
+            "AND (:applyText = 0 OR (t.id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH :q) OR t.id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH :q)))) " +
             "AND (:applyTags = 0 OR t.id IN (SELECT taskId FROM task_tags WHERE tagId IN (:tagIds))) " +
-            "AND LOWER(TRIM(tag.name)) IN (:tagNames) " +
-            "GROUP BY t.id " +
-            "HAVING COUNT(DISTINCT LOWER(TRIM(tag.name))) = :tagCount " +
-            "ORDER BY t.pinned DESC, t.dueAt ASC, t.createdAt DESC")
+            "AND t.id IN (SELECT taskId FROM task_tags WHERE tagId IN (SELECT id FROM tags WHERE nameKey IN (:tagNames)) GROUP BY taskId HAVING COUNT(*) = :tagCount) " +
+            "ORDER BY t.pinned DESC, t.id IN (SELECT docid FROM tasks_fts WHERE title MATCH :q) DESC, t.dueOrder ASC, t.createdAt DESC")
     LiveData<List<TaskWithTagsAndSubtasks>> searchUndoneWithTagsAndSubtasksWithDeadlineByTagNames(
             String q,
             int applyText,
@@ -177,4 +311,19 @@ public interface TaskDao {
             int tagCount,
             int applyTags,
             List<Long> tagIds);
+
+    /** Pages {@link TaskQuery#toRowSqlQuery()} rows. */
+    @RawQuery(observedEntities = {TaskEntity.class, SubtaskEntity.class, TagEntity.class, TaskTagCrossRef.class, GroupEntity.class})
+    PagingSource<Integer, TaskListRow> pageTaskRows(SupportSQLiteQuery query);
+
+    @RawQuery
+    List<TaskListRow> getTaskRowsSync(SupportSQLiteQuery query);
+
+    @Transaction
+    @RawQuery(observedEntities = {TaskEntity.class, SubtaskEntity.class, TagEntity.class, TaskTagCrossRef.class, GroupEntity.class})
+    LiveData<List<TaskWithTagsAndSubtasks>> observeTasks(SupportSQLiteQuery query);
+
+    @Transaction
+    @RawQuery
+    List<TaskWithTagsAndSubtasks> getTasksSync(SupportSQLiteQuery query);
 }
\ No newline at end of file
@@ -2,14 +2,27 @@ package com.example.task_manager.data;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Index;
 import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "tasks", indices = {@Index("pinned")})
+@Entity(tableName = "tasks", indices = {
+        @Index(value = {"done", "pinned", "dueOrder", "createdAt"}, orders = {Index.Order.ASC, Index.Order.DESC, Index.Order.ASC, Index.Order.DESC}),
+        @Index(value = {"done", "groupId", "pinned", "dueOrder", "createdAt"}, orders = {Index.Order.ASC, Index.Order.ASC, Index.Order.DESC, Index.Order.ASC, Index.Order.DESC}),
+        @Index(value = {"pinned", "done", "dueOrder", "createdAt"}, orders = {Index.Order.DESC, Index.Order.ASC, Index.Order.ASC, Index.Order.DESC}),
+        @Index(value = {"groupId", "pinned", "done", "dueOrder", "createdAt"}, orders = {Index.Order.ASC, Index.Order.DESC, Index.Order.ASC, Index.Order.ASC, Index.Order.DESC}),
+        @Index(value = {"done", "dueAt", "createdAt"}, orders = {Index.Order.ASC, Index.Order.ASC, Index.Order.DESC}),
+        @Index(value = {"done", "archiveTime"}),
+        @Index(value = {"archiveTime"}),
+        @Index(value = {"done", "recurrence"}),
+        @Index(value = {"done", "completedAt"})
+})
 public class TaskEntity {
 
+    public static final long NO_DUE_ORDER = Long.MAX_VALUE;
+
     @PrimaryKey(autoGenerate = true)
     private long id;
 
@@ -25,12 +38,41 @@ public class TaskEntity {
     @Nullable
     public Long dueAt;
 
+    /** {@link #dueAt} with tasks without a deadline sorted last; lets list queries order through an index. */
+    public long dueOrder = NO_DUE_ORDER;
+
+    /** {@code COALESCE(dueAt, createdAt)}; the archive pages through tasks by this column and {@link #id}. */
+    public long archiveTime;
+
     @NonNull
     public String description = "";
 
     @Nullable
     public Long groupId;
 
+    /**
+     * RRULE-style repetition ({@link com.example.task_manager.core.Recurrence}) with {@link #dueAt} as the next
+     * pending occurrence; {@code null} for one-off tasks. Occurrences are expanded when shown, never stored.
+     */
+    @Nullable
+    public String recurrence;
+
+    /** When the task was last marked done, kept by {@link #setDone}; {@code null} while undone. Drives archiving. */
+    @Nullable
+    public Long completedAt;
+
+    /** Number of subtasks; maintained by triggers (see {@link TaskCounters}) and never written by {@link TaskDao#update}. */
+    @ColumnInfo(defaultValue = "0")
+    public int subtaskTotal;
+
+    /** Number of done subtasks, maintained like {@link #subtaskTotal}. */
+    @ColumnInfo(defaultValue = "0")
+    public int subtaskDone;
+
+    /** Number of tag links, maintained like {@link #subtaskTotal}. */
+    @ColumnInfo(defaultValue = "0")
+    public int tagCount;
+
     public TaskEntity() {
     }
 
@@ -42,13 +84,30 @@ public class TaskEntity {
     @Ignore
     public TaskEntity(@NonNull String title, boolean done, long createdAt, @Nullable Long dueAt, @NonNull String description) {
         this.title = title;
-        this.done = done;
+        setDone(done);
         this.pinned = false;
         this.createdAt = createdAt;
         this.dueAt = dueAt;
+        this.dueOrder = dueAt == null ? NO_DUE_ORDER : dueAt;
+        this.archiveTime = dueAt == null ? createdAt : dueAt;
         this.description = description;
     }
 
+    /**
+     * Copy of the edited columns, {@link #completedAt} included so that rewriting a done task does not restart its
+     * archive clock. The trigger-maintained counters are not copied; {@link TaskDao#update} never writes them.
+     */
+    @NonNull
+    public TaskEntity copy() {
+        TaskEntity copy = new TaskEntity(title, done, createdAt, dueAt, description);
+        copy.id = id;
+        copy.pinned = pinned;
+        copy.groupId = groupId;
+        copy.recurrence = recurrence;
+        copy.completedAt = completedAt;
+        return copy;
+    }
+
     public long getId() {
         return id;
     }
@@ -70,8 +129,17 @@ public class TaskEntity {
         return done;
     }
 
+    /**
+     * Stamps {@link #completedAt} on completion unless already stamped, so Room loading a done row keeps the stored
+     * time whichever of the two columns it assigns first.
+     */
     public void setDone(boolean done) {
         this.done = done;
+        if (!done) {
+            completedAt = null;
+        } else if (completedAt == null) {
+            completedAt = System.currentTimeMillis();
+        }
     }
 
     public boolean isPinned() {
@@ -88,6 +156,7 @@ public class TaskEntity {
 
     public void setCreatedAt(long createdAt) {
         this.createdAt = createdAt;
+        this.archiveTime = dueAt == null ? createdAt : dueAt;
     }
 
     @Nullable
@@ -97,6 +166,8 @@ public class TaskEntity {
 
     public void setDueAt(@Nullable Long dueAt) {
         this.dueAt = dueAt;
+        this.dueOrder = dueAt == null ? NO_DUE_ORDER : dueAt;
+        this.archiveTime = dueAt == null ? createdAt : dueAt;
     }
 
     @NonNull
@@ -0,0 +1,56 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The columns of {@link TaskEntity} that the app edits, for {@link TaskDao#update}. Leaving out the trigger-maintained
+ * counters keeps an entity read before a subtask or tag change from writing old counts back.
+ */
+public class TaskFields {
+
+    public long id;
+
+    @NonNull
+    public String title;
+
+    public boolean done;
+
+    public boolean pinned;
+
+    public long createdAt;
+
+    @Nullable
+    public Long dueAt;
+
+    public long dueOrder;
+
+    public long archiveTime;
+
+    @NonNull
+    public String description;
+
+    @Nullable
+    public Long groupId;
+
+    @Nullable
+    public String recurrence;
+
+    @Nullable
+    public Long completedAt;
+
+    public TaskFields(@NonNull TaskEntity task) {
+        this.id = task.getId();
+        this.title = task.getTitle();
+        this.done = task.isDone();
+        this.pinned = task.isPinned();
+        this.createdAt = task.getCreatedAt();
+        this.dueAt = task.getDueAt();
+        this.dueOrder = task.dueOrder;
+        this.archiveTime = task.archiveTime;
+        this.description = task.getDescription();
+        this.groupId = task.getGroupId();
+        this.recurrence = task.recurrence;
+        this.completedAt = task.completedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+@Fts4(contentEntity = TaskEntity.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "tasks_fts")
+public class TaskFtsEntity {
+
+    @NonNull
+    public String title = "";
+
+    @NonNull
+    public String description = "";
+}
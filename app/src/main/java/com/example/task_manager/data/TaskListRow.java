@@ -0,0 +1,32 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+/**
+ * Main list row: the task with the aggregates its collapsed card shows, read in one flat query instead of loading
+ * subtasks, tags and the group through relations. See {@link TaskQuery#toRowSqlQuery()}.
+ */
+public class TaskListRow {
+
+    @Embedded
+    public TaskEntity task;
+
+    @Nullable
+    @ColumnInfo(name = "groupName")
+    public String groupName;
+
+    @Nullable
+    @ColumnInfo(name = "groupColor")
+    public Integer groupColor;
+
+    /** First tag by {@link TagEntity#keyOf} order, {@code null} without tags. */
+    @Nullable
+    @ColumnInfo(name = "firstTagName")
+    public String firstTagName;
+
+    @Nullable
+    @ColumnInfo(name = "secondTagName")
+    public String secondTagName;
+}
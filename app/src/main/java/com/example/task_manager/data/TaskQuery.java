@@ -0,0 +1,257 @@
+package com.example.task_manager.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** Filter specification for the main task list, compiled into one SQL statement per filter shape. */
+public final class TaskQuery {
+
+    public enum Scope {
+        ALL,
+        DEADLINES,
+        GROUP
+    }
+
+    /**
+     * Most ids {@link #withMatchedIds} accepts. Both id lists are padded to a power-of-two bucket so the statement
+     * shape does not change with every result count; two full buckets stay below SQLite's 999 bind argument limit.
+     */
+    public static final int MAX_MATCHED_IDS = 256;
+
+    private static final int MIN_ID_BUCKET = 16;
+    private static final int MAX_CACHED_SHAPES = 32;
+    private static final Map<String, String> SQL_BY_SHAPE = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_CACHED_SHAPES;
+        }
+    };
+
+    private static final String TEXT_MATCH = "(id IN (SELECT docid FROM tasks_fts WHERE tasks_fts MATCH ?) " +
+            "OR id IN (SELECT s.taskId FROM subtasks s WHERE s.id IN (SELECT docid FROM subtasks_fts WHERE subtasks_fts MATCH ?)))";
+    private static final String TITLE_RANK = "id IN (SELECT docid FROM tasks_fts WHERE title MATCH ?) DESC";
+    private static final String ROW_COLUMNS = "tasks.*, " +
+            "(SELECT g.name FROM groups g WHERE g.id = tasks.groupId) AS groupName, " +
+            "(SELECT g.color FROM groups g WHERE g.id = tasks.groupId) AS groupColor, " +
+            "CASE WHEN tasks.tagCount > 0 THEN (SELECT tg.name FROM task_tags tt JOIN tags tg ON tg.id = tt.tagId " +
+            "WHERE tt.taskId = tasks.id ORDER BY tg.nameKey LIMIT 1) END AS firstTagName, " +
+            "CASE WHEN tasks.tagCount > 1 THEN (SELECT tg.name FROM task_tags tt JOIN tags tg ON tg.id = tt.tagId " +
+            "WHERE tt.taskId = tasks.id ORDER BY tg.nameKey LIMIT 1 OFFSET 1) END AS secondTagName";
+
+    @NonNull
+    private final Scope scope;
+    @Nullable
+    private final Long groupId;
+    @Nullable
+    private final String ftsQuery;
+    @NonNull
+    private final List<Long> tagIds;
+    @NonNull
+    private final List<String> tagNames;
+    @Nullable
+    private final List<Long> matchedIds;
+    @NonNull
+    private final List<Long> titleMatchedIds;
+
+    private TaskQuery(@NonNull Scope scope, @Nullable Long groupId, @Nullable String ftsQuery, @NonNull List<Long> tagIds, @NonNull List<String> tagNames,
+                      @Nullable List<Long> matchedIds, @NonNull List<Long> titleMatchedIds) {
+        this.scope = scope;
+        this.groupId = groupId;
+        this.ftsQuery = ftsQuery;
+        this.tagIds = tagIds;
+        this.tagNames = tagNames;
+        this.matchedIds = matchedIds;
+        this.titleMatchedIds = titleMatchedIds;
+    }
+
+    @NonNull
+    public static TaskQuery all() {
+        return new TaskQuery(Scope.ALL, null, null, Collections.emptyList(), Collections.emptyList(), null, Collections.emptyList());
+    }
+
+    @NonNull
+    public static TaskQuery deadlines() {
+        return new TaskQuery(Scope.DEADLINES, null, null, Collections.emptyList(), Collections.emptyList(), null, Collections.emptyList());
+    }
+
+    /** Tasks of one group; a {@code null} id selects ungrouped tasks. */
+    @NonNull
+    public static TaskQuery inGroup(@Nullable Long groupId) {
+        return new TaskQuery(Scope.GROUP, groupId, null, Collections.emptyList(), Collections.emptyList(), null, Collections.emptyList());
+    }
+
+    /** Restricts to tasks or subtasks matching an FTS expression, see {@link FtsQuery#fromText}. */
+    @NonNull
+    public TaskQuery withText(@Nullable String ftsQuery) {
+        return new TaskQuery(scope, groupId, ftsQuery, tagIds, tagNames, matchedIds, titleMatchedIds);
+    }
+
+    /**
+     * Restricts to tasks already known to match a text search, listing those whose title matched first. Replaces
+     * {@link #withText}. At most {@link #MAX_MATCHED_IDS} ids; {@code titleIds} is a subset of {@code ids}.
+     */
+    @NonNull
+    public TaskQuery withMatchedIds(@NonNull Collection<Long> ids, @NonNull Collection<Long> titleIds) {
+        if (ids.size() > MAX_MATCHED_IDS) {
+            throw new IllegalArgumentException("Too many matched ids: " + ids.size());
+        }
+        return new TaskQuery(scope, groupId, null, tagIds, tagNames, new ArrayList<>(ids), new ArrayList<>(titleIds));
+    }
+
+    /** Keeps tasks carrying any of the given tags. */
+    @NonNull
+    public TaskQuery withAnyTagId(@Nullable Collection<Long> ids) {
+        List<Long> copy = ids == null ? Collections.emptyList() : new ArrayList<>(new LinkedHashSet<>(ids));
+        return new TaskQuery(scope, groupId, ftsQuery, copy, tagNames, matchedIds, titleMatchedIds);
+    }
+
+    /** Keeps tasks carrying every one of the given tag names, compared by {@link TagEntity#keyOf}. */
+    @NonNull
+    public TaskQuery withAllTagNames(@Nullable Collection<String> names) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                keys.add(TagEntity.keyOf(name));
+            }
+        }
+        return new TaskQuery(scope, groupId, ftsQuery, tagIds, new ArrayList<>(keys), matchedIds, titleMatchedIds);
+    }
+
+    public boolean isSearch() {
+        return ftsQuery != null || matchedIds != null || !tagNames.isEmpty();
+    }
+
+    @NonNull
+    String shapeKey() {
+        return scope.name() + (ftsQuery != null ? "|text" : "")
+                + (matchedIds != null ? "|matched" + bucket(matchedIds.size()) + "|title" + bucket(titleMatchedIds.size()) : "")
+                + "|ids" + tagIds.size() + "|names" + tagNames.size();
+    }
+
+    /** Whole task rows, for results mapped through relations such as {@link TaskWithTagsAndSubtasks}. */
+    @NonNull
+    public SupportSQLiteQuery toSqlQuery() {
+        return toSqlQuery(false);
+    }
+
+    /** Task rows with the aggregate columns of {@link TaskListRow}. */
+    @NonNull
+    public SupportSQLiteQuery toRowSqlQuery() {
+        return toSqlQuery(true);
+    }
+
+    private SupportSQLiteQuery toSqlQuery(boolean rows) {
+        String columns = rows ? ROW_COLUMNS : "*";
+        String shape = shapeKey() + (rows ? "|rows" : "");
+        String sql;
+        synchronized (SQL_BY_SHAPE) {
+            sql = SQL_BY_SHAPE.get(shape);
+            if (sql == null) {
+                sql = buildSql(columns);
+                SQL_BY_SHAPE.put(shape, sql);
+            }
+        }
+        return new SimpleSQLiteQuery(sql, bindArgs().toArray());
+    }
+
+    private String buildSql(String columns) {
+        List<String> conditions = new ArrayList<>();
+        boolean search = isSearch();
+        if (search || scope == Scope.DEADLINES) {
+            conditions.add("done = 0");
+        }
+        if (scope == Scope.DEADLINES) {
+            conditions.add("dueAt IS NOT NULL");
+        } else if (scope == Scope.GROUP) {
+            conditions.add("groupId IS ?");
+        }
+        if (ftsQuery != null) {
+            conditions.add(TEXT_MATCH);
+        }
+        if (matchedIds != null) {
+            conditions.add("id IN (" + placeholders(bucket(matchedIds.size())) + ")");
+        }
+        if (!tagIds.isEmpty()) {
+            conditions.add("id IN (SELECT taskId FROM task_tags WHERE tagId IN (" + placeholders(tagIds.size()) + "))");
+        }
+        if (!tagNames.isEmpty()) {
+            conditions.add("id IN (SELECT taskId FROM task_tags WHERE tagId IN (SELECT id FROM tags WHERE nameKey IN (" + placeholders(tagNames.size()) + ")) " +
+                    "GROUP BY taskId HAVING COUNT(*) = " + tagNames.size() + ")");
+        }
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM tasks");
+        for (int i = 0; i < conditions.size(); i++) {
+            sql.append(i == 0 ? " WHERE " : " AND ").append(conditions.get(i));
+        }
+        sql.append(" ORDER BY pinned DESC, ");
+        if (ftsQuery != null) {
+            sql.append(TITLE_RANK).append(", ");
+        } else if (!titleMatchedIds.isEmpty()) {
+            sql.append("id IN (").append(placeholders(bucket(titleMatchedIds.size()))).append(") DESC, ");
+        } else if (!search && scope != Scope.DEADLINES) {
+            sql.append("done ASC, ");
+        }
+        sql.append("dueOrder ASC, createdAt DESC");
+        return sql.toString();
+    }
+
+    private List<Object> bindArgs() {
+        List<Object> args = new ArrayList<>();
+        if (scope == Scope.GROUP) {
+            args.add(groupId);
+        }
+        if (ftsQuery != null) {
+            args.add(ftsQuery);
+            args.add(ftsQuery);
+        }
+        if (matchedIds != null) {
+            addPadded(args, matchedIds);
+        }
+        args.addAll(tagIds);
+        args.addAll(tagNames);
+        if (ftsQuery != null) {
+            args.add(ftsQuery);
+        } else {
+            addPadded(args, titleMatchedIds);
+        }
+        return args;
+    }
+
+    /** Smallest power of two from {@link #MIN_ID_BUCKET} that holds {@code count} ids; 0 for none. */
+    private static int bucket(int count) {
+        if (count == 0) {
+            return 0;
+        }
+        int bucket = MIN_ID_BUCKET;
+        while (bucket < count) {
+            bucket <<= 1;
+        }
+        return bucket;
+    }
+
+    /** Adds the ids, repeating the last one up to the bucket size; a repeated id does not change an IN test. */
+    private static void addPadded(List<Object> args, List<Long> ids) {
+        args.addAll(ids);
+        for (int i = ids.size(); i < bucket(ids.size()); i++) {
+            args.add(ids.get(ids.size() - 1));
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(i == 0 ? "?" : ", ?");
+        }
+        return builder.toString();
+    }
+}
@@ -7,7 +7,10 @@ import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Transaction;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Dao
 public interface TaskTagDao {
@@ -16,23 +19,50 @@ public interface TaskTagDao {
     @Query("SELECT tags.* FROM tags INNER JOIN task_tags ON tags.id = task_tags.tagId WHERE task_tags.taskId = :taskId ORDER BY tags.name ASC")
     LiveData<List<TagEntity>> observeTagsForTask(long taskId);
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    @Query("SELECT tagId FROM task_tags WHERE taskId = :taskId")
+    List<Long> getTagIdsForTaskSync(long taskId);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
     void insertCrossRef(TaskTagCrossRef ref);
 
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertCrossRefs(List<TaskTagCrossRef> refs);
+
     @Query("DELETE FROM task_tags WHERE taskId = :taskId AND tagId = :tagId")
     void deleteCrossRef(long taskId, long tagId);
 
+    @Query("DELETE FROM task_tags WHERE taskId = :taskId AND tagId IN (:tagIds)")
+    void deleteCrossRefs(long taskId, List<Long> tagIds);
+
     @Query("DELETE FROM task_tags WHERE taskId = :taskId")
     void deleteForTask(long taskId);
 
     @Transaction
     default void replaceTagsForTask(long taskId, List<Long> tagIds) {
-        deleteForTask(taskId);
-        if (tagIds == null) {
+        Set<Long> toInsert = new LinkedHashSet<>();
+        if (tagIds != null) {
+            for (Long tagId : tagIds) {
+                if (tagId != null) {
+                    toInsert.add(tagId);
+                }
+            }
+        }
+        List<Long> toDelete = new ArrayList<>();
+        for (Long existing : getTagIdsForTaskSync(taskId)) {
+            if (!toInsert.remove(existing)) {
+                toDelete.add(existing);
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            deleteCrossRefs(taskId, toDelete);
+        }
+        if (toInsert.isEmpty()) {
             return;
         }
-        for (Long tagId : tagIds) {
-            insertCrossRef(new TaskTagCrossRef(taskId, tagId));
+        List<TaskTagCrossRef> refs = new ArrayList<>(toInsert.size());
+        for (Long tagId : toInsert) {
+            refs.add(new TaskTagCrossRef(taskId, tagId));
         }
+        insertCrossRefs(refs);
     }
-}
\ No newline at end of file
+}
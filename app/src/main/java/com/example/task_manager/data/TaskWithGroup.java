@@ -3,9 +3,12 @@ package com.example.task_manager.data;
 import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Embedded;
+import androidx.room.Ignore;
 
 public class TaskWithGroup {
 
+    private static final long DAY_MILLIS = 86_400_000L;
+
     @Embedded
     public TaskEntity task;
 
@@ -15,4 +18,38 @@ public class TaskWithGroup {
     @Nullable
     @ColumnInfo(name = "groupColor")
     public Integer groupColor;
+
+    /** Whether the row comes from {@code archived_tasks}; such rows are done and can only be restored. */
+    @ColumnInfo(name = "archived")
+    public boolean archived;
+
+    /** Set on rows expanded from a recurring series; {@code task.dueAt} is then the occurrence's time. */
+    @Ignore
+    public boolean occurrence;
+
+    /** Distinct per shown row: the task id, or for an occurrence a negative key of the series and the day. */
+    public long rowKey() {
+        if (!occurrence) {
+            return task.getId();
+        }
+        return ~((task.getId() << 22) | (Math.floorDiv(task.getDueAt(), DAY_MILLIS) & 0x3fffff));
+    }
+
+    /** This series shown at {@code time}: the same task and group, with {@code dueAt} moved. */
+    public TaskWithGroup occurrenceAt(long time) {
+        TaskEntity copy = new TaskEntity(task.getTitle(), false, task.getCreatedAt(), time, task.getDescription());
+        copy.setId(task.getId());
+        copy.setPinned(task.isPinned());
+        copy.setGroupId(task.getGroupId());
+        copy.recurrence = task.recurrence;
+        copy.subtaskTotal = task.subtaskTotal;
+        copy.subtaskDone = task.subtaskDone;
+        copy.tagCount = task.tagCount;
+        TaskWithGroup row = new TaskWithGroup();
+        row.task = copy;
+        row.groupName = groupName;
+        row.groupColor = groupColor;
+        row.occurrence = true;
+        return row;
+    }
 }
\ No newline at end of file
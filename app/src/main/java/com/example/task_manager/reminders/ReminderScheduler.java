@@ -0,0 +1,142 @@
+package com.example.task_manager.reminders;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.room.InvalidationTracker;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import com.example.task_manager.TaskManagerApplication;
+import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.TaskDao;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps exactly one pending work request: for the minute of the earliest undone deadline not yet reminded of.
+ * That minute comes from one indexed {@code MIN(dueAt)} lookup, redone whenever Room reports {@code tasks}
+ * invalidated; the request is replaced only when the minute changes. {@link ReminderWorker} then reminds of every
+ * task due in the minute at once and re-arms, so the number of scheduled jobs does not depend on the task count.
+ *
+ * <p>The end of the last reminded minute is persisted as a cursor; deadlines before it, including those already
+ * past when reminders were first enabled, are never reminded of.
+ *
+ * <p>While {@link ReminderWorker} runs, its own request is the unique work, and {@code REPLACE} would cancel it. Re-arms
+ * are therefore left to the worker, which appends the next request behind itself when it finishes.
+ */
+public final class ReminderScheduler {
+
+    static final long MINUTE_MILLIS = 60_000L;
+    static final String WORK_NAME = "reminder-next";
+
+    private static final String PREFS_NAME = "reminders";
+    private static final String KEY_CURSOR = "cursor";
+    private static final long NOT_ARMED = Long.MIN_VALUE;
+
+    private final Context context;
+    private final TaskDao taskDao;
+    private final SharedPreferences prefs;
+    private final Executor readExecutor;
+    private final AtomicBoolean rearmPending = new AtomicBoolean();
+    private long armedMinute = NOT_ARMED;
+    private boolean running;
+
+    public ReminderScheduler(@NonNull Context context, @NonNull AppDatabase db, @NonNull Executor readExecutor) {
+        this.context = context.getApplicationContext();
+        this.taskDao = db.taskDao();
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.readExecutor = readExecutor;
+        db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("tasks") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                scheduleRearm();
+            }
+        });
+        scheduleRearm();
+    }
+
+    @NonNull
+    public static ReminderScheduler get(@NonNull Context context) {
+        return ((TaskManagerApplication) context.getApplicationContext()).getReminders();
+    }
+
+    /** Re-arms on the read executor; bursts of invalidations collapse into one lookup. */
+    public void scheduleRearm() {
+        if (rearmPending.compareAndSet(false, true)) {
+            readExecutor.execute(() -> {
+                rearmPending.set(false);
+                rearm();
+            });
+        }
+    }
+
+    /**
+     * Points the single work request at the next minute with a deadline, or cancels it when there is none. Does
+     * nothing while the worker runs; it re-arms when it finishes.
+     */
+    @WorkerThread
+    public synchronized void rearm() {
+        if (!running) {
+            arm(ExistingWorkPolicy.REPLACE);
+        }
+    }
+
+    /** Marks the worker's run as started, so that re-arms wait for {@link #finishRun}. */
+    synchronized void startRun() {
+        running = true;
+    }
+
+    /**
+     * Records that everything due before {@code end} was reminded of and arms the next minute behind the running
+     * request. The running request is never cancelled, so the run ends as succeeded rather than cancelled.
+     */
+    @WorkerThread
+    synchronized void finishRun(long end) {
+        if (end > cursor()) {
+            prefs.edit().putLong(KEY_CURSOR, end).apply();
+        }
+        running = false;
+        armedMinute = NOT_ARMED;
+        arm(ExistingWorkPolicy.APPEND_OR_REPLACE);
+    }
+
+    private void arm(ExistingWorkPolicy policy) {
+        Long next = taskDao.getNextDueAtSync(cursor());
+        long minute = next == null ? NOT_ARMED : Math.floorDiv(next, MINUTE_MILLIS) * MINUTE_MILLIS;
+        if (minute == armedMinute) {
+            return;
+        }
+        armedMinute = minute;
+        WorkManager workManager = WorkManager.getInstance(context);
+        if (next == null) {
+            if (policy == ExistingWorkPolicy.REPLACE) {
+                workManager.cancelUniqueWork(WORK_NAME);
+            }
+            return;
+        }
+        long delay = Math.max(0, minute - System.currentTimeMillis());
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ReminderWorker.class)
+                .setInitialDelay(delay, TimeUnit.MILLISECONDS)
+                .setInputData(new Data.Builder().putLong(ReminderWorker.KEY_MINUTE, minute).build())
+                .build();
+        workManager.enqueueUniqueWork(WORK_NAME, policy, request);
+    }
+
+    /** End of the last minute reminded of; starts at the first call so existing deadlines stay quiet. */
+    synchronized long cursor() {
+        long cursor = prefs.getLong(KEY_CURSOR, NOT_ARMED);
+        if (cursor == NOT_ARMED) {
+            cursor = System.currentTimeMillis();
+            prefs.edit().putLong(KEY_CURSOR, cursor).apply();
+        }
+        return cursor;
+    }
+}
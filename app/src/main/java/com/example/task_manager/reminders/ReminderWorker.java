@@ -0,0 +1,121 @@
+package com.example.task_manager.reminders;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.task_manager.MainActivity;
+import com.example.task_manager.R;
+import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.TaskDao;
+import com.example.task_manager.data.TaskEntity;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts one notification for every undone task due between the scheduler's cursor and the end of the armed minute,
+ * then re-arms. A run delayed by doze therefore folds the missed minutes into the same notification.
+ */
+public class ReminderWorker extends Worker {
+
+    static final String KEY_MINUTE = "minute";
+
+    private static final String CHANNEL_ID = "reminders";
+    /** Deadlines older than this when the run finally happens are dropped rather than reminded of. */
+    private static final long MAX_CATCH_UP_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int MAX_LINES = 5;
+    private static final DateTimeFormatter DEADLINE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    public ReminderWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        ReminderScheduler scheduler = ReminderScheduler.get(context);
+        long minute = getInputData().getLong(KEY_MINUTE, System.currentTimeMillis());
+        long end = Math.max(minute, System.currentTimeMillis()) / ReminderScheduler.MINUTE_MILLIS * ReminderScheduler.MINUTE_MILLIS
+                + ReminderScheduler.MINUTE_MILLIS;
+        scheduler.startRun();
+        try {
+            long from = Math.max(scheduler.cursor(), end - MAX_CATCH_UP_MILLIS);
+            TaskDao taskDao = AppDatabase.getInstance(context).taskDao();
+            int count = taskDao.countDueBetweenSync(from, end);
+            if (count > 0) {
+                notify(context, taskDao.getDueBetweenSync(from, end, MAX_LINES), count, end);
+            }
+        } finally {
+            scheduler.finishRun(end);
+        }
+        return Result.success();
+    }
+
+    private static void notify(Context context, List<TaskEntity> tasks, int count, long end) {
+        NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+        if (!manager.areNotificationsEnabled()) {
+            return;
+        }
+        createChannel(context);
+        PendingIntent contentIntent = PendingIntent.getActivity(context, 0,
+                new Intent(context, MainActivity.class).addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_SINGLE_TOP),
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_schedule_24)
+                .setContentIntent(contentIntent)
+                .setAutoCancel(true)
+                .setCategory(NotificationCompat.CATEGORY_REMINDER)
+                .setPriority(NotificationCompat.PRIORITY_HIGH);
+        if (count == 1) {
+            TaskEntity task = tasks.get(0);
+            builder.setContentTitle(task.getTitle())
+                    .setContentText(context.getString(R.string.deadline_prefix, formatDeadline(task.getDueAt())));
+        } else {
+            String title = context.getResources().getQuantityString(R.plurals.reminder_batch_title, count, count);
+            NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle().setBigContentTitle(title);
+            for (TaskEntity task : tasks) {
+                style.addLine(task.getTitle());
+            }
+            if (count > tasks.size()) {
+                style.setSummaryText(context.getString(R.string.reminder_batch_more, count - tasks.size()));
+            }
+            builder.setContentTitle(title)
+                    .setContentText(tasks.get(0).getTitle())
+                    .setNumber(count)
+                    .setStyle(style);
+        }
+        try {
+            manager.notify((int) (end / ReminderScheduler.MINUTE_MILLIS), builder.build());
+        } catch (SecurityException e) {
+            // POST_NOTIFICATIONS was revoked between the check and the post.
+        }
+    }
+
+    /** Formatted here rather than through the main-thread-only {@link com.example.task_manager.ui.common.DateLabels}. */
+    private static String formatDeadline(long dueAt) {
+        return DEADLINE_FORMAT.withZone(ZoneId.systemDefault()).format(Instant.ofEpochMilli(dueAt));
+    }
+
+    private static void createChannel(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            return;
+        }
+        NotificationChannel channel = new NotificationChannel(CHANNEL_ID,
+                context.getString(R.string.reminder_channel_name), NotificationManager.IMPORTANCE_HIGH);
+        context.getSystemService(NotificationManager.class).createNotificationChannel(channel);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.task_manager.ui.archive;
 
+import android.app.AlertDialog;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -11,47 +12,39 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 import androidx.fragment.app.Fragment;
-import androidx.lifecycle.LiveData;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.task_manager.R;
 import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.ArchiveDao;
+import com.example.task_manager.data.DbExecutors;
 import com.example.task_manager.data.TaskDao;
-import com.example.task_manager.data.TaskEntity;
 import com.example.task_manager.data.TaskWithGroup;
 import com.example.task_manager.databinding.FragmentArchiveBinding;
 import com.example.task_manager.ui.calendar.DaySection;
 import com.example.task_manager.ui.calendar.DaySectionsAdapter;
+import com.example.task_manager.ui.common.DateLabels;
+import com.example.task_manager.ui.debug.RenderStats;
 import com.example.task_manager.ui.taskdetail.TaskDetailActivity;
+import com.google.android.material.snackbar.Snackbar;
 
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 public class ArchiveFragment extends Fragment {
 
-    private enum Filter {
-        DONE_ONLY,
-        EVERYTHING_PAST
-    }
+    /** Sections left below the last visible one when the next page is requested. */
+    private static final int PREFETCH_SECTIONS = 3;
 
     private FragmentArchiveBinding binding;
     private TaskDao taskDao;
-    private ExecutorService ioExecutor;
+    private ArchiveDao archiveDao;
+    private Executor ioExecutor;
     private DaySectionsAdapter adapter;
-    private Filter filter = Filter.DONE_ONLY;
-    private LiveData<List<TaskWithGroup>> doneLiveData;
-    private LiveData<List<TaskWithGroup>> pastUndoneLiveData;
-    private final List<TaskWithGroup> doneTasksCache = new ArrayList<>();
-    private final List<TaskWithGroup> pastUndoneCache = new ArrayList<>();
-    private final ZoneId zoneId = ZoneId.systemDefault();
+    private ArchiveViewModel archiveModel;
 
     @Nullable
     @Override
@@ -64,8 +57,11 @@ public class ArchiveFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         requireActivity().setTitle(R.string.archive_title);
-        taskDao = AppDatabase.getInstance(requireContext()).taskDao();
-        ioExecutor = Executors.newSingleThreadExecutor();
+        AppDatabase db = AppDatabase.getInstance(requireContext());
+        taskDao = db.taskDao();
+        archiveDao = db.archiveDao();
+        ioExecutor = DbExecutors.get(requireContext()).writes();
+        archiveModel = new ViewModelProvider(this).get(ArchiveViewModel.class);
         setupRecyclerView();
         setupToggle();
         observeData();
@@ -74,8 +70,53 @@ public class ArchiveFragment extends Fragment {
 
     private void setupRecyclerView() {
         binding.archiveList.setLayoutManager(new LinearLayoutManager(requireContext()));
-        adapter = new DaySectionsAdapter(taskDao, ioExecutor, task -> startActivity(TaskDetailActivity.createIntent(requireContext(), task.getId())));
+        adapter = new DaySectionsAdapter(taskDao, ioExecutor, this::onTaskClick);
+        adapter.setOnTaskCheckedListener(this::onTaskChecked);
         binding.archiveList.setAdapter(adapter);
+        binding.archiveList.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null
+                        && layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - 1 - PREFETCH_SECTIONS) {
+                    archiveModel.loadMore();
+                }
+            }
+        });
+        RenderStats.get(requireContext()).trackScrollJank(binding.archiveList, "archive");
+    }
+
+    private void onTaskClick(TaskWithGroup item) {
+        if (!item.archived) {
+            startActivity(TaskDetailActivity.createIntent(requireContext(), item.task.getId()));
+            return;
+        }
+        new AlertDialog.Builder(requireContext())
+                .setTitle(R.string.archive_restore_title)
+                .setMessage(getString(R.string.archive_restore_message, item.task.getTitle()))
+                .setPositiveButton(R.string.archive_restore, (dialog, which) -> restore(item.task.getId()))
+                .setNegativeButton(R.string.dialog_cancel, null)
+                .show();
+    }
+
+    /**
+     * Unchecking an archived row restores it as undone. Hot rows are saved by id: a kept section may hold an entity
+     * older than edits made since, which must not be written back.
+     */
+    private void onTaskChecked(TaskWithGroup item, boolean checked) {
+        if (item.archived) {
+            if (!checked) {
+                restore(item.task.getId());
+            }
+            return;
+        }
+        long taskId = item.task.getId();
+        ioExecutor.execute(() -> taskDao.setDoneByIds(Collections.singletonList(taskId), checked, System.currentTimeMillis()));
+    }
+
+    private void restore(long taskId) {
+        ioExecutor.execute(() -> archiveDao.restore(taskId));
+        Snackbar.make(binding.getRoot(), R.string.archive_restored, Snackbar.LENGTH_SHORT).show();
     }
 
     private void applyWindowInsets() {
@@ -115,105 +156,30 @@ public class ArchiveFragment extends Fragment {
             if (!isChecked) {
                 return;
             }
+            long startOfToday = DateLabels.get(requireContext()).startOfToday();
             if (checkedId == R.id.filter_done_only) {
-                filter = Filter.DONE_ONLY;
+                archiveModel.setFilter(ArchiveViewModel.Filter.DONE_ONLY, startOfToday);
             } else if (checkedId == R.id.filter_all_past) {
-                filter = Filter.EVERYTHING_PAST;
+                archiveModel.setFilter(ArchiveViewModel.Filter.EVERYTHING_PAST, startOfToday);
             }
-            rebuildSections();
         });
         binding.archiveFilterGroup.check(R.id.filter_done_only);
     }
 
     private void observeData() {
-        long startOfToday = LocalDate.now().atStartOfDay(zoneId).toInstant().toEpochMilli();
-        doneLiveData = taskDao.observeDoneAllWithGroup(getString(R.string.group_inbox));
-        pastUndoneLiveData = taskDao.observeUndoneInRangeWithGroup(0, startOfToday - 1, null, 0, getString(R.string.group_inbox));
-
-        doneLiveData.observe(getViewLifecycleOwner(), tasks -> {
-            doneTasksCache.clear();
-            if (tasks != null) {
-                doneTasksCache.addAll(tasks);
-            }
-            rebuildSections();
-        });
-
-        pastUndoneLiveData.observe(getViewLifecycleOwner(), tasks -> {
-            pastUndoneCache.clear();
-            if (tasks != null) {
-                pastUndoneCache.addAll(tasks);
-            }
-            rebuildSections();
-        });
+        archiveModel.getSections().observe(getViewLifecycleOwner(), this::showSections);
     }
 
-    private void rebuildSections() {
-        List<TaskWithGroup> tasksForDisplay = new ArrayList<>();
-        long startOfToday = LocalDate.now().atStartOfDay(zoneId).toInstant().toEpochMilli();
-        if (filter == Filter.DONE_ONLY) {
-            tasksForDisplay.addAll(doneTasksCache);
-        } else {
-            for (TaskWithGroup done : doneTasksCache) {
-                TaskEntity task = done.task;
-                if (task == null) {
-                    continue;
-                }
-                long ts = task.getDueAt() != null ? task.getDueAt() : task.getCreatedAt();
-                if (ts < startOfToday) {
-                    tasksForDisplay.add(done);
-                }
-            }
-            tasksForDisplay.addAll(pastUndoneCache);
-        }
-
-        tasksForDisplay.sort((a, b) -> Long.compare(getTaskTime(b.task), getTaskTime(a.task)));
-
-        Map<LocalDate, List<TaskWithGroup>> grouped = new HashMap<>();
-        for (TaskWithGroup taskWithGroup : tasksForDisplay) {
-            if (taskWithGroup.task == null) {
-                continue;
-            }
-            LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(getTaskTime(taskWithGroup.task)), zoneId);
-            List<TaskWithGroup> bucket = grouped.get(day);
-            if (bucket == null) {
-                bucket = new ArrayList<>();
-                grouped.put(day, bucket);
-            }
-            bucket.add(taskWithGroup);
-        }
-
-        List<LocalDate> days = new ArrayList<>(grouped.keySet());
-        days.sort(Comparator.reverseOrder());
-
-        List<DaySection> sections = new ArrayList<>();
-        for (LocalDate day : days) {
-            sections.add(new DaySection(day, grouped.get(day)));
-        }
-
+    private void showSections(List<DaySection> sections) {
         adapter.submitList(sections);
-        boolean isEmpty = tasksForDisplay.isEmpty();
+        boolean isEmpty = sections.isEmpty();
         binding.archiveEmptyState.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
         binding.archiveList.setVisibility(isEmpty ? View.GONE : View.VISIBLE);
     }
 
-    private long getTaskTime(TaskEntity task) {
-        if (task == null) {
-            return 0;
-        }
-        return task.getDueAt() != null ? task.getDueAt() : task.getCreatedAt();
-    }
-
     @Override
     public void onDestroyView() {
         super.onDestroyView();
         binding = null;
     }
-
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        if (ioExecutor != null && !ioExecutor.isShutdown()) {
-            ioExecutor.shutdown();
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+package com.example.task_manager.ui.archive;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+
+import com.example.task_manager.R;
+import com.example.task_manager.core.ListDiffs;
+import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.DbExecutors;
+import com.example.task_manager.data.TaskDao;
+import com.example.task_manager.data.TaskWithGroup;
+import com.example.task_manager.ui.calendar.DaySection;
+import com.example.task_manager.ui.calendar.DaySectionsAdapter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Archive day sections loaded a page at a time through a keyset cursor on {@code (archiveTime, id)} over both the
+ * tasks table and {@code archived_tasks}, so only the part of the history scrolled to is read. When either table
+ * changes the loaded extent is re-read in one query.
+ */
+public class ArchiveViewModel extends AndroidViewModel {
+
+    public enum Filter {
+        DONE_ONLY,
+        EVERYTHING_PAST
+    }
+
+    private static final int PAGE_SIZE = 60;
+
+    private final AppDatabase db;
+    private final TaskDao taskDao;
+    private final Executor readExecutor;
+    private final String inboxName;
+    private final ZoneId zoneId = ZoneId.systemDefault();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final MutableLiveData<List<DaySection>> sections = new MutableLiveData<>();
+    private final List<TaskWithGroup> rows = new ArrayList<>();
+    private final InvalidationTracker.Observer tasksObserver = new InvalidationTracker.Observer("tasks", "archived_tasks") {
+        @Override
+        public void onInvalidated(@NonNull Set<String> tables) {
+            mainHandler.post(ArchiveViewModel.this::reload);
+        }
+    };
+    private List<DaySection> current = Collections.emptyList();
+    private Filter filter;
+    private long startOfToday;
+    private int generation;
+    private boolean loading;
+    private boolean reloadPending;
+    private boolean endReached;
+
+    public ArchiveViewModel(@NonNull Application application) {
+        super(application);
+        db = AppDatabase.getInstance(application);
+        taskDao = db.taskDao();
+        readExecutor = DbExecutors.get(application).reads();
+        inboxName = application.getString(R.string.group_inbox);
+        db.getInvalidationTracker().addObserver(tasksObserver);
+    }
+
+    /** Sections loaded so far, newest day first; emitted after every page. */
+    public LiveData<List<DaySection>> getSections() {
+        return sections;
+    }
+
+    /** Switches the filter and starts over from the newest page; a no-op when nothing changed. */
+    public void setFilter(@NonNull Filter filter, long startOfToday) {
+        if (filter == this.filter && startOfToday == this.startOfToday) {
+            return;
+        }
+        this.filter = filter;
+        this.startOfToday = startOfToday;
+        generation++;
+        rows.clear();
+        current = Collections.emptyList();
+        loading = false;
+        reloadPending = false;
+        endReached = false;
+        loadMore();
+    }
+
+    /** Loads the next page unless one is in flight or the history is exhausted. */
+    public void loadMore() {
+        if (filter == null || loading || endReached) {
+            return;
+        }
+        if (rows.isEmpty()) {
+            load(initialBeforeTime(), Long.MAX_VALUE, PAGE_SIZE, false);
+        } else {
+            TaskWithGroup last = rows.get(rows.size() - 1);
+            load(last.task.archiveTime, last.task.getId(), PAGE_SIZE, true);
+        }
+    }
+
+    private void reload() {
+        if (filter == null) {
+            return;
+        }
+        if (loading) {
+            reloadPending = true;
+            return;
+        }
+        load(initialBeforeTime(), Long.MAX_VALUE, Math.max(PAGE_SIZE, rows.size()), false);
+    }
+
+    private long initialBeforeTime() {
+        return filter == Filter.DONE_ONLY ? Long.MAX_VALUE : startOfToday - 1;
+    }
+
+    private void load(long beforeTime, long beforeId, int limit, boolean append) {
+        loading = true;
+        int loadGeneration = generation;
+        Filter loadFilter = filter;
+        readExecutor.execute(() -> {
+            List<TaskWithGroup> page = loadFilter == Filter.DONE_ONLY
+                    ? taskDao.pageDoneBefore(beforeTime, beforeId, limit, inboxName)
+                    : taskDao.pagePastBefore(beforeTime, beforeId, limit, inboxName);
+            mainHandler.post(() -> onLoaded(loadGeneration, page, limit, append));
+        });
+    }
+
+    private void onLoaded(int loadGeneration, List<TaskWithGroup> page, int limit, boolean append) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        loading = false;
+        endReached = page.size() < limit;
+        if (append) {
+            rows.addAll(page);
+            current = appendSections(current, page);
+        } else {
+            rows.clear();
+            rows.addAll(page);
+            current = regroup(current, rows);
+        }
+        sections.setValue(current);
+        if (reloadPending) {
+            reloadPending = false;
+            reload();
+        }
+    }
+
+    /** Extends the last section when the page continues its day; earlier sections are kept as they are. */
+    private List<DaySection> appendSections(List<DaySection> existing, List<TaskWithGroup> page) {
+        List<DaySection> result = new ArrayList<>(existing);
+        int start = 0;
+        if (!result.isEmpty()) {
+            DaySection last = result.get(result.size() - 1);
+            while (start < page.size() && dayOf(page.get(start)).equals(last.getDate())) {
+                start++;
+            }
+            if (start > 0) {
+                List<TaskWithGroup> merged = new ArrayList<>(last.getTasks());
+                merged.addAll(page.subList(0, start));
+                result.set(result.size() - 1, new DaySection(last.getDate(), merged));
+            }
+        }
+        result.addAll(group(page.subList(start, page.size()), Collections.emptyMap()));
+        return result;
+    }
+
+    /** Groups {@code loaded} by day, reusing previous sections whose rows did not change. */
+    private List<DaySection> regroup(List<DaySection> previous, List<TaskWithGroup> loaded) {
+        Map<LocalDate, DaySection> previousByDay = new HashMap<>(previous.size() * 2);
+        for (DaySection section : previous) {
+            previousByDay.put(section.getDate(), section);
+        }
+        return group(loaded, previousByDay);
+    }
+
+    private List<DaySection> group(List<TaskWithGroup> loaded, Map<LocalDate, DaySection> reusable) {
+        List<DaySection> result = new ArrayList<>();
+        int start = 0;
+        while (start < loaded.size()) {
+            LocalDate day = dayOf(loaded.get(start));
+            int end = start + 1;
+            while (end < loaded.size() && dayOf(loaded.get(end)).equals(day)) {
+                end++;
+            }
+            List<TaskWithGroup> dayTasks = new ArrayList<>(loaded.subList(start, end));
+            DaySection old = reusable.get(day);
+            if (old != null && ListDiffs.sameInOrder(old.getTasks(), dayTasks, DaySectionsAdapter::isSameRow)) {
+                result.add(old);
+            } else {
+                result.add(new DaySection(day, dayTasks));
+            }
+            start = end;
+        }
+        return result;
+    }
+
+    private LocalDate dayOf(TaskWithGroup row) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(row.task.archiveTime), zoneId);
+    }
+
+    @Override
+    protected void onCleared() {
+        db.getInvalidationTracker().removeObserver(tasksObserver);
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+}
@@ -17,30 +17,28 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.Lifecycle;
-import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.task_manager.R;
+import com.example.task_manager.core.DayBucketIndex;
+import com.example.task_manager.core.DayBuckets;
 import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.DbExecutors;
 import com.example.task_manager.data.TaskDao;
 import com.example.task_manager.data.TaskWithGroup;
 import com.example.task_manager.databinding.FragmentCalendarBinding;
 import com.example.task_manager.ui.common.UiStateViewModel;
+import com.example.task_manager.ui.debug.RenderStats;
 import com.example.task_manager.ui.taskdetail.TaskDetailActivity;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 public class CalendarFragment extends Fragment {
 
@@ -49,12 +47,18 @@ public class CalendarFragment extends Fragment {
 
     private FragmentCalendarBinding binding;
     private TaskDao taskDao;
-    private ExecutorService ioExecutor;
+    private Executor ioExecutor;
     private DaySectionsAdapter adapter;
     private UiStateViewModel uiState;
-    private LiveData<List<TaskWithGroup>> currentTasksLiveData;
+    private CalendarViewModel calendarModel;
+    private CalendarRange currentRange;
     private final ZoneId zoneId = ZoneId.systemDefault();
     private final DateTimeFormatter dayTitleFormatter = DateTimeFormatter.ofPattern("d MMM", Locale.getDefault());
+    private final DayBucketIndex<TaskWithGroup> dayIndex = new DayBucketIndex<>(
+            TaskWithGroup::rowKey,
+            item -> item.task == null ? null : item.task.getDueAt(),
+            DaySectionsAdapter::isSameRow,
+            zoneId);
     private Menu calendarMenu;
     private int weekOffset = 0;
     private int dayOffset = 0;
@@ -80,19 +84,22 @@ public class CalendarFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         taskDao = AppDatabase.getInstance(requireContext()).taskDao();
-        ioExecutor = Executors.newSingleThreadExecutor();
+        ioExecutor = DbExecutors.get(requireContext()).writes();
         uiState = new ViewModelProvider(requireActivity()).get(UiStateViewModel.class);
+        calendarModel = new ViewModelProvider(this).get(CalendarViewModel.class);
         initializeState(savedInstanceState);
         setupRecyclerView();
         setupMenu();
         applyWindowInsets();
+        calendarModel.getTasks().observe(getViewLifecycleOwner(), this::onRangeTasks);
         observeState();
     }
 
     private void setupRecyclerView() {
         binding.calendarList.setLayoutManager(new LinearLayoutManager(requireContext()));
-        adapter = new DaySectionsAdapter(taskDao, ioExecutor, task -> startActivity(TaskDetailActivity.createIntent(requireContext(), task.getId())));
+        adapter = new DaySectionsAdapter(taskDao, ioExecutor, item -> startActivity(TaskDetailActivity.createIntent(requireContext(), item.task.getId())));
         binding.calendarList.setAdapter(adapter);
+        RenderStats.get(requireContext()).trackScrollJank(binding.calendarList, "calendar");
     }
 
     private void applyWindowInsets() {
@@ -230,14 +237,11 @@ public class CalendarFragment extends Fragment {
 
     private void renderWeek() {
         LocalDate today = LocalDate.now();
-        LocalDate weekStart = today.with(DayOfWeek.MONDAY).plusWeeks(getWeekOffset());
+        LocalDate weekStart = CalendarRange.weekStart(today, getWeekOffset());
         LocalDate weekEnd = weekStart.plusDays(6);
-        LocalDate startDay = getWeekOffset() == 0 ? today : weekStart;
 
-        long from = startDay.atStartOfDay(zoneId).toInstant().toEpochMilli();
-        long to = weekEnd.atTime(LocalTime.MAX).atZone(zoneId).toInstant().toEpochMilli();
-
-        observeRange(from, to, startDay, weekEnd, true);
+        showRange(CalendarRange.week(today, getWeekOffset(), zoneId));
+        calendarModel.showWeek(today, getWeekOffset(), zoneId);
         updateWeekTitle(weekStart, weekEnd);
         adapter.updateSelection(DaySectionsAdapter.SelectionMode.WEEK, today, null);
     }
@@ -245,69 +249,35 @@ public class CalendarFragment extends Fragment {
     private void renderDay() {
         LocalDate today = LocalDate.now();
         LocalDate selectedDay = resolveSelectedDay(today);
-        long from = selectedDay.atStartOfDay(zoneId).toInstant().toEpochMilli();
-        long to = selectedDay.atTime(LocalTime.MAX).atZone(zoneId).toInstant().toEpochMilli();
 
-        observeRange(from, to, selectedDay, selectedDay, true);
+        showRange(CalendarRange.day(selectedDay, zoneId));
+        calendarModel.showDay(selectedDay, zoneId);
         updateDayTitle(selectedDay);
         adapter.updateSelection(DaySectionsAdapter.SelectionMode.DAY, today, selectedDay);
     }
 
-    private void observeRange(long from, long to, LocalDate startDay, LocalDate endDay, boolean includeEmptyDays) {
-        if (currentTasksLiveData != null) {
-            currentTasksLiveData.removeObservers(getViewLifecycleOwner());
-        }
-        currentTasksLiveData = taskDao.observeUndoneInRangeWithGroup(from, to, null, 0, getString(R.string.group_inbox));
-        currentTasksLiveData.observe(getViewLifecycleOwner(), tasks -> buildSections(tasks, startDay, endDay, includeEmptyDays));
+    /** Set before asking {@link CalendarViewModel} for the range, which may deliver cached tasks synchronously. */
+    private void showRange(CalendarRange range) {
+        currentRange = range;
+        dayIndex.setRange(range.getStartDay(), range.getEndDay());
     }
 
-    private void buildSections(@Nullable List<TaskWithGroup> tasks,
-                               LocalDate startDay,
-                               LocalDate endDay,
-                               boolean includeEmptyDays) {
-
-        Map<LocalDate, List<TaskWithGroup>> byDay = new HashMap<>();
-
-        if (tasks != null) {
-            for (TaskWithGroup taskWithGroup : tasks) {
-                if (taskWithGroup.task == null || taskWithGroup.task.getDueAt() == null) {
-                    continue;
-                }
-
-                LocalDate date = LocalDate.ofInstant(
-                        java.time.Instant.ofEpochMilli(taskWithGroup.task.getDueAt()),
-                        zoneId
-                );
-
-                List<TaskWithGroup> list = byDay.get(date);
-                if (list == null) {
-                    list = new ArrayList<>();
-                    byDay.put(date, list);
-                }
-                list.add(taskWithGroup);
-            }
+    private void onRangeTasks(CalendarViewModel.RangeTasks value) {
+        if (value.range.equals(currentRange)) {
+            buildSections(value.tasks);
         }
+    }
 
+    private void buildSections(@Nullable List<TaskWithGroup> tasks) {
+        dayIndex.apply(tasks);
         List<DaySection> sections = new ArrayList<>();
-
-        LocalDate cursor = startDay;
-        while (!cursor.isAfter(endDay)) {
-
-            List<TaskWithGroup> dayTasks = byDay.get(cursor);
-
-            if (includeEmptyDays || (dayTasks != null && !dayTasks.isEmpty())) {
-                sections.add(new DaySection(
-                        cursor,
-                        dayTasks == null ? new ArrayList<>() : dayTasks
-                ));
-            }
-
-            cursor = cursor.plusDays(1);
+        for (DayBuckets.Bucket<TaskWithGroup> bucket : dayIndex.buckets(true)) {
+            sections.add(new DaySection(bucket.getDate(), bucket.getItems()));
         }
 
         adapter.submitList(sections);
 
-        boolean hasTasks = tasks != null && !tasks.isEmpty();
+        boolean hasTasks = dayIndex.size() > 0;
         binding.calendarEmptyState.setVisibility(hasTasks ? View.GONE : View.VISIBLE);
     }
 
@@ -333,18 +303,8 @@ public class CalendarFragment extends Fragment {
     public void onDestroyView() {
         super.onDestroyView();
         binding = null;
-        if (currentTasksLiveData != null) {
-            currentTasksLiveData.removeObservers(getViewLifecycleOwner());
-        }
     }
 
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        if (ioExecutor != null && !ioExecutor.isShutdown()) {
-            ioExecutor.shutdown();
-        }
-    }
     private void initializeState(@Nullable Bundle savedInstanceState) {
         if (!uiState.isCalendarModeInitialized()) {
             uiState.setCalendarMode(restoreSavedMode());
@@ -0,0 +1,74 @@
+package com.example.task_manager.ui.calendar;
+
+import androidx.annotation.NonNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/** Inclusive day range shown by the calendar, with its bounds in epoch millis. */
+public final class CalendarRange {
+
+    private final LocalDate startDay;
+    private final LocalDate endDay;
+    private final long from;
+    private final long to;
+
+    private CalendarRange(LocalDate startDay, LocalDate endDay, ZoneId zoneId) {
+        this.startDay = startDay;
+        this.endDay = endDay;
+        this.from = startDay.atStartOfDay(zoneId).toInstant().toEpochMilli();
+        this.to = endDay.atTime(LocalTime.MAX).atZone(zoneId).toInstant().toEpochMilli();
+    }
+
+    /** Monday to Sunday {@code offset} weeks from the current one; the current week starts today. */
+    @NonNull
+    public static CalendarRange week(LocalDate today, int offset, ZoneId zoneId) {
+        LocalDate weekStart = weekStart(today, offset);
+        return new CalendarRange(offset == 0 ? today : weekStart, weekStart.plusDays(6), zoneId);
+    }
+
+    @NonNull
+    public static CalendarRange day(LocalDate day, ZoneId zoneId) {
+        return new CalendarRange(day, day, zoneId);
+    }
+
+    @NonNull
+    public static LocalDate weekStart(LocalDate today, int offset) {
+        return today.with(DayOfWeek.MONDAY).plusWeeks(offset);
+    }
+
+    public LocalDate getStartDay() {
+        return startDay;
+    }
+
+    public LocalDate getEndDay() {
+        return endDay;
+    }
+
+    public long getFrom() {
+        return from;
+    }
+
+    public long getTo() {
+        return to;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CalendarRange)) {
+            return false;
+        }
+        CalendarRange other = (CalendarRange) o;
+        return from == other.from && to == other.to;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(from) * 31 + Long.hashCode(to);
+    }
+}
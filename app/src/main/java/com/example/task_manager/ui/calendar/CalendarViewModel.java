@@ -0,0 +1,289 @@
+package com.example.task_manager.ui.calendar;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+
+import com.example.task_manager.R;
+import com.example.task_manager.core.OccurrenceExpander;
+import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.DbExecutors;
+import com.example.task_manager.data.TaskDao;
+import com.example.task_manager.data.TaskWithGroup;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Undone tasks of the visible calendar range plus {@code prefetchWindow} ranges on each side, kept observed so
+ * that paging to a neighbour renders from memory. Ranges outside the window are kept while they fit under the
+ * row cap, least recently shown evicted first.
+ *
+ * <p>Recurring series are observed once, apart from the ranges, and expanded into a range's rows on the read
+ * executor when either changes. Ranges of the prefetch window are expanded right away; ranges kept outside it are
+ * only marked stale and expanded when shown again. Results computed from inputs that changed meanwhile are dropped.
+ */
+public class CalendarViewModel extends AndroidViewModel {
+
+    /** Ranges retained beyond the prefetch window, for going back and forth between recent weeks. */
+    private static final int EXTRA_RANGES = 2;
+
+    private final TaskDao taskDao;
+    private final String inboxName;
+    private final Map<CalendarRange, RangeEntry> ranges = new LinkedHashMap<>(16, 0.75f, true);
+    private final MutableLiveData<RangeTasks> tasks = new MutableLiveData<>();
+    private final LiveData<List<TaskWithGroup>> seriesLiveData;
+    private final Observer<List<TaskWithGroup>> seriesObserver = this::onSeriesChanged;
+    private List<TaskWithGroup> series = Collections.emptyList();
+    private final Executor readExecutor;
+    private final Executor mainExecutor;
+    private ZoneId zoneId;
+    private int prefetchWindow;
+    private int maxCachedRows;
+    private CalendarRange currentRange;
+    private Set<CalendarRange> window = new HashSet<>();
+
+    public CalendarViewModel(@NonNull Application application) {
+        super(application);
+        taskDao = AppDatabase.getInstance(application).taskDao();
+        inboxName = application.getString(R.string.group_inbox);
+        prefetchWindow = application.getResources().getInteger(R.integer.calendar_prefetch_window);
+        maxCachedRows = application.getResources().getInteger(R.integer.calendar_prefetch_max_rows);
+        readExecutor = DbExecutors.get(application).reads();
+        mainExecutor = ContextCompat.getMainExecutor(application);
+        seriesLiveData = taskDao.observeUndoneSeriesWithGroup(null, 0, inboxName);
+        seriesLiveData.observeForever(seriesObserver);
+    }
+
+    /** Emits the tasks of the range last passed to {@link #showWeek} or {@link #showDay}. */
+    public LiveData<RangeTasks> getTasks() {
+        return tasks;
+    }
+
+    public void setPrefetchWindow(int prefetchWindow) {
+        this.prefetchWindow = Math.max(0, prefetchWindow);
+    }
+
+    public void setMaxCachedRows(int maxCachedRows) {
+        this.maxCachedRows = Math.max(0, maxCachedRows);
+    }
+
+    public void showWeek(LocalDate today, int offset, ZoneId zoneId) {
+        useZone(zoneId);
+        List<CalendarRange> neighbours = new ArrayList<>();
+        for (int i = 1; i <= prefetchWindow; i++) {
+            neighbours.add(CalendarRange.week(today, offset + i, zoneId));
+            neighbours.add(CalendarRange.week(today, offset - i, zoneId));
+        }
+        show(CalendarRange.week(today, offset, zoneId), neighbours);
+    }
+
+    public void showDay(LocalDate day, ZoneId zoneId) {
+        useZone(zoneId);
+        List<CalendarRange> neighbours = new ArrayList<>();
+        for (int i = 1; i <= prefetchWindow; i++) {
+            neighbours.add(CalendarRange.day(day.plusDays(i), zoneId));
+            neighbours.add(CalendarRange.day(day.minusDays(i), zoneId));
+        }
+        show(CalendarRange.day(day, zoneId), neighbours);
+    }
+
+    private void useZone(ZoneId zoneId) {
+        if (zoneId.equals(this.zoneId)) {
+            return;
+        }
+        this.zoneId = zoneId;
+        expandStale();
+    }
+
+    private void onSeriesChanged(List<TaskWithGroup> value) {
+        series = value == null ? Collections.<TaskWithGroup>emptyList() : value;
+        expandStale();
+    }
+
+    /** Re-expands the loaded ranges of the window whose rows are out of date; others wait until shown. */
+    private void expandStale() {
+        List<RangeEntry> stale = new ArrayList<>();
+        for (RangeEntry entry : ranges.values()) {
+            if (window.contains(entry.range) && entry.needsExpand()) {
+                stale.add(entry);
+            }
+        }
+        expand(stale);
+    }
+
+    /**
+     * Publishes each entry's stored rows merged with the occurrences of {@link #series}. Without series that is the
+     * stored list itself; otherwise the merge runs on the read executor with its own expander, since expanders are
+     * not thread-safe, and is applied only if the entry's inputs are still the ones it was computed from.
+     */
+    private void expand(List<RangeEntry> entries) {
+        if (entries.isEmpty() || zoneId == null) {
+            return;
+        }
+        List<TaskWithGroup> seriesSnapshot = series;
+        ZoneId zoneSnapshot = zoneId;
+        if (seriesSnapshot.isEmpty()) {
+            for (RangeEntry entry : entries) {
+                entry.publish(entry.stored, entry.stored, seriesSnapshot, zoneSnapshot);
+            }
+            return;
+        }
+        List<List<TaskWithGroup>> inputs = new ArrayList<>(entries.size());
+        for (RangeEntry entry : entries) {
+            inputs.add(entry.stored);
+            entry.requested(seriesSnapshot, zoneSnapshot);
+        }
+        readExecutor.execute(() -> {
+            OccurrenceExpander<TaskWithGroup> expander = new OccurrenceExpander<>(item -> item.task.getDueAt(),
+                    item -> item.task.recurrence, TaskWithGroup::occurrenceAt, zoneSnapshot);
+            List<List<TaskWithGroup>> results = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                CalendarRange range = entries.get(i).range;
+                results.add(expander.expand(inputs.get(i), seriesSnapshot, range.getStartDay(), range.getEndDay()));
+            }
+            mainExecutor.execute(() -> {
+                for (int i = 0; i < entries.size(); i++) {
+                    entries.get(i).publish(results.get(i), inputs.get(i), seriesSnapshot, zoneSnapshot);
+                }
+            });
+        });
+    }
+
+    private void show(CalendarRange range, List<CalendarRange> neighbours) {
+        currentRange = range;
+        for (CalendarRange neighbour : neighbours) {
+            retain(neighbour);
+        }
+        RangeEntry entry = retain(range);
+        window = new HashSet<>(neighbours);
+        window.add(range);
+        trim();
+        if (entry.tasks != null) {
+            tasks.setValue(new RangeTasks(range, entry.tasks));
+        }
+        expandStale();
+    }
+
+    private RangeEntry retain(CalendarRange range) {
+        RangeEntry entry = ranges.get(range);
+        if (entry == null) {
+            entry = new RangeEntry(range);
+            ranges.put(range, entry);
+            entry.liveData.observeForever(entry);
+        }
+        return entry;
+    }
+
+    private void trim() {
+        int maxRanges = window.size() + EXTRA_RANGES;
+        int rows = 0;
+        for (RangeEntry entry : ranges.values()) {
+            rows += entry.rows();
+        }
+        for (Iterator<RangeEntry> it = ranges.values().iterator(); it.hasNext(); ) {
+            if (ranges.size() <= maxRanges && rows <= maxCachedRows) {
+                return;
+            }
+            RangeEntry entry = it.next();
+            if (!window.contains(entry.range)) {
+                rows -= entry.rows();
+                entry.release();
+                it.remove();
+            }
+        }
+    }
+
+    @Override
+    protected void onCleared() {
+        seriesLiveData.removeObserver(seriesObserver);
+        for (RangeEntry entry : ranges.values()) {
+            entry.release();
+        }
+        ranges.clear();
+    }
+
+    /** Tasks of one calendar range, ordered by deadline; occurrences of recurring tasks included. */
+    public static final class RangeTasks {
+        public final CalendarRange range;
+        public final List<TaskWithGroup> tasks;
+
+        RangeTasks(CalendarRange range, List<TaskWithGroup> tasks) {
+            this.range = range;
+            this.tasks = tasks;
+        }
+    }
+
+    private final class RangeEntry implements Observer<List<TaskWithGroup>> {
+        final CalendarRange range;
+        final LiveData<List<TaskWithGroup>> liveData;
+        List<TaskWithGroup> stored;
+        List<TaskWithGroup> tasks;
+        private List<TaskWithGroup> requestedStored;
+        private List<TaskWithGroup> requestedSeries;
+        private ZoneId requestedZone;
+        private boolean released;
+
+        RangeEntry(CalendarRange range) {
+            this.range = range;
+            this.liveData = taskDao.observeUndoneInRangeWithGroup(range.getFrom(), range.getTo(), null, 0, inboxName);
+        }
+
+        int rows() {
+            return tasks == null ? 0 : tasks.size();
+        }
+
+        /** Whether {@link #tasks} is neither computed nor being computed from the current stored rows, series and zone. */
+        boolean needsExpand() {
+            return stored != null
+                    && (requestedStored != stored || requestedSeries != series || !Objects.equals(requestedZone, zoneId));
+        }
+
+        void requested(List<TaskWithGroup> fromSeries, ZoneId fromZone) {
+            requestedStored = stored;
+            requestedSeries = fromSeries;
+            requestedZone = fromZone;
+        }
+
+        void release() {
+            released = true;
+            liveData.removeObserver(this);
+        }
+
+        void publish(List<TaskWithGroup> result, List<TaskWithGroup> fromStored, List<TaskWithGroup> fromSeries, ZoneId fromZone) {
+            if (released || fromStored != stored || fromSeries != series || !fromZone.equals(zoneId)) {
+                return;
+            }
+            tasks = result;
+            requested(fromSeries, fromZone);
+            if (range.equals(currentRange)) {
+                CalendarViewModel.this.tasks.setValue(new RangeTasks(range, result));
+            } else {
+                trim();
+            }
+        }
+
+        @Override
+        public void onChanged(List<TaskWithGroup> value) {
+            stored = value == null ? Collections.<TaskWithGroup>emptyList() : value;
+            if (window.contains(range)) {
+                expand(Collections.singletonList(this));
+            }
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.task_manager.ui.calendar;
 
 import android.graphics.Color;
+import android.os.SystemClock;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -14,22 +17,28 @@ import com.example.task_manager.R;
 import com.example.task_manager.data.TaskDao;
 import com.example.task_manager.data.TaskEntity;
 import com.example.task_manager.data.TaskWithGroup;
+import com.example.task_manager.ui.common.DateLabels;
+import com.example.task_manager.ui.debug.RenderStats;
 import com.google.android.material.checkbox.MaterialCheckBox;
 import com.google.android.material.color.MaterialColors;
 
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
-import java.util.concurrent.ExecutorService;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 public class DaySectionsAdapter extends RecyclerView.Adapter<DaySectionsAdapter.DaySectionViewHolder> {
 
     public interface OnTaskClickListener {
-        void onTaskClick(TaskEntity task);
+        void onTaskClick(TaskWithGroup item);
+    }
+
+    /** Replaces the default handling of the row checkbox, which saves {@code done} to the tasks table. */
+    public interface OnTaskCheckedListener {
+        void onTaskChecked(TaskWithGroup item, boolean checked);
     }
 
     public enum SelectionMode {
@@ -37,64 +46,143 @@ public class DaySectionsAdapter extends RecyclerView.Adapter<DaySectionsAdapter.
         DAY
     }
 
+    private static final String VIEW_TYPE_DAY = "day";
+    private static final String VIEW_TYPE_TASK = "day.task";
+    private static final Object PAYLOAD_SELECTION = new Object();
+
     private final List<DaySection> sections = new ArrayList<>();
     private final TaskDao taskDao;
-    private final ExecutorService ioExecutor;
+    private final Executor ioExecutor;
     private final OnTaskClickListener clickListener;
-    private final DateTimeFormatter dayTitleFormatter = DateTimeFormatter.ofPattern("EEE, d MMM", Locale.getDefault());
-    private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm", Locale.getDefault());
-    private final ZoneId zoneId = ZoneId.systemDefault();
+    private OnTaskCheckedListener checkedListener;
 
     private SelectionMode selectionMode = SelectionMode.WEEK;
     private LocalDate today = LocalDate.now();
     private LocalDate selectedDay;
+    private RenderStats renderStats;
+    private DateLabels dateLabels;
 
-    public DaySectionsAdapter(TaskDao taskDao, ExecutorService ioExecutor, OnTaskClickListener clickListener) {
+    public DaySectionsAdapter(TaskDao taskDao, Executor ioExecutor, OnTaskClickListener clickListener) {
         this.taskDao = taskDao;
         this.ioExecutor = ioExecutor;
         this.clickListener = clickListener;
     }
 
+    public void setOnTaskCheckedListener(OnTaskCheckedListener checkedListener) {
+        this.checkedListener = checkedListener;
+    }
+
+    /**
+     * Sections are matched by date and rebound only when their task list is a different instance, so callers that
+     * reuse unchanged lists (see {@link com.example.task_manager.core.DayBucketIndex}) rebind only changed days.
+     */
     public void submitList(List<DaySection> newSections) {
+        List<DaySection> next = newSections == null ? Collections.emptyList() : newSections;
+        List<DaySection> previous = new ArrayList<>(sections);
+        DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return previous.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return next.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return previous.get(oldPosition).getDate().equals(next.get(newPosition).getDate());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return previous.get(oldPosition).getTasks() == next.get(newPosition).getTasks();
+            }
+        }, false);
         sections.clear();
-        if (newSections != null) {
-            sections.addAll(newSections);
-        }
-        notifyDataSetChanged();
+        sections.addAll(next);
+        diff.dispatchUpdatesTo(this);
+    }
+
+    /**
+     * Whether two rows of a day section render and toggle identically. Other columns may differ, so a kept row's entity
+     * is never written back; see {@link #saveDone}.
+     */
+    public static boolean isSameRow(TaskWithGroup oldItem, TaskWithGroup newItem) {
+        TaskEntity oldTask = oldItem.task;
+        TaskEntity newTask = newItem.task;
+        return oldItem.archived == newItem.archived
+                && oldItem.occurrence == newItem.occurrence
+                && oldTask.isDone() == newTask.isDone()
+                && Objects.equals(oldTask.recurrence, newTask.recurrence)
+                && Objects.equals(oldTask.getDueAt(), newTask.getDueAt())
+                && Objects.equals(oldTask.getTitle(), newTask.getTitle())
+                && Objects.equals(oldItem.groupName, newItem.groupName)
+                && Objects.equals(oldItem.groupColor, newItem.groupColor);
+    }
+
+    /** Saves a row checkbox by id, leaving the columns edited elsewhere since the row was bound untouched. */
+    @WorkerThread
+    static void saveDone(@NonNull TaskDao taskDao, long taskId, boolean done) {
+        taskDao.setDoneByIds(Collections.singletonList(taskId), done, System.currentTimeMillis());
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        renderStats = RenderStats.get(recyclerView.getContext());
+        dateLabels = DateLabels.get(recyclerView.getContext());
     }
 
     @NonNull
     @Override
     public DaySectionViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        long startedAt = SystemClock.elapsedRealtimeNanos();
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_day_section, parent, false);
-        return new DaySectionViewHolder(view);
+        DaySectionViewHolder holder = new DaySectionViewHolder(view);
+        renderStats.recordCreate(VIEW_TYPE_DAY, startedAt);
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull DaySectionViewHolder holder, int position) {
+        long startedAt = SystemClock.elapsedRealtimeNanos();
         DaySection section = sections.get(position);
-        holder.dayTitle.setText(capitalize(dayTitleFormatter.format(section.getDate())));
+        holder.dayTitle.setText(dateLabels.dayTitle(section.getDate()));
         holder.bindSelection(section.getDate(), selectionMode, today, selectedDay);
         holder.bindTasks(section.getTasks());
+        renderStats.recordBind(VIEW_TYPE_DAY, startedAt);
     }
 
     @Override
-    public int getItemCount() {
-        return sections.size();
+    public void onBindViewHolder(@NonNull DaySectionViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_SELECTION) {
+                onBindViewHolder(holder, position);
+                return;
+            }
+        }
+        holder.bindSelection(sections.get(position).getDate(), selectionMode, today, selectedDay);
     }
 
-    private String capitalize(String text) {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-        return text.substring(0, 1).toUpperCase(Locale.getDefault()) + text.substring(1);
+    @Override
+    public int getItemCount() {
+        return sections.size();
     }
 
     public void updateSelection(SelectionMode mode, LocalDate today, LocalDate selectedDay) {
+        if (mode == selectionMode && today.equals(this.today) && Objects.equals(selectedDay, this.selectedDay)) {
+            return;
+        }
         this.selectionMode = mode;
         this.today = today;
         this.selectedDay = selectedDay;
-        notifyDataSetChanged();
+        notifyItemRangeChanged(0, sections.size(), PAYLOAD_SELECTION);
     }
 
     class DaySectionViewHolder extends RecyclerView.ViewHolder {
@@ -148,23 +236,54 @@ public class DaySectionsAdapter extends RecyclerView.Adapter<DaySectionsAdapter.
 
         private final List<TaskWithGroup> tasks = new ArrayList<>();
 
+        /**
+         * Rows are matched by {@link TaskWithGroup#rowKey()} and rebound only when {@link #isSameRow} says they render
+         * differently; a kept row's listeners still hold its old item, which is safe because they act on the id.
+         */
         void submitList(List<TaskWithGroup> newTasks) {
+            List<TaskWithGroup> next = newTasks == null ? Collections.emptyList() : newTasks;
+            List<TaskWithGroup> previous = new ArrayList<>(tasks);
+            DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                @Override
+                public int getOldListSize() {
+                    return previous.size();
+                }
+
+                @Override
+                public int getNewListSize() {
+                    return next.size();
+                }
+
+                @Override
+                public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                    TaskWithGroup oldItem = previous.get(oldPosition);
+                    TaskWithGroup newItem = next.get(newPosition);
+                    return oldItem.archived == newItem.archived && oldItem.rowKey() == newItem.rowKey();
+                }
+
+                @Override
+                public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                    return isSameRow(previous.get(oldPosition), next.get(newPosition));
+                }
+            }, false);
             tasks.clear();
-            if (newTasks != null) {
-                tasks.addAll(newTasks);
-            }
-            notifyDataSetChanged();
+            tasks.addAll(next);
+            diff.dispatchUpdatesTo(this);
         }
 
         @NonNull
         @Override
         public TaskViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
             View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_calendar_task, parent, false);
-            return new TaskViewHolder(view);
+            TaskViewHolder holder = new TaskViewHolder(view);
+            renderStats.recordCreate(VIEW_TYPE_TASK, startedAt);
+            return holder;
         }
 
         @Override
         public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
+            long startedAt = SystemClock.elapsedRealtimeNanos();
             TaskWithGroup taskWithGroup = tasks.get(position);
             TaskEntity task = taskWithGroup.task;
             holder.checkBox.setOnCheckedChangeListener(null);
@@ -173,9 +292,9 @@ public class DaySectionsAdapter extends RecyclerView.Adapter<DaySectionsAdapter.
 
             Long dueAt = task.getDueAt();
             if (dueAt != null) {
-                holder.timeText.setText(timeFormatter.format(Instant.ofEpochMilli(dueAt).atZone(zoneId)));
+                holder.timeText.setText(dateLabels.time(dueAt));
             } else {
-                holder.timeText.setText(holder.itemView.getContext().getString(R.string.no_deadline_label));
+                holder.timeText.setText(R.string.no_deadline_label);
             }
 
             String groupName = taskWithGroup.groupName;
@@ -185,15 +304,28 @@ public class DaySectionsAdapter extends RecyclerView.Adapter<DaySectionsAdapter.
             holder.groupMarker.setBackgroundColor(groupColor != null && groupColor != 0 ? groupColor : defaultMarkerColor);
 
             holder.checkBox.setOnCheckedChangeListener((buttonView, isChecked) -> {
-                task.setDone(isChecked);
-                ioExecutor.execute(() -> taskDao.update(task));
+                if (checkedListener != null) {
+                    checkedListener.onTaskChecked(taskWithGroup, isChecked);
+                    return;
+                }
+                if (task.recurrence != null) {
+                    // The row may be an occurrence copy; completing moves the series instead of writing the copy back.
+                    if (isChecked) {
+                        long occurrenceAt = task.getDueAt();
+                        ioExecutor.execute(() -> taskDao.completeOccurrence(task.getId(), occurrenceAt, ZoneId.systemDefault()));
+                    }
+                    return;
+                }
+                long taskId = task.getId();
+                ioExecutor.execute(() -> saveDone(taskDao, taskId, isChecked));
             });
 
             holder.itemView.setOnClickListener(v -> {
                 if (clickListener != null) {
-                    clickListener.onTaskClick(task);
+                    clickListener.onTaskClick(taskWithGroup);
                 }
             });
+            renderStats.recordBind(VIEW_TYPE_TASK, startedAt);
         }
 
         @Override
@@ -0,0 +1,169 @@
+package com.example.task_manager.ui.common;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+
+import com.example.task_manager.R;
+import com.example.task_manager.TaskManagerApplication;
+import com.example.task_manager.core.LongLruCache;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Date and time labels for list rows, cached per epoch minute (per day for day titles) so that rebinding a row
+ * reuses the strings formatted the first time. Caches are dropped when the locale or time zone changes; the
+ * start of today is recomputed when the date rolls over. Main thread only.
+ */
+@MainThread
+public final class DateLabels {
+
+    private static final int CAPACITY = 512;
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private final Context context;
+    private final LongLruCache<String> dateTimes = new LongLruCache<>(CAPACITY);
+    private final LongLruCache<String> times = new LongLruCache<>(CAPACITY);
+    private final LongLruCache<String> createdLabels = new LongLruCache<>(CAPACITY);
+    private final LongLruCache<String> deadlineLabels = new LongLruCache<>(CAPACITY);
+    private final LongLruCache<String> dayTitles = new LongLruCache<>(CAPACITY);
+    private Locale locale;
+    private ZoneId zoneId;
+    private DateTimeFormatter dateTimeFormatter;
+    private DateTimeFormatter timeFormatter;
+    private DateTimeFormatter dayTitleFormatter;
+    private long startOfToday;
+    private long startOfTomorrow;
+
+    public DateLabels(@NonNull Context context) {
+        this.context = context.getApplicationContext();
+        invalidate();
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_LOCALE_CHANGED);
+        filter.addAction(Intent.ACTION_TIMEZONE_CHANGED);
+        filter.addAction(Intent.ACTION_TIME_CHANGED);
+        filter.addAction(Intent.ACTION_DATE_CHANGED);
+        ContextCompat.registerReceiver(this.context, new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                invalidate();
+            }
+        }, filter, ContextCompat.RECEIVER_NOT_EXPORTED);
+    }
+
+    @NonNull
+    public static DateLabels get(@NonNull Context context) {
+        return ((TaskManagerApplication) context.getApplicationContext()).getDateLabels();
+    }
+
+    /** {@code dd.MM.yyyy HH:mm} */
+    @NonNull
+    public String dateTime(long millis) {
+        ensureCurrent();
+        long minute = Math.floorDiv(millis, MINUTE_MILLIS);
+        String label = dateTimes.get(minute);
+        if (label == null) {
+            label = dateTimeFormatter.format(Instant.ofEpochMilli(minute * MINUTE_MILLIS));
+            dateTimes.put(minute, label);
+        }
+        return label;
+    }
+
+    /** {@code HH:mm} */
+    @NonNull
+    public String time(long millis) {
+        ensureCurrent();
+        long minute = Math.floorDiv(millis, MINUTE_MILLIS);
+        String label = times.get(minute);
+        if (label == null) {
+            label = timeFormatter.format(Instant.ofEpochMilli(minute * MINUTE_MILLIS));
+            times.put(minute, label);
+        }
+        return label;
+    }
+
+    @NonNull
+    public String createdLabel(long createdAt) {
+        ensureCurrent();
+        long minute = Math.floorDiv(createdAt, MINUTE_MILLIS);
+        String label = createdLabels.get(minute);
+        if (label == null) {
+            label = context.getString(R.string.created_at_label, dateTime(createdAt));
+            createdLabels.put(minute, label);
+        }
+        return label;
+    }
+
+    @NonNull
+    public String deadlineLabel(long dueAt) {
+        ensureCurrent();
+        long minute = Math.floorDiv(dueAt, MINUTE_MILLIS);
+        String label = deadlineLabels.get(minute);
+        if (label == null) {
+            label = context.getString(R.string.deadline_label, dateTime(dueAt));
+            deadlineLabels.put(minute, label);
+        }
+        return label;
+    }
+
+    /** Capitalized {@code EEE, d MMM}. */
+    @NonNull
+    public String dayTitle(@NonNull LocalDate date) {
+        ensureCurrent();
+        long day = date.toEpochDay();
+        String label = dayTitles.get(day);
+        if (label == null) {
+            String text = dayTitleFormatter.format(date);
+            label = text.isEmpty() ? text : text.substring(0, 1).toUpperCase(locale) + text.substring(1);
+            dayTitles.put(day, label);
+        }
+        return label;
+    }
+
+    public boolean isOverdue(long dueAt) {
+        return dueAt < System.currentTimeMillis();
+    }
+
+    /** Epoch millis of the current day's start in the device time zone. */
+    public long startOfToday() {
+        ensureCurrent();
+        return startOfToday;
+    }
+
+    private void ensureCurrent() {
+        if (!locale.equals(Locale.getDefault())) {
+            invalidate();
+        } else if (System.currentTimeMillis() >= startOfTomorrow) {
+            computeDayBounds();
+        }
+    }
+
+    private void invalidate() {
+        locale = Locale.getDefault();
+        zoneId = ZoneId.systemDefault();
+        dateTimeFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm", locale).withZone(zoneId);
+        timeFormatter = DateTimeFormatter.ofPattern("HH:mm", locale).withZone(zoneId);
+        dayTitleFormatter = DateTimeFormatter.ofPattern("EEE, d MMM", locale);
+        dateTimes.clear();
+        times.clear();
+        createdLabels.clear();
+        deadlineLabels.clear();
+        dayTitles.clear();
+        computeDayBounds();
+    }
+
+    private void computeDayBounds() {
+        LocalDate today = LocalDate.now(zoneId);
+        startOfToday = today.atStartOfDay(zoneId).toInstant().toEpochMilli();
+        startOfTomorrow = today.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+    }
+}
@@ -1,16 +1,33 @@
 package com.example.task_manager.ui.common;
 
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
-import androidx.lifecycle.ViewModel;
+import androidx.room.InvalidationTracker;
+
+import com.example.task_manager.core.PrefixMatcher;
+import com.example.task_manager.core.SearchQuery;
+import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.DbExecutors;
+import com.example.task_manager.data.FtsQuery;
+import com.example.task_manager.data.SearchHit;
+import com.example.task_manager.data.TaskDao;
+import com.example.task_manager.data.TaskQuery;
 
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
-public class UiStateViewModel extends ViewModel {
+public class UiStateViewModel extends AndroidViewModel {
 
     public static final String MODE_WEEK = "WEEK";
     public static final String MODE_DAY = "DAY";
@@ -18,11 +35,13 @@ public class UiStateViewModel extends ViewModel {
     public static final String GROUP_MODE_GROUP = "GROUP";
     public static final String GROUP_MODE_DEADLINES = "DEADLINES";
 
+    /** Quiet period after the last keystroke, or the last write to the searched tables, before the search runs. */
+    private static final long SEARCH_DEBOUNCE_MS = 250;
+
     private final MutableLiveData<Long> selectedGroupId = new MutableLiveData<>();
     private final MutableLiveData<String> selectedGroupMode = new MutableLiveData<>();
     private final MutableLiveData<String> searchQuery = new MutableLiveData<>();
-    private final MutableLiveData<String> searchTextQuery = new MutableLiveData<>();
-    private final MutableLiveData<List<String>> searchTagNames = new MutableLiveData<>();
+    private final MutableLiveData<SearchState> searchState = new MutableLiveData<>();
     private final MutableLiveData<String> calendarMode = new MutableLiveData<>();
     private final MutableLiveData<Integer> weekOffset = new MutableLiveData<>();
     private final MutableLiveData<Integer> dayOffset = new MutableLiveData<>();
@@ -35,10 +54,33 @@ public class UiStateViewModel extends ViewModel {
     private boolean dayOffsetInitialized;
     private boolean selectedDayStartInitialized;
 
-    public UiStateViewModel() {
+    private final AppDatabase db;
+    private final TaskDao taskDao;
+    private final Executor readExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable debouncedSearch = this::runSearch;
+    private final InvalidationTracker.Observer searchTablesObserver = new InvalidationTracker.Observer("tasks", "subtasks") {
+        @Override
+        public void onInvalidated(@NonNull Set<String> tables) {
+            mainHandler.post(UiStateViewModel.this::onSearchTablesChanged);
+        }
+    };
+    private String pendingSearchQuery = "";
+    private boolean searchScheduled;
+    private volatile int searchGeneration;
+    @Nullable
+    private SearchHits lastHits;
+    /** Bumped on every write to the searched tables, so hits read before it are not cached. */
+    private int hitsEpoch;
+
+    public UiStateViewModel(@NonNull Application application) {
+        super(application);
+        db = AppDatabase.getInstance(application);
+        taskDao = db.taskDao();
+        readExecutor = DbExecutors.get(application).reads();
+        db.getInvalidationTracker().addObserver(searchTablesObserver);
         searchQuery.setValue("");
-        searchTextQuery.setValue("");
-        searchTagNames.setValue(new ArrayList<>());
+        searchState.setValue(SearchState.EMPTY);
         calendarMode.setValue(MODE_WEEK);
         weekOffset.setValue(0);
         dayOffset.setValue(0);
@@ -77,25 +119,96 @@ public class UiStateViewModel extends ViewModel {
         return searchQuery;
     }
 
+    /**
+     * Stores the raw query at once and runs the search after {@link #SEARCH_DEBOUNCE_MS} without further input; see
+     * {@link #getSearchState()}. Clearing the query takes effect immediately.
+     */
     public void setSearchQuery(@Nullable String query) {
         searchQueryInitialized = true;
         String normalized = query == null ? "" : query.trim();
-        SearchQueryParts parts = parseSearchQuery(normalized);
-        searchTextQuery.setValue(parts.textQuery);
-        searchTagNames.setValue(parts.tagNames);
         searchQuery.setValue(normalized);
+        pendingSearchQuery = normalized;
+        mainHandler.removeCallbacks(debouncedSearch);
+        if (normalized.isEmpty()) {
+            runSearch();
+        } else {
+            searchScheduled = true;
+            mainHandler.postDelayed(debouncedSearch, SEARCH_DEBOUNCE_MS);
+        }
+    }
+
+    /** Runs a debounced search right away, e.g. when the query is submitted. */
+    public void flushSearchQuery() {
+        if (searchScheduled) {
+            mainHandler.removeCallbacks(debouncedSearch);
+            runSearch();
+        }
     }
 
     public boolean isSearchQueryInitialized() {
         return searchQueryInitialized;
     }
 
-    public MutableLiveData<String> getSearchTextQuery() {
-        return searchTextQuery;
+    /** The settled search; changes only after debouncing and once the matching tasks are known. */
+    public LiveData<SearchState> getSearchState() {
+        return searchState;
     }
 
-    public MutableLiveData<List<String>> getSearchTagNames() {
-        return searchTagNames;
+    /**
+     * Resolves {@link #pendingSearchQuery} into a {@link SearchState} on the read executor. A query refining the last
+     * one filters its hits in memory; otherwise the hits are read, at most {@link TaskQuery#MAX_MATCHED_IDS} + 1 of
+     * them, and a query with more is left to FTS in SQL and not cached. A result superseded in the meantime is
+     * dropped, or never computed if it was still queued; one computed before a write is shown but not cached.
+     */
+    private void runSearch() {
+        searchScheduled = false;
+        int generation = ++searchGeneration;
+        int epoch = hitsEpoch;
+        String query = pendingSearchQuery;
+        SearchQuery parsed = SearchQuery.parse(query);
+        List<String> tokens = PrefixMatcher.tokenize(parsed.getText());
+        if (tokens.isEmpty()) {
+            searchState.setValue(new SearchState(query, parsed, null, null));
+            return;
+        }
+        String ftsQuery = FtsQuery.fromText(parsed.getText());
+        SearchHits cached = lastHits;
+        boolean refine = cached != null && (cached.tokens.equals(tokens) || PrefixMatcher.refines(cached.tokens, tokens));
+        readExecutor.execute(() -> {
+            if (generation != searchGeneration) {
+                return;
+            }
+            SearchHits hits;
+            if (refine) {
+                hits = cached.refine(tokens);
+            } else {
+                List<SearchHit> rows = taskDao.searchHitsSync(ftsQuery, TaskQuery.MAX_MATCHED_IDS + 1);
+                hits = rows.size() > TaskQuery.MAX_MATCHED_IDS ? null : SearchHits.of(tokens, rows);
+            }
+            mainHandler.post(() -> {
+                if (generation != searchGeneration) {
+                    return;
+                }
+                if (epoch == hitsEpoch) {
+                    lastHits = hits;
+                }
+                searchState.setValue(new SearchState(query, parsed, ftsQuery, hits));
+            });
+        });
+    }
+
+    /**
+     * Cached hits may no longer match after an edit; the current query, settled or still pending, is re-run once writes
+     * have been quiet for {@link #SEARCH_DEBOUNCE_MS}, so a burst of writes costs one search rather than one per write.
+     */
+    private void onSearchTablesChanged() {
+        lastHits = null;
+        hitsEpoch++;
+        if (!pendingSearchQuery.isEmpty()) {
+            searchScheduled = true;
+            mainHandler.removeCallbacks(debouncedSearch);
+            mainHandler.postDelayed(debouncedSearch, SEARCH_DEBOUNCE_MS);
+        }
     }
 
     public MutableLiveData<String> getCalendarMode() {
@@ -150,49 +263,128 @@ public class UiStateViewModel extends ViewModel {
         return selectedDayStartInitialized;
     }
 
-    private SearchQueryParts parseSearchQuery(String query) {
-        String normalized = query == null ? "" : query.trim();
-        if (normalized.isEmpty()) {
-            return new SearchQueryParts("", new ArrayList<>());
-        }
-        String[] tokens = normalized.split("\\s+");
-        List<String> textTokens = new ArrayList<>();
-        Set<String> tags = new LinkedHashSet<>();
-        for (String token : tokens) {
-            if (token.startsWith("#")) {
-                String tag = token.substring(1).trim().toLowerCase(Locale.ROOT);
-                if (!tag.isEmpty()) {
-                    tags.add(tag);
-                }
+    @Override
+    protected void onCleared() {
+        db.getInvalidationTracker().removeObserver(searchTablesObserver);
+        mainHandler.removeCallbacksAndMessages(null);
+    }
+
+    /** Settled search input and, for a text search, the undone tasks that match it. */
+    public static final class SearchState {
+
+        static final SearchState EMPTY = new SearchState("", SearchQuery.parse(""), null, null);
+
+        @NonNull
+        public final String query;
+        @NonNull
+        public final String text;
+        @NonNull
+        public final List<String> tagNames;
+        /** FTS expression of {@link #text}; {@code null} when there is no text to match. */
+        @Nullable
+        public final String ftsQuery;
+        /** Matching task ids, or {@code null} to filter by {@link #ftsQuery} in SQL above {@link TaskQuery#MAX_MATCHED_IDS}. */
+        @Nullable
+        public final List<Long> matchedIds;
+        @NonNull
+        public final List<Long> titleMatchedIds;
+
+        SearchState(@NonNull String query, @NonNull SearchQuery parsed, @Nullable String ftsQuery, @Nullable SearchHits hits) {
+            this.query = query;
+            this.text = parsed.getText();
+            this.tagNames = parsed.getTagNames();
+            this.ftsQuery = ftsQuery;
+            if (hits != null) {
+                this.matchedIds = hits.taskIds;
+                this.titleMatchedIds = hits.titleTaskIds;
             } else {
-                textTokens.add(token);
+                this.matchedIds = null;
+                this.titleMatchedIds = Collections.emptyList();
             }
         }
-        String textQuery = buildTextQuery(textTokens);
-        return new SearchQueryParts(textQuery, new ArrayList<>(tags));
+
+        public boolean hasFilters() {
+            return ftsQuery != null || !tagNames.isEmpty();
+        }
+
+        /** Whether both states select the same tasks in the same order; the raw query text is not compared. */
+        public boolean sameFilter(@Nullable SearchState other) {
+            return other != null
+                    && Objects.equals(ftsQuery, other.ftsQuery)
+                    && tagNames.equals(other.tagNames)
+                    && Objects.equals(matchedIds, other.matchedIds)
+                    && titleMatchedIds.equals(other.titleMatchedIds);
+        }
     }
 
-    private String buildTextQuery(List<String> textTokens) {
-        if (textTokens == null || textTokens.isEmpty()) {
-            return "";
+    /** Hits of one tokenized query, with their text tokenized once for later in-memory refinement. */
+    private static final class SearchHits {
+        final List<String> tokens;
+        final List<Hit> hits;
+        final List<Long> taskIds;
+        final List<Long> titleTaskIds;
+
+        private SearchHits(List<String> tokens, List<Hit> hits) {
+            this.tokens = tokens;
+            this.hits = hits;
+            this.taskIds = new ArrayList<>(hits.size());
+            this.titleTaskIds = new ArrayList<>();
+            for (Hit hit : hits) {
+                taskIds.add(hit.taskId);
+                if (PrefixMatcher.matchesAll(tokens, hit.titleWords)) {
+                    titleTaskIds.add(hit.taskId);
+                }
+            }
+        }
+
+        static SearchHits of(List<String> tokens, List<SearchHit> rows) {
+            List<Hit> hits = new ArrayList<>(rows.size());
+            for (SearchHit row : rows) {
+                hits.add(new Hit(row));
+            }
+            return new SearchHits(tokens, hits);
         }
-        StringBuilder builder = new StringBuilder();
-        for (String token : textTokens) {
-            if (builder.length() > 0) {
-                builder.append(' ');
+
+        /** Hits that still match {@code refinedTokens}, matching FTS rules: all tokens in the task or in one subtask. */
+        SearchHits refine(List<String> refinedTokens) {
+            List<Hit> kept = new ArrayList<>();
+            for (Hit hit : hits) {
+                if (hit.matches(refinedTokens)) {
+                    kept.add(hit);
+                }
             }
-            builder.append(token);
+            return new SearchHits(refinedTokens, kept);
         }
-        return builder.toString().trim();
     }
 
-    private static class SearchQueryParts {
-        final String textQuery;
-        final List<String> tagNames;
+    private static final class Hit {
+        final long taskId;
+        final List<String> titleWords;
+        final List<String> taskWords;
+        final List<List<String>> subtaskWords = new ArrayList<>();
+
+        Hit(SearchHit row) {
+            taskId = row.taskId;
+            titleWords = PrefixMatcher.tokenize(row.title);
+            taskWords = new ArrayList<>(titleWords);
+            taskWords.addAll(PrefixMatcher.tokenize(row.description));
+            if (row.subtaskTitles != null) {
+                for (String subtaskTitle : row.subtaskTitles.split(String.valueOf(SearchHit.SUBTASK_SEPARATOR))) {
+                    subtaskWords.add(PrefixMatcher.tokenize(subtaskTitle));
+                }
+            }
+        }
 
-        SearchQueryParts(String textQuery, List<String> tagNames) {
-            this.textQuery = textQuery == null ? "" : textQuery;
-            this.tagNames = tagNames == null ? new ArrayList<>() : tagNames;
+        boolean matches(List<String> tokens) {
+            if (PrefixMatcher.matchesAll(tokens, taskWords)) {
+                return true;
+            }
+            for (List<String> words : subtaskWords) {
+                if (PrefixMatcher.matchesAll(tokens, words)) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
-}
\ No newline at end of file
+}
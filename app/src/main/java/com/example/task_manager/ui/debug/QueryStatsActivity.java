@@ -0,0 +1,120 @@
+package com.example.task_manager.ui.debug;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.text.TextUtils;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.view.inputmethod.EditorInfo;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.task_manager.R;
+import com.example.task_manager.data.QueryStats;
+import com.example.task_manager.databinding.ActivityQueryStatsBinding;
+
+import java.util.List;
+import java.util.Locale;
+
+/** Hidden query and list rendering stats screen, opened by a long press on the main toolbar. */
+public class QueryStatsActivity extends AppCompatActivity {
+
+    public static Intent createIntent(Context context) {
+        return new Intent(context, QueryStatsActivity.class);
+    }
+
+    private ActivityQueryStatsBinding binding;
+    private QueryStats queryStats;
+    private RenderStats renderStats;
+
+    @Override
+    protected void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityQueryStatsBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        setSupportActionBar(binding.toolbar);
+        binding.toolbar.setNavigationOnClickListener(v -> finish());
+
+        queryStats = QueryStats.get(this);
+        binding.statsEnabledSwitch.setChecked(queryStats.isEnabled());
+        binding.statsEnabledSwitch.setOnCheckedChangeListener((button, checked) -> queryStats.setEnabled(checked));
+        renderStats = RenderStats.get(this);
+        binding.renderStatsEnabledSwitch.setChecked(renderStats.isEnabled());
+        binding.renderStatsEnabledSwitch.setOnCheckedChangeListener((button, checked) -> renderStats.setEnabled(checked));
+        binding.slowThresholdEdit.setText(String.valueOf(queryStats.getSlowThresholdMillis()));
+        binding.slowThresholdEdit.setOnEditorActionListener((v, actionId, event) -> {
+            if (actionId == EditorInfo.IME_ACTION_DONE) {
+                applyThreshold();
+            }
+            return false;
+        });
+        render();
+    }
+
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.menu_query_stats, menu);
+        return true;
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        int id = item.getItemId();
+        if (id == R.id.action_refresh_stats) {
+            render();
+            return true;
+        } else if (id == R.id.action_reset_stats) {
+            queryStats.reset();
+            renderStats.reset();
+            render();
+            return true;
+        } else if (id == R.id.action_export_stats) {
+            Intent send = new Intent(Intent.ACTION_SEND)
+                    .setType("application/json")
+                    .putExtra(Intent.EXTRA_SUBJECT, getString(R.string.query_stats_title))
+                    .putExtra(Intent.EXTRA_TEXT, queryStats.toJson());
+            startActivity(Intent.createChooser(send, getString(R.string.query_stats_export)));
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        applyThreshold();
+    }
+
+    private void applyThreshold() {
+        CharSequence text = binding.slowThresholdEdit.getText();
+        if (TextUtils.isEmpty(text)) {
+            return;
+        }
+        try {
+            queryStats.setSlowThresholdMillis(Long.parseLong(text.toString()));
+        } catch (NumberFormatException ignored) {
+            binding.slowThresholdEdit.setText(String.valueOf(queryStats.getSlowThresholdMillis()));
+        }
+    }
+
+    private void render() {
+        binding.renderStatsText.setText(renderStats.report());
+        List<QueryStats.Entry> entries = queryStats.snapshot();
+        if (entries.isEmpty()) {
+            binding.statsText.setText(queryStats.isEnabled() ? R.string.query_stats_empty : R.string.query_stats_disabled);
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        for (QueryStats.Entry entry : entries) {
+            text.append(String.format(Locale.ROOT,
+                    "%d× total %.1f ms, p50 %.2f / p95 %.2f / p99 %.2f / max %.1f ms, %d rows%n%s%n%n",
+                    entry.count, entry.totalMillis, entry.p50Millis, entry.p95Millis, entry.p99Millis,
+                    entry.maxMillis, entry.rows, entry.sql));
+        }
+        binding.statsText.setText(text);
+    }
+}
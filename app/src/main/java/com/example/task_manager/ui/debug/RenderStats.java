@@ -0,0 +1,204 @@
+package com.example.task_manager.ui.debug;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.view.Display;
+import android.view.FrameMetrics;
+import android.view.View;
+import android.view.Window;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.task_manager.TaskManagerApplication;
+import com.example.task_manager.core.LatencyWindow;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adapter create/bind durations per view type and scroll jank per list. A frame counts as janky when it takes
+ * more than twice the display's frame budget while the list is scrolling.
+ */
+public final class RenderStats {
+
+    private static final String PREFS = "render_stats_prefs";
+    private static final String PREF_ENABLED = "enabled";
+    private static final int WINDOW = 512;
+    private static final float JANK_MULTIPLIER = 2f;
+
+    private final SharedPreferences prefs;
+    private final Map<String, LatencyWindow> creates = new ConcurrentHashMap<>();
+    private final Map<String, LatencyWindow> binds = new ConcurrentHashMap<>();
+    private final Map<String, Frames> frames = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private Handler frameHandler;
+
+    public RenderStats(@NonNull Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        enabled = prefs.getBoolean(PREF_ENABLED, false);
+    }
+
+    @NonNull
+    public static RenderStats get(@NonNull Context context) {
+        return ((TaskManagerApplication) context.getApplicationContext()).getRenderStats();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Bind timing switches immediately; scroll jank is tracked for lists attached after the change. */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        prefs.edit().putBoolean(PREF_ENABLED, enabled).apply();
+    }
+
+    public void recordCreate(@NonNull String viewType, long startedAtNanos) {
+        if (enabled) {
+            window(creates, viewType).add(SystemClock.elapsedRealtimeNanos() - startedAtNanos);
+        }
+    }
+
+    public void recordBind(@NonNull String viewType, long startedAtNanos) {
+        if (enabled) {
+            window(binds, viewType).add(SystemClock.elapsedRealtimeNanos() - startedAtNanos);
+        }
+    }
+
+    /** Counts janky frames of the hosting window while {@code list} is scrolling. */
+    public void trackScrollJank(@NonNull RecyclerView list, @NonNull String name) {
+        ScrollJankListener listener = new ScrollJankListener(list, name);
+        list.addOnScrollListener(listener.scrollListener);
+        list.addOnAttachStateChangeListener(listener);
+        if (list.isAttachedToWindow()) {
+            listener.onViewAttachedToWindow(list);
+        }
+    }
+
+    public void reset() {
+        creates.clear();
+        binds.clear();
+        frames.clear();
+    }
+
+    @NonNull
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        appendTimings(out, "create", creates);
+        appendTimings(out, "bind", binds);
+        for (Map.Entry<String, Frames> entry : new TreeMap<>(frames).entrySet()) {
+            Frames list = entry.getValue();
+            LatencyWindow.Snapshot snapshot = list.durations.snapshot();
+            long total = snapshot.count;
+            long janky = list.janky.get();
+            out.append(String.format(Locale.ROOT,
+                    "scroll %s: %d frames, %d janky (%.1f%%), p50 %.2f / p95 %.2f / p99 %.2f / max %.1f ms%n",
+                    entry.getKey(), total, janky, total == 0 ? 0 : janky * 100.0 / total,
+                    snapshot.p50Millis, snapshot.p95Millis, snapshot.p99Millis, snapshot.maxMillis));
+        }
+        return out.toString();
+    }
+
+    private static void appendTimings(StringBuilder out, String kind, Map<String, LatencyWindow> timings) {
+        for (Map.Entry<String, LatencyWindow> entry : new TreeMap<>(timings).entrySet()) {
+            LatencyWindow.Snapshot snapshot = entry.getValue().snapshot();
+            out.append(String.format(Locale.ROOT,
+                    "%s %s: %d×, p50 %.2f / p95 %.2f / p99 %.2f / max %.1f ms%n",
+                    kind, entry.getKey(), snapshot.count,
+                    snapshot.p50Millis, snapshot.p95Millis, snapshot.p99Millis, snapshot.maxMillis));
+        }
+    }
+
+    private static LatencyWindow window(Map<String, LatencyWindow> map, String key) {
+        LatencyWindow window = map.get(key);
+        return window != null ? window : map.computeIfAbsent(key, k -> new LatencyWindow(WINDOW));
+    }
+
+    private synchronized Handler frameHandler() {
+        if (frameHandler == null) {
+            HandlerThread thread = new HandlerThread("render-stats");
+            thread.start();
+            frameHandler = new Handler(thread.getLooper());
+        }
+        return frameHandler;
+    }
+
+    @Nullable
+    private static Activity findActivity(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+
+    private static final class Frames {
+        final LatencyWindow durations = new LatencyWindow(WINDOW);
+        final AtomicLong janky = new AtomicLong();
+    }
+
+    private final class ScrollJankListener implements View.OnAttachStateChangeListener {
+
+        private final String name;
+        private volatile boolean scrolling;
+        private Window window;
+        private Window.OnFrameMetricsAvailableListener frameListener;
+
+        final RecyclerView.OnScrollListener scrollListener = new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                scrolling = newState != RecyclerView.SCROLL_STATE_IDLE;
+            }
+        };
+
+        ScrollJankListener(RecyclerView list, String name) {
+            this.name = name;
+            this.scrolling = list.getScrollState() != RecyclerView.SCROLL_STATE_IDLE;
+        }
+
+        @Override
+        public void onViewAttachedToWindow(@NonNull View view) {
+            Activity activity = findActivity(view.getContext());
+            if (!enabled || activity == null || frameListener != null) {
+                return;
+            }
+            Display display = view.getDisplay();
+            float refreshRate = display == null || display.getRefreshRate() <= 0 ? 60f : display.getRefreshRate();
+            long jankNanos = (long) (JANK_MULTIPLIER * 1_000_000_000L / refreshRate);
+            frameListener = (w, metrics, dropped) -> {
+                if (!scrolling || !enabled) {
+                    return;
+                }
+                long duration = metrics.getMetric(FrameMetrics.TOTAL_DURATION);
+                Frames list = frames.computeIfAbsent(name, k -> new Frames());
+                list.durations.add(duration);
+                if (duration > jankNanos) {
+                    list.janky.incrementAndGet();
+                }
+            };
+            window = activity.getWindow();
+            window.addOnFrameMetricsAvailableListener(frameListener, frameHandler());
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(@NonNull View view) {
+            if (frameListener != null) {
+                window.removeOnFrameMetricsAvailableListener(frameListener);
+                frameListener = null;
+                window = null;
+            }
+        }
+    }
+}
@@ -14,12 +14,13 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.task_manager.R;
 import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.DbExecutors;
+import com.example.task_manager.data.DictionaryRepository;
 import com.example.task_manager.data.GroupDao;
 import com.example.task_manager.data.GroupEntity;
 import com.example.task_manager.data.TaskDao;
 import com.example.task_manager.databinding.ActivityGroupsBinding;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 public class GroupsActivity extends AppCompatActivity {
 
@@ -30,7 +31,7 @@ public class GroupsActivity extends AppCompatActivity {
     private ActivityGroupsBinding binding;
     private GroupDao groupDao;
     private TaskDao taskDao;
-    private ExecutorService ioExecutor;
+    private Executor ioExecutor;
     private GroupsAdapter adapter;
 
     @Override
@@ -48,7 +49,7 @@ public class GroupsActivity extends AppCompatActivity {
         AppDatabase db = AppDatabase.getInstance(this);
         groupDao = db.groupDao();
         taskDao = db.taskDao();
-        ioExecutor = Executors.newSingleThreadExecutor();
+        ioExecutor = DbExecutors.get(this).writes();
 
         setupRecyclerView();
         observeGroups();
@@ -62,7 +63,7 @@ public class GroupsActivity extends AppCompatActivity {
     }
 
     private void observeGroups() {
-        groupDao.observeAllOrdered().observe(this, groups -> {
+        DictionaryRepository.get(this).getGroups().observe(this, groups -> {
             adapter.submitList(groups);
             boolean isEmpty = groups == null || groups.isEmpty();
             binding.emptyState.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
@@ -120,12 +121,4 @@ public class GroupsActivity extends AppCompatActivity {
                 .setNegativeButton(R.string.cancel, null)
                 .show();
     }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (ioExecutor != null && !ioExecutor.isShutdown()) {
-            ioExecutor.shutdown();
-        }
-    }
 }
\ No newline at end of file
@@ -27,32 +27,40 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.task_manager.R;
 import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.DbExecutors;
+import com.example.task_manager.data.DictionaryRepository;
 import com.example.task_manager.data.SubtaskDao;
 import com.example.task_manager.data.SubtaskEntity;
 import com.example.task_manager.data.TaskDao;
 import com.example.task_manager.data.TaskEntity;
-import com.example.task_manager.data.TagDao;
 import com.example.task_manager.data.TagEntity;
 import com.example.task_manager.data.TaskTagDao;
 import com.example.task_manager.databinding.ActivityTaskDetailBinding;
+import com.example.task_manager.ui.common.DateLabels;
 import com.example.task_manager.ui.tasks.SubtaskMiniAdapter;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.checkbox.MaterialCheckBox;
 import com.google.android.material.color.MaterialColors;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 public class TaskDetailActivity extends AppCompatActivity {
 
     private static final String EXTRA_TASK_ID = "task_id";
+    /** Rules offered by the repeat dialog, in the order of {@link #RECURRENCE_LABELS}; null does not repeat. */
+    private static final String[] RECURRENCE_RULES = {
+            null, "FREQ=DAILY", "FREQ=WEEKLY", "FREQ=WEEKLY;INTERVAL=2", "FREQ=MONTHLY"
+    };
+    private static final int[] RECURRENCE_LABELS = {
+            R.string.recurrence_none, R.string.recurrence_daily, R.string.recurrence_weekly,
+            R.string.recurrence_biweekly, R.string.recurrence_monthly
+    };
 
     public static Intent createIntent(Context context, long taskId) {
         Intent intent = new Intent(context, TaskDetailActivity.class);
@@ -63,14 +71,15 @@ public class TaskDetailActivity extends AppCompatActivity {
     private ActivityTaskDetailBinding binding;
     private TaskDao taskDao;
     private SubtaskDao subtaskDao;
-    private TagDao tagDao;
+    private DictionaryRepository dictionary;
     private TaskTagDao taskTagDao;
-    private ExecutorService ioExecutor;
+    private Executor ioExecutor;
     private long taskId;
     @Nullable
     private Long selectedDueAt;
+    @Nullable
+    private String selectedRecurrence;
     private TaskEntity currentTask;
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy HH:mm", Locale.getDefault());
     private SubtaskMiniAdapter subtaskAdapter;
     private List<TagEntity> allTags = new ArrayList<>();
     private List<TagEntity> currentTags = new ArrayList<>();
@@ -96,9 +105,9 @@ public class TaskDetailActivity extends AppCompatActivity {
 
         taskDao = AppDatabase.getInstance(this).taskDao();
         subtaskDao = AppDatabase.getInstance(this).subtaskDao();
-        tagDao = AppDatabase.getInstance(this).tagDao();
+        dictionary = DictionaryRepository.get(this);
         taskTagDao = AppDatabase.getInstance(this).taskTagDao();
-        ioExecutor = Executors.newSingleThreadExecutor();
+        ioExecutor = DbExecutors.get(this).writes();
 
         setupDeadlineButtons();
         setupSubtasks();
@@ -114,6 +123,41 @@ public class TaskDetailActivity extends AppCompatActivity {
             selectedDueAt = null;
             updateDeadlineChip(binding.deadlineChip, null);
         });
+        binding.recurrenceButton.setOnClickListener(v -> showRecurrenceDialog());
+    }
+
+    private void showRecurrenceDialog() {
+        String[] labels = new String[RECURRENCE_LABELS.length];
+        int checked = -1;
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = getString(RECURRENCE_LABELS[i]);
+            if (Objects.equals(RECURRENCE_RULES[i], selectedRecurrence)) {
+                checked = i;
+            }
+        }
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.recurrence_title)
+                .setSingleChoiceItems(labels, checked, (dialog, which) -> {
+                    selectedRecurrence = RECURRENCE_RULES[which];
+                    updateRecurrenceButton();
+                    dialog.dismiss();
+                })
+                .setNegativeButton(R.string.cancel, null)
+                .show();
+    }
+
+    private void updateRecurrenceButton() {
+        if (selectedRecurrence == null) {
+            binding.recurrenceButton.setText(R.string.recurrence_none);
+            return;
+        }
+        int label = R.string.recurrence_custom;
+        for (int i = 0; i < RECURRENCE_RULES.length; i++) {
+            if (selectedRecurrence.equals(RECURRENCE_RULES[i])) {
+                label = RECURRENCE_LABELS[i];
+            }
+        }
+        binding.recurrenceButton.setText(getString(R.string.recurrence_prefix, getString(label)));
     }
 
     private void setupSubtasks() {
@@ -134,7 +178,7 @@ public class TaskDetailActivity extends AppCompatActivity {
 
     private void setupTags() {
         binding.editTagsButton.setOnClickListener(v -> showTagsDialog());
-        tagDao.observeAllOrdered().observe(this, tags -> {
+        dictionary.getTags().observe(this, tags -> {
             allTags = tags == null ? new ArrayList<>() : new ArrayList<>(tags);
             updateTagChips();
         });
@@ -178,7 +222,6 @@ public class TaskDetailActivity extends AppCompatActivity {
         });
     }
 
-
     private void showAddSubtaskDialog() {
         View dialogView = getLayoutInflater().inflate(R.layout.dialog_subtask, null, false);
         EditText input = dialogView.findViewById(R.id.input_subtask_title);
@@ -273,13 +316,7 @@ public class TaskDetailActivity extends AppCompatActivity {
                 return;
             }
             ioExecutor.execute(() -> {
-                TagEntity existing = tagDao.findByNameSync(name);
-                TagEntity resolved = existing;
-                if (resolved == null) {
-                    tagDao.insert(new TagEntity(name));
-                    resolved = tagDao.findByNameSync(name);
-                }
-                TagEntity finalResolved = resolved;
+                TagEntity finalResolved = dictionary.resolveOrCreateTag(name);
                 runOnUiThread(() -> {
                     input.setText("");
                     if (finalResolved != null) {
@@ -319,6 +356,8 @@ public class TaskDetailActivity extends AppCompatActivity {
             binding.descriptionEdit.setText(task.getDescription());
             selectedDueAt = task.getDueAt();
             updateDeadlineChip(binding.deadlineChip, selectedDueAt);
+            selectedRecurrence = task.recurrence;
+            updateRecurrenceButton();
         });
     }
 
@@ -369,8 +408,9 @@ public class TaskDetailActivity extends AppCompatActivity {
             chip.setText(R.string.deadline_not_set);
             return;
         }
-        String formatted = dateFormat.format(dueAt);
-        boolean overdue = dueAt < System.currentTimeMillis();
+        DateLabels dateLabels = DateLabels.get(this);
+        String formatted = dateLabels.dateTime(dueAt);
+        boolean overdue = dateLabels.isOverdue(dueAt);
         int containerColor = MaterialColors.getColor(chip,
                 overdue ? com.google.android.material.R.attr.colorErrorContainer : com.google.android.material.R.attr.colorSecondaryContainer);
         int onContainerColor = MaterialColors.getColor(chip,
@@ -412,16 +452,10 @@ public class TaskDetailActivity extends AppCompatActivity {
         currentTask.setTitle(title);
         currentTask.setDescription(description);
         currentTask.setDueAt(selectedDueAt);
+        // Occurrences are counted from the deadline, so a series needs one.
+        currentTask.recurrence = selectedDueAt == null ? null : selectedRecurrence;
         ioExecutor.execute(() -> taskDao.update(currentTask));
         Toast.makeText(this, R.string.save_task, Toast.LENGTH_SHORT).show();
         finish();
     }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (ioExecutor != null && !ioExecutor.isShutdown()) {
-            ioExecutor.shutdown();
-        }
-    }
 }
\ No newline at end of file
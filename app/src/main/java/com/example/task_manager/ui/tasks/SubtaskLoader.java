@@ -0,0 +1,96 @@
+package com.example.task_manager.ui.tasks;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.task_manager.core.LongLruCache;
+import com.example.task_manager.data.SubtaskDao;
+import com.example.task_manager.data.SubtaskEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Subtasks of expanded rows, observed through {@link SubtaskDao#observeByTaskId} only while a holder shows them.
+ * The last lists of recently expanded tasks stay in an LRU cache, so expanding one of them again binds at once
+ * while the observation restarts. Collapsed and recycled rows hold no subtasks. Main thread only.
+ */
+final class SubtaskLoader {
+
+    private static final int CAPACITY = 32;
+
+    private final SubtaskDao subtaskDao;
+    private final LongLruCache<List<SubtaskEntity>> cache = new LongLruCache<>(CAPACITY);
+    private final Map<Long, Subscription> subscriptions = new HashMap<>();
+
+    SubtaskLoader(SubtaskDao subtaskDao) {
+        this.subtaskDao = subtaskDao;
+    }
+
+    /** Shows the subtasks of {@code taskId} in {@code holder}, keeping them current until {@link #detach}. */
+    void attach(TaskViewHolder holder, long taskId) {
+        if (holder.subtasksTaskId == taskId) {
+            return;
+        }
+        detach(holder);
+        holder.subtasksTaskId = taskId;
+        List<SubtaskEntity> cached = cache.get(taskId);
+        holder.bindSubtasks(cached != null ? cached : Collections.emptyList());
+        Subscription subscription = subscriptions.get(taskId);
+        if (subscription == null) {
+            subscription = new Subscription(taskId);
+            subscriptions.put(taskId, subscription);
+            subscription.liveData.observeForever(subscription);
+        }
+        subscription.holders.add(holder);
+    }
+
+    /** Clears the holder's subtasks and stops observing its task once no other holder shows it. */
+    void detach(TaskViewHolder holder) {
+        long taskId = holder.subtasksTaskId;
+        if (taskId == RecyclerView.NO_ID) {
+            return;
+        }
+        holder.subtasksTaskId = RecyclerView.NO_ID;
+        holder.bindSubtasks(Collections.emptyList());
+        Subscription subscription = subscriptions.get(taskId);
+        if (subscription != null && subscription.holders.remove(holder) && subscription.holders.isEmpty()) {
+            subscription.liveData.removeObserver(subscription);
+            subscriptions.remove(taskId);
+        }
+    }
+
+    /** Stops all observations; called when the list goes away. The cache is kept for the next attach. */
+    void release() {
+        for (Subscription subscription : subscriptions.values()) {
+            subscription.liveData.removeObserver(subscription);
+            for (TaskViewHolder holder : subscription.holders) {
+                holder.subtasksTaskId = RecyclerView.NO_ID;
+            }
+        }
+        subscriptions.clear();
+    }
+
+    private final class Subscription implements Observer<List<SubtaskEntity>> {
+        final long taskId;
+        final LiveData<List<SubtaskEntity>> liveData;
+        final List<TaskViewHolder> holders = new ArrayList<>(1);
+
+        Subscription(long taskId) {
+            this.taskId = taskId;
+            this.liveData = subtaskDao.observeByTaskId(taskId);
+        }
+
+        @Override
+        public void onChanged(List<SubtaskEntity> value) {
+            cache.put(taskId, value);
+            for (TaskViewHolder holder : holders) {
+                holder.bindSubtasks(value);
+            }
+        }
+    }
+}
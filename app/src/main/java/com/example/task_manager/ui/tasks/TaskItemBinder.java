@@ -0,0 +1,312 @@
+package com.example.task_manager.ui.tasks;
+
+import android.app.AlertDialog;
+import android.content.Context;
+import android.graphics.Color;
+import android.os.SystemClock;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.task_manager.R;
+import com.example.task_manager.data.SubtaskDao;
+import com.example.task_manager.data.SubtaskEntity;
+import com.example.task_manager.data.TaskDao;
+import com.example.task_manager.data.TaskEntity;
+import com.example.task_manager.data.TaskListRow;
+import com.example.task_manager.ui.common.DateLabels;
+import com.example.task_manager.ui.debug.RenderStats;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.color.MaterialColors;
+
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+class TaskItemBinder {
+
+    interface OnTaskLongClickListener {
+        void onTaskLongClick(TaskEntity task);
+    }
+
+    interface OnTaskClickListener {
+        void onTaskClick(TaskEntity task);
+    }
+
+    static final Object PAYLOAD_SELECTION = new Object();
+    private static final String VIEW_TYPE = "task";
+    private static final String VIEW_TYPE_PARTIAL = "task.partial";
+
+    private final RecyclerView.Adapter<?> adapter;
+    private final TaskDao taskDao;
+    private final SubtaskDao subtaskDao;
+    private final Executor ioExecutor;
+    private final SubtaskLoader subtaskLoader;
+    private final OnTaskLongClickListener longClickListener;
+    private final OnTaskClickListener clickListener;
+    private final Set<Long> expandedTaskIds = new HashSet<>();
+    private final Set<Long> selectedTaskIds = new HashSet<>();
+    private boolean showGroupName;
+    private RenderStats renderStats;
+    private DateLabels dateLabels;
+
+    TaskItemBinder(RecyclerView.Adapter<?> adapter,
+                   TaskDao taskDao,
+                   SubtaskDao subtaskDao,
+                   Executor ioExecutor,
+                   OnTaskLongClickListener longClickListener,
+                   OnTaskClickListener clickListener) {
+        this.adapter = adapter;
+        this.taskDao = taskDao;
+        this.subtaskDao = subtaskDao;
+        this.ioExecutor = ioExecutor;
+        this.subtaskLoader = new SubtaskLoader(subtaskDao);
+        this.longClickListener = longClickListener;
+        this.clickListener = clickListener;
+    }
+
+    boolean setShowGroupName(boolean showGroupName) {
+        if (this.showGroupName == showGroupName) {
+            return false;
+        }
+        this.showGroupName = showGroupName;
+        return true;
+    }
+
+    boolean toggleSelection(long taskId) {
+        if (!selectedTaskIds.remove(taskId)) {
+            selectedTaskIds.add(taskId);
+        }
+        adapter.notifyItemRangeChanged(0, adapter.getItemCount(), PAYLOAD_SELECTION);
+        return selectedTaskIds.contains(taskId);
+    }
+
+    Set<Long> getSelectedTaskIds() {
+        return new HashSet<>(selectedTaskIds);
+    }
+
+    void clearSelection() {
+        if (selectedTaskIds.isEmpty()) {
+            return;
+        }
+        selectedTaskIds.clear();
+        adapter.notifyItemRangeChanged(0, adapter.getItemCount(), PAYLOAD_SELECTION);
+    }
+
+    TaskViewHolder createViewHolder(@NonNull ViewGroup parent) {
+        long startedAt = SystemClock.elapsedRealtimeNanos();
+        if (renderStats == null) {
+            renderStats = RenderStats.get(parent.getContext());
+            dateLabels = DateLabels.get(parent.getContext());
+        }
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_task, parent, false);
+        SubtaskMiniAdapter subtaskMiniAdapter = new SubtaskMiniAdapter(subtask -> {
+            subtask.done = !subtask.done;
+            subtask.updatedAt = System.currentTimeMillis();
+            ioExecutor.execute(() -> subtaskDao.update(subtask));
+        }, subtask -> {
+            new AlertDialog.Builder(view.getContext())
+                    .setMessage(R.string.delete_subtask_prompt)
+                    .setPositiveButton(R.string.delete, (dialog, which) -> ioExecutor.execute(() -> subtaskDao.delete(subtask)))
+                    .setNegativeButton(R.string.cancel, null)
+                    .show();
+        });
+        TaskViewHolder holder = new TaskViewHolder(view, subtaskMiniAdapter);
+        renderStats.recordCreate(VIEW_TYPE, startedAt);
+        return holder;
+    }
+
+    void bind(@NonNull TaskViewHolder holder, TaskListRow row) {
+        long startedAt = SystemClock.elapsedRealtimeNanos();
+        bindFull(holder, row);
+        renderStats.recordBind(VIEW_TYPE, startedAt);
+    }
+
+    private void bindFull(@NonNull TaskViewHolder holder, TaskListRow row) {
+        TaskEntity task = row.task;
+        holder.title.setText(task.getTitle());
+        holder.pinnedIcon.setVisibility(task.isPinned() ? View.VISIBLE : View.GONE);
+        bindDone(holder, task);
+        bindSelection(holder, task);
+        Long dueAt = task.getDueAt();
+        holder.createdText.setText(dateLabels.createdLabel(task.getCreatedAt()));
+        holder.createdText.setTextColor(MaterialColors.getColor(holder.createdText, com.google.android.material.R.attr.colorOnSurfaceVariant));
+        if (dueAt != null) {
+            boolean overdue = dateLabels.isOverdue(dueAt);
+            int deadlineColor = MaterialColors.getColor(
+                    holder.deadlineText,
+                    overdue ? android.R.attr.colorError : com.google.android.material.R.attr.colorOnSurfaceVariant
+            );
+            holder.deadlineText.setText(dateLabels.deadlineLabel(dueAt));
+            holder.deadlineText.setTextColor(deadlineColor);
+        } else {
+            holder.deadlineText.setText(R.string.no_deadline_label);
+            holder.deadlineText.setTextColor(MaterialColors.getColor(holder.deadlineText, com.google.android.material.R.attr.colorOnSurfaceVariant));
+        }
+
+        if (showGroupName) {
+            String groupName = row.groupName != null
+                    ? row.groupName
+                    : holder.itemView.getContext().getString(R.string.group_ungrouped);
+            holder.groupText.setText(groupName);
+            holder.groupText.setVisibility(View.VISIBLE);
+        } else {
+            holder.groupText.setVisibility(View.GONE);
+        }
+
+        holder.itemView.setOnClickListener(v -> {
+            if (clickListener != null) {
+                clickListener.onTaskClick(task);
+            }
+        });
+
+        holder.itemView.setOnLongClickListener(v -> {
+            if (longClickListener != null) {
+                longClickListener.onTaskLongClick(task);
+            }
+            return true;
+        });
+
+        boolean expanded = expandedTaskIds.contains(task.getId());
+        holder.subtasksContainer.setVisibility(expanded ? View.VISIBLE : View.GONE);
+        holder.expandButton.setRotation(expanded ? 180f : 0f);
+        holder.expandButton.setVisibility(View.VISIBLE);
+
+        holder.expandButton.setOnClickListener(v -> {
+            if (expanded) {
+                expandedTaskIds.remove(task.getId());
+            } else {
+                expandedTaskIds.add(task.getId());
+            }
+            adapter.notifyItemChanged(holder.getAdapterPosition());
+        });
+
+        bindSubtaskProgress(holder, row);
+        if (expanded) {
+            subtaskLoader.attach(holder, task.getId());
+        } else {
+            subtaskLoader.detach(holder);
+        }
+        holder.addSubtaskButton.setOnClickListener(v -> showAddSubtaskDialog(v.getContext(), task));
+        bindTags(holder, row);
+    }
+
+    void recycle(@NonNull TaskViewHolder holder) {
+        subtaskLoader.detach(holder);
+    }
+
+    void release() {
+        subtaskLoader.release();
+    }
+
+    void bind(@NonNull TaskViewHolder holder, TaskListRow row, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            bind(holder, row);
+            return;
+        }
+        for (Object payload : payloads) {
+            if (payload != TaskItemCallback.PAYLOAD_DONE && payload != PAYLOAD_SELECTION) {
+                bind(holder, row);
+                return;
+            }
+        }
+        long startedAt = SystemClock.elapsedRealtimeNanos();
+        if (payloads.contains(TaskItemCallback.PAYLOAD_DONE)) {
+            bindDone(holder, row.task);
+        }
+        bindSelection(holder, row.task);
+        renderStats.recordBind(VIEW_TYPE_PARTIAL, startedAt);
+    }
+
+    private void bindSelection(TaskViewHolder holder, TaskEntity task) {
+        if (selectedTaskIds.contains(task.getId())) {
+            holder.itemView.setBackgroundColor(MaterialColors.getColor(holder.itemView, com.google.android.material.R.attr.colorSecondaryContainer));
+        } else {
+            holder.itemView.setBackgroundColor(Color.TRANSPARENT);
+        }
+    }
+
+    private void bindDone(TaskViewHolder holder, TaskEntity task) {
+        holder.checkBox.setOnCheckedChangeListener(null);
+        holder.checkBox.setChecked(task.isDone());
+        holder.checkBox.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            if (isChecked && task.recurrence != null && task.getDueAt() != null) {
+                long occurrenceAt = task.getDueAt();
+                ioExecutor.execute(() -> taskDao.completeOccurrence(task.getId(), occurrenceAt, ZoneId.systemDefault()));
+                return;
+            }
+            task.setDone(isChecked);
+            ioExecutor.execute(() -> taskDao.update(task));
+        });
+    }
+
+    private void bindSubtaskProgress(TaskViewHolder holder, TaskListRow row) {
+        TaskEntity task = row.task;
+        if (task.subtaskTotal == 0) {
+            holder.subtaskProgressText.setVisibility(View.GONE);
+            return;
+        }
+        holder.subtaskProgressText.setText(holder.itemView.getContext()
+                .getString(R.string.subtask_progress, task.subtaskDone, task.subtaskTotal));
+        holder.subtaskProgressText.setVisibility(View.VISIBLE);
+    }
+
+    /** At most two chips: both tag names, or the first one and a "+n" summary of the rest. */
+    private void bindTags(TaskViewHolder holder, TaskListRow row) {
+        holder.tagsGroup.removeAllViews();
+        if (row.task.tagCount == 0 || row.firstTagName == null) {
+            holder.tagsGroup.setVisibility(View.GONE);
+            return;
+        }
+        holder.tagsGroup.setVisibility(View.VISIBLE);
+        Context context = holder.itemView.getContext();
+        holder.tagsGroup.addView(createTagChip(context, row.firstTagName, false));
+        int tagCount = row.task.tagCount;
+        if (tagCount > 2) {
+            holder.tagsGroup.addView(createTagChip(context, "+" + (tagCount - 1), true));
+        } else if (row.secondTagName != null) {
+            holder.tagsGroup.addView(createTagChip(context, row.secondTagName, false));
+        }
+    }
+
+    private Chip createTagChip(Context context, String text, boolean isSummary) {
+        Chip chip = new Chip(context, null, com.google.android.material.R.attr.chipStyle);
+        chip.setText(text);
+        chip.setClickable(false);
+        chip.setCheckable(false);
+        chip.setEnsureMinTouchTargetSize(false);
+        chip.setChipMinHeight(0f);
+        int containerColor = MaterialColors.getColor(chip, com.google.android.material.R.attr.colorSurfaceVariant);
+        int onContainerColor = MaterialColors.getColor(chip, com.google.android.material.R.attr.colorOnSurfaceVariant);
+        chip.setChipBackgroundColor(android.content.res.ColorStateList.valueOf(containerColor));
+        chip.setTextColor(onContainerColor);
+        chip.setTextAppearanceResource(com.google.android.material.R.style.TextAppearance_Material3_LabelSmall);
+        return chip;
+    }
+
+    private void showAddSubtaskDialog(Context context, TaskEntity task) {
+        View dialogView = LayoutInflater.from(context).inflate(R.layout.dialog_subtask, null, false);
+        EditText titleInput = dialogView.findViewById(R.id.input_subtask_title);
+
+        new AlertDialog.Builder(context)
+                .setTitle(R.string.add_subtask)
+                .setView(dialogView)
+                .setPositiveButton(R.string.add, (dialog, which) -> {
+                    String title = titleInput.getText().toString().trim();
+                    if (title.isEmpty()) {
+                        return;
+                    }
+                    long now = System.currentTimeMillis();
+                    SubtaskEntity subtask = new SubtaskEntity(task.getId(), title, false, now, now);
+                    ioExecutor.execute(() -> subtaskDao.insert(subtask));
+                })
+                .setNegativeButton(R.string.cancel, null)
+                .show();
+    }
+}
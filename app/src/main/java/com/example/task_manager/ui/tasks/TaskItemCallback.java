@@ -0,0 +1,52 @@
+package com.example.task_manager.ui.tasks;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.task_manager.data.TaskEntity;
+import com.example.task_manager.data.TaskListRow;
+
+import java.util.Objects;
+
+class TaskItemCallback extends DiffUtil.ItemCallback<TaskListRow> {
+
+    static final Object PAYLOAD_DONE = new Object();
+
+    @Override
+    public boolean areItemsTheSame(@NonNull TaskListRow oldItem, @NonNull TaskListRow newItem) {
+        return oldItem.task.getId() == newItem.task.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull TaskListRow oldItem, @NonNull TaskListRow newItem) {
+        return oldItem.task.isDone() == newItem.task.isDone() && areContentsTheSameIgnoringDone(oldItem, newItem);
+    }
+
+    @Nullable
+    @Override
+    public Object getChangePayload(@NonNull TaskListRow oldItem, @NonNull TaskListRow newItem) {
+        if (oldItem.task.isDone() != newItem.task.isDone() && areContentsTheSameIgnoringDone(oldItem, newItem)) {
+            return PAYLOAD_DONE;
+        }
+        return null;
+    }
+
+    private boolean areContentsTheSameIgnoringDone(TaskListRow oldItem, TaskListRow newItem) {
+        TaskEntity oldTask = oldItem.task;
+        TaskEntity newTask = newItem.task;
+        return oldTask.isPinned() == newTask.isPinned()
+                && oldTask.getCreatedAt() == newTask.getCreatedAt()
+                && Objects.equals(oldTask.getDueAt(), newTask.getDueAt())
+                && Objects.equals(oldTask.getGroupId(), newTask.getGroupId())
+                && oldTask.getTitle().equals(newTask.getTitle())
+                && oldTask.getDescription().equals(newTask.getDescription())
+                && Objects.equals(oldItem.groupName, newItem.groupName)
+                && Objects.equals(oldItem.groupColor, newItem.groupColor)
+                && oldTask.subtaskTotal == newTask.subtaskTotal
+                && oldTask.subtaskDone == newTask.subtaskDone
+                && oldTask.tagCount == newTask.tagCount
+                && Objects.equals(oldItem.firstTagName, newItem.firstTagName)
+                && Objects.equals(oldItem.secondTagName, newItem.secondTagName);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.task_manager.ui.tasks;
+
+import android.view.View;
+import android.widget.ImageButton;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.task_manager.R;
+import com.example.task_manager.data.SubtaskEntity;
+import com.google.android.material.checkbox.MaterialCheckBox;
+import com.google.android.material.chip.ChipGroup;
+
+import java.util.List;
+
+class TaskViewHolder extends RecyclerView.ViewHolder {
+    final MaterialCheckBox checkBox;
+    final TextView title;
+    final ImageView pinnedIcon;
+    final TextView deadlineText;
+    final TextView createdText;
+    final TextView groupText;
+    final TextView subtaskProgressText;
+    final ImageButton expandButton;
+    final View subtasksContainer;
+    final RecyclerView subtasksList;
+    final View addSubtaskButton;
+    final SubtaskMiniAdapter subtaskMiniAdapter;
+    final ChipGroup tagsGroup;
+    /** Task whose subtasks are shown or being loaded, {@link RecyclerView#NO_ID} when collapsed. */
+    long subtasksTaskId = RecyclerView.NO_ID;
+
+    TaskViewHolder(@NonNull View itemView, @NonNull SubtaskMiniAdapter subtaskMiniAdapter) {
+        super(itemView);
+        checkBox = itemView.findViewById(R.id.task_checkbox);
+        title = itemView.findViewById(R.id.task_title);
+        pinnedIcon = itemView.findViewById(R.id.pinned_icon);
+        deadlineText = itemView.findViewById(R.id.deadline_text);
+        createdText = itemView.findViewById(R.id.created_text);
+        groupText = itemView.findViewById(R.id.task_group_text);
+        subtaskProgressText = itemView.findViewById(R.id.subtask_progress_text);
+        expandButton = itemView.findViewById(R.id.expand_button);
+        subtasksContainer = itemView.findViewById(R.id.subtasks_container);
+        subtasksList = itemView.findViewById(R.id.subtasks_list);
+        addSubtaskButton = itemView.findViewById(R.id.add_subtask_button);
+        tagsGroup = itemView.findViewById(R.id.task_tags_group);
+        this.subtaskMiniAdapter = subtaskMiniAdapter;
+        subtasksList.setLayoutManager(new LinearLayoutManager(itemView.getContext()));
+        subtasksList.setAdapter(subtaskMiniAdapter);
+    }
+
+    void bindSubtasks(List<SubtaskEntity> subtasks) {
+        subtaskMiniAdapter.submitList(subtasks);
+    }
+}
@@ -25,7 +25,9 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.content.res.AppCompatResources;
+import androidx.appcompat.view.ActionMode;
 import androidx.appcompat.widget.SearchView;
 import androidx.core.graphics.Insets;
 import androidx.core.view.MenuHost;
@@ -36,56 +38,64 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.Lifecycle;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.ItemTouchHelper;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.task_manager.R;
 import com.example.task_manager.data.AppDatabase;
-import com.example.task_manager.data.GroupDao;
+import com.example.task_manager.data.DbExecutors;
+import com.example.task_manager.data.DictionaryRepository;
 import com.example.task_manager.data.GroupEntity;
 import com.example.task_manager.data.SubtaskDao;
 import com.example.task_manager.data.SubtaskEntity;
 import com.example.task_manager.data.TaskDao;
 import com.example.task_manager.data.TaskEntity;
-import com.example.task_manager.data.TaskWithTagsAndSubtasks;
-import com.example.task_manager.data.TagDao;
+import com.example.task_manager.data.TaskListRow;
+import com.example.task_manager.data.TaskQuery;
 import com.example.task_manager.data.TagEntity;
 import com.example.task_manager.ui.groups.GroupsActivity;
 import com.example.task_manager.ui.taskdetail.TaskDetailActivity;
+import com.example.task_manager.ui.common.DateLabels;
 import com.example.task_manager.ui.common.UiStateViewModel;
+import com.example.task_manager.ui.debug.RenderStats;
 import com.example.task_manager.databinding.FragmentTasksBinding;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.checkbox.MaterialCheckBox;
 import com.google.android.material.color.MaterialColors;
 import com.google.android.material.snackbar.Snackbar;
 
-import java.text.SimpleDateFormat;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Locale;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.List;
 
+import kotlin.Unit;
+
 public class TasksFragment extends Fragment {
 
     private static final String PREFS_NAME = "tasks_prefs";
     private static final String PREF_SELECTED_GROUP_ID = "selected_group_id";
     private static final String PREF_SELECTED_GROUP_MODE = "selected_group_mode";
     private static final String STATE_QUERY = "state_query";
+    private static final int PAGE_SIZE = 50;
 
     private FragmentTasksBinding binding;
-    private TasksAdapter adapter;
+    private TasksPagingAdapter adapter;
     private TaskDao taskDao;
     private SubtaskDao subtaskDao;
-    private GroupDao groupDao;
-    private TagDao tagDao;
-    private ExecutorService ioExecutor;
+    private DictionaryRepository dictionary;
+    private Executor ioExecutor;
     private UiStateViewModel uiState;
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy HH:mm", Locale.getDefault());
     private final Paint swipePaint = new Paint();
     private int deleteBackgroundColor;
     private int deleteIconColor;
@@ -98,7 +108,7 @@ public class TasksFragment extends Fragment {
     private android.graphics.drawable.Drawable unpinIcon;
 
     @Nullable
-    private LiveData<List<TaskWithTagsAndSubtasks>> tasksLiveData;
+    private LiveData<PagingData<TaskListRow>> tasksLiveData;
     @Nullable
     private Long selectedGroupId;
     @Nullable
@@ -107,10 +117,11 @@ public class TasksFragment extends Fragment {
     private final List<GroupItem> groupItems = new ArrayList<>();
     private SharedPreferences preferences;
     private String currentQuery = "";
-    private String currentTextQuery = "";
-    private List<String> currentTagNames = new ArrayList<>();
+    private UiStateViewModel.SearchState currentSearch;
     private final Set<Long> selectedTagFilter = new HashSet<>();
     private List<TagEntity> availableTags = new ArrayList<>();
+    @Nullable
+    private ActionMode selectionMode;
 
     @Nullable
     @Override
@@ -125,14 +136,13 @@ public class TasksFragment extends Fragment {
         setHasOptionsMenu(true);
         taskDao = AppDatabase.getInstance(requireContext()).taskDao();
         subtaskDao = AppDatabase.getInstance(requireContext()).subtaskDao();
-        groupDao = AppDatabase.getInstance(requireContext()).groupDao();
-        tagDao = AppDatabase.getInstance(requireContext()).tagDao();
+        dictionary = DictionaryRepository.get(requireContext());
         uiState = new ViewModelProvider(requireActivity()).get(UiStateViewModel.class);
-        ioExecutor = Executors.newSingleThreadExecutor();
+        ioExecutor = DbExecutors.get(requireContext()).writes();
         preferences = requireContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         initializeState(savedInstanceState);
         binding.emptyState.setVisibility(View.GONE);
-        tagDao.observeAllOrdered().observe(getViewLifecycleOwner(), tags -> availableTags = tags == null ? new ArrayList<>() : new ArrayList<>(tags));
+        dictionary.getTags().observe(getViewLifecycleOwner(), tags -> availableTags = tags == null ? new ArrayList<>() : new ArrayList<>(tags));
         setupGroupSelector();
         setupRecyclerView();
         observeUiState();
@@ -144,8 +154,18 @@ public class TasksFragment extends Fragment {
     private void setupRecyclerView() {
         RecyclerView recyclerView = binding.tasksList;
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
-        adapter = new TasksAdapter(taskDao, subtaskDao, ioExecutor, this::onTaskLongPressed, this::onTaskClicked);
+        adapter = new TasksPagingAdapter(taskDao, subtaskDao, ioExecutor, this::onTaskLongPressed, this::onTaskClicked);
+        adapter.addLoadStateListener(loadStates -> {
+            if (binding != null && loadStates.getRefresh() instanceof LoadState.NotLoading) {
+                boolean isEmpty = adapter.getItemCount() == 0;
+                binding.tasksList.setVisibility(isEmpty ? View.GONE : View.VISIBLE);
+                binding.emptyState.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
+                updateEmptyStateText(isEmpty);
+            }
+            return Unit.INSTANCE;
+        });
         recyclerView.setAdapter(adapter);
+        RenderStats.get(requireContext()).trackScrollJank(recyclerView, "tasks");
         initSwipeResources();
         attachSwipeHelper(recyclerView);
     }
@@ -154,60 +174,35 @@ public class TasksFragment extends Fragment {
         if (tasksLiveData != null) {
             tasksLiveData.removeObservers(getViewLifecycleOwner());
         }
-        tasksLiveData = resolveTasksSource();
-        tasksLiveData.observe(getViewLifecycleOwner(), tasks -> {
-            adapter.submitList(tasks);
-            boolean isEmpty = tasks == null || tasks.isEmpty();
-            binding.tasksList.setVisibility(isEmpty ? View.GONE : View.VISIBLE);
-            binding.emptyState.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
-            updateEmptyStateText(isEmpty);
-        });
+        Pager<Integer, TaskListRow> pager = new Pager<>(new PagingConfig(PAGE_SIZE, PAGE_SIZE, false), this::resolveTasksSource);
+        tasksLiveData = PagingLiveData.getLiveData(pager);
+        tasksLiveData.observe(getViewLifecycleOwner(), pagingData -> adapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData));
     }
 
-    private LiveData<List<TaskWithTagsAndSubtasks>> resolveTasksSource() {
-        boolean applyTags = !selectedTagFilter.isEmpty();
-        List<Long> tagIds = new ArrayList<>(selectedTagFilter);
-        int applyFlag = applyTags ? 1 : 0;
-        boolean hasTagNames = currentTagNames != null && !currentTagNames.isEmpty();
-        boolean hasTextQuery = !TextUtils.isEmpty(currentTextQuery);
+    private PagingSource<Integer, TaskListRow> resolveTasksSource() {
+        return taskDao.pageTaskRows(buildTaskQuery().toRowSqlQuery());
+    }
+
+    private TaskQuery buildTaskQuery() {
         String mode = selectedGroupMode == null ? UiStateViewModel.GROUP_MODE_INBOX : selectedGroupMode;
-        if (!hasTagNames) {
-            if (TextUtils.isEmpty(currentTextQuery)) {
-                if (UiStateViewModel.GROUP_MODE_DEADLINES.equals(mode)) {
-                    return taskDao.observeUndoneWithTagsAndSubtasksWithDeadline(applyFlag, tagIds);
-                }
-                if (UiStateViewModel.GROUP_MODE_INBOX.equals(mode)) {
-                    return taskDao.observeAllWithTagsAndSubtasks(applyFlag, tagIds);
-                }
-                return taskDao.observeAllWithTagsAndSubtasksByGroup(selectedGroupId, applyFlag, tagIds);
-            }
-            if (UiStateViewModel.GROUP_MODE_DEADLINES.equals(mode)) {
-                return taskDao.searchUndoneWithTagsAndSubtasksWithDeadline(currentTextQuery, applyFlag, tagIds);
-            }
-            if (UiStateViewModel.GROUP_MODE_INBOX.equals(mode)) {
-                return taskDao.searchUndoneWithTagsAndSubtasksAll(currentTextQuery, applyFlag, tagIds);
-            }
-            if (selectedGroupId == null) {
-                return taskDao.searchUndoneWithTagsAndSubtasksInInbox(currentTextQuery, applyFlag, tagIds);
-            }
-            return taskDao.searchUndoneWithTagsAndSubtasksInGroup(selectedGroupId, currentTextQuery, applyFlag, tagIds);
-        }
-        int applyTextFlag = hasTextQuery ? 1 : 0;
-        int tagCount = currentTagNames.size();
+        TaskQuery query;
         if (UiStateViewModel.GROUP_MODE_DEADLINES.equals(mode)) {
-            return taskDao.searchUndoneWithTagsAndSubtasksWithDeadlineByTagNames(currentTextQuery, applyTextFlag, currentTagNames, tagCount, applyFlag, tagIds);
-        }
-        if (UiStateViewModel.GROUP_MODE_INBOX.equals(mode)) {
-            return taskDao.searchUndoneWithTagsAndSubtasksAllByTagNames(currentTextQuery, applyTextFlag, currentTagNames, tagCount, applyFlag, tagIds);
+            query = TaskQuery.deadlines();
+        } else if (UiStateViewModel.GROUP_MODE_INBOX.equals(mode)) {
+            query = TaskQuery.all();
+        } else {
+            query = TaskQuery.inGroup(selectedGroupId);
         }
-        if (selectedGroupId == null) {
-            return taskDao.searchUndoneWithTagsAndSubtasksInInboxByTagNames(currentTextQuery, applyTextFlag, currentTagNames, tagCount, applyFlag, tagIds);
+        if (currentSearch.matchedIds != null) {
+            query = query.withMatchedIds(currentSearch.matchedIds, currentSearch.titleMatchedIds);
+        } else if (currentSearch.ftsQuery != null) {
+            query = query.withText(currentSearch.ftsQuery);
         }
-        return taskDao.searchUndoneWithTagsAndSubtasksInGroupByTagNames(selectedGroupId, currentTextQuery, applyTextFlag, currentTagNames, tagCount, applyFlag, tagIds);
+        return query.withAnyTagId(selectedTagFilter).withAllTagNames(currentSearch.tagNames);
     }
 
     private void updateEmptyStateText(boolean isEmpty) {
-        boolean hasSearchFilters = !TextUtils.isEmpty(currentTextQuery) || (currentTagNames != null && !currentTagNames.isEmpty());
+        boolean hasSearchFilters = currentSearch.hasFilters();
         if (!isEmpty) {
             binding.emptyTitle.setText(R.string.empty_tasks_title);
             binding.emptySubtitle.setText(R.string.empty_tasks_subtitle);
@@ -274,13 +269,7 @@ public class TasksFragment extends Fragment {
                 return;
             }
             ioExecutor.execute(() -> {
-                TagEntity existing = tagDao.findByNameSync(name);
-                TagEntity resolved = existing;
-                if (resolved == null) {
-                    tagDao.insert(new TagEntity(name));
-                    resolved = tagDao.findByNameSync(name);
-                }
-                TagEntity finalResolved = resolved;
+                TagEntity finalResolved = dictionary.resolveOrCreateTag(name);
                 requireActivity().runOnUiThread(() -> {
                     input.setText("");
                     if (finalResolved != null) {
@@ -403,8 +392,9 @@ public class TasksFragment extends Fragment {
             chip.setText(R.string.deadline_not_set);
             return;
         }
-        String formatted = dateFormat.format(dueAt);
-        boolean overdue = dueAt < System.currentTimeMillis();
+        DateLabels dateLabels = DateLabels.get(requireContext());
+        String formatted = dateLabels.dateTime(dueAt);
+        boolean overdue = dateLabels.isOverdue(dueAt);
         int containerColor = MaterialColors.getColor(chip,
                 overdue ? com.google.android.material.R.attr.colorErrorContainer : com.google.android.material.R.attr.colorSecondaryContainer);
         int onContainerColor = MaterialColors.getColor(chip,
@@ -416,19 +406,101 @@ public class TasksFragment extends Fragment {
     }
 
     private void onTaskLongPressed(TaskEntity task) {
-        new AlertDialog.Builder(requireContext())
-                .setMessage(R.string.delete_task_prompt)
-                .setPositiveButton(R.string.delete, (dialog, which) -> removeTask(task))
-                .setNegativeButton(R.string.cancel, null)
-                .show();
+        toggleTaskSelection(task);
     }
 
     private void onTaskClicked(TaskEntity task) {
+        if (selectionMode != null) {
+            toggleTaskSelection(task);
+            return;
+        }
         startActivity(TaskDetailActivity.createIntent(requireContext(), task.getId()));
     }
 
-    private void removeTask(TaskEntity task) {
-        ioExecutor.execute(() -> taskDao.delete(task));
+    private void toggleTaskSelection(TaskEntity task) {
+        adapter.toggleSelection(task.getId());
+        int count = adapter.getSelectedTaskIds().size();
+        if (count == 0) {
+            if (selectionMode != null) {
+                selectionMode.finish();
+            }
+            return;
+        }
+        if (selectionMode == null) {
+            selectionMode = ((AppCompatActivity) requireActivity()).startSupportActionMode(selectionCallback);
+        }
+        if (selectionMode != null) {
+            selectionMode.setTitle(getString(R.string.selection_count, count));
+        }
+    }
+
+    private final ActionMode.Callback selectionCallback = new ActionMode.Callback() {
+        @Override
+        public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+            mode.getMenuInflater().inflate(R.menu.menu_tasks_selection, menu);
+            return true;
+        }
+
+        @Override
+        public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+            return false;
+        }
+
+        @Override
+        public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+            List<Long> ids = new ArrayList<>(adapter.getSelectedTaskIds());
+            if (item.getItemId() == R.id.action_selection_done) {
+                ioExecutor.execute(() -> taskDao.completeByIds(ids, ZoneId.systemDefault(), System.currentTimeMillis()));
+                mode.finish();
+                return true;
+            } else if (item.getItemId() == R.id.action_selection_move) {
+                showMoveToGroupDialog(ids);
+                return true;
+            } else if (item.getItemId() == R.id.action_selection_delete) {
+                new AlertDialog.Builder(requireContext())
+                        .setMessage(R.string.delete_selected_prompt)
+                        .setPositiveButton(R.string.delete, (dialog, which) -> {
+                            ioExecutor.execute(() -> taskDao.deleteByIds(ids));
+                            mode.finish();
+                        })
+                        .setNegativeButton(R.string.cancel, null)
+                        .show();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void onDestroyActionMode(ActionMode mode) {
+            selectionMode = null;
+            if (adapter != null) {
+                adapter.clearSelection();
+            }
+        }
+    };
+
+    private void showMoveToGroupDialog(List<Long> ids) {
+        List<Long> targetIds = new ArrayList<>();
+        List<String> targetNames = new ArrayList<>();
+        targetIds.add(null);
+        targetNames.add(getString(R.string.group_ungrouped));
+        for (GroupItem item : groupItems) {
+            if (!item.isSystem) {
+                targetIds.add(item.id);
+                targetNames.add(item.name);
+            }
+        }
+        new AlertDialog.Builder(requireContext())
+                .setTitle(R.string.move_to_group)
+                .setItems(targetNames.toArray(new String[0]), (dialog, which) -> {
+                    Long groupId = targetIds.get(which);
+                    ioExecutor.execute(() -> taskDao.setGroupIdByIds(ids, groupId));
+                    if (selectionMode != null) {
+                        selectionMode.finish();
+                    }
+                })
+                .setNegativeButton(R.string.cancel, null)
+                .show();
     }
 
     private void initSwipeResources() {
@@ -457,11 +529,14 @@ public class TasksFragment extends Fragment {
                     return;
                 }
                 viewHolder.itemView.post(() -> adapter.notifyItemChanged(position));
-                TaskWithTagsAndSubtasks taskWithSubtasks = adapter.getItem(position);
+                TaskListRow row = adapter.getItemAt(position);
+                if (row == null) {
+                    return;
+                }
                 if (direction == ItemTouchHelper.LEFT) {
-                    handleDeleteSwipe(taskWithSubtasks);
+                    handleDeleteSwipe(row);
                 } else {
-                    handlePinSwipe(taskWithSubtasks.task);
+                    handlePinSwipe(row.task);
                 }
             }
 
@@ -476,25 +551,26 @@ public class TasksFragment extends Fragment {
         new ItemTouchHelper(simpleCallback).attachToRecyclerView(recyclerView);
     }
 
-    private void handleDeleteSwipe(TaskWithTagsAndSubtasks taskWithSubtasks) {
-        TaskEntity task = taskWithSubtasks.task;
+    /** Rows carry only subtask counts, so the subtasks for undo are read on the write executor right before the delete. */
+    private void handleDeleteSwipe(TaskListRow row) {
+        TaskEntity task = row.task;
         TaskEntity backupTask = copyTask(task, false);
         List<SubtaskEntity> subtasksBackup = new ArrayList<>();
-        if (taskWithSubtasks.subtasks != null) {
-            for (SubtaskEntity subtask : taskWithSubtasks.subtasks) {
+        ioExecutor.execute(() -> {
+            for (SubtaskEntity subtask : subtaskDao.getByTaskIdSync(task.getId())) {
                 SubtaskEntity clone = new SubtaskEntity(subtask.taskId, subtask.title, subtask.done, subtask.createdAt, subtask.updatedAt);
                 subtasksBackup.add(clone);
             }
-        }
-        ioExecutor.execute(() -> taskDao.delete(task));
+            taskDao.delete(task);
+        });
         Snackbar.make(binding.getRoot(), R.string.task_deleted, Snackbar.LENGTH_LONG)
                 .setAction(R.string.undo, v -> ioExecutor.execute(() -> {
                     TaskEntity restoredTask = copyTask(backupTask, false);
                     long newId = taskDao.insert(restoredTask);
                     for (SubtaskEntity subtask : subtasksBackup) {
                         subtask.taskId = newId;
-                        subtaskDao.insert(subtask);
                     }
+                    subtaskDao.insertAll(subtasksBackup);
                 }))
                 .show();
     }
@@ -520,6 +596,9 @@ public class TasksFragment extends Fragment {
             return;
         }
         TaskEntity task = adapter.getTaskAt(position);
+        if (task == null) {
+            return;
+        }
         boolean isRight = dX > 0;
         int iconMargin = (int) (16 * getResources().getDisplayMetrics().density);
         int iconSize = (int) (24 * getResources().getDisplayMetrics().density);
@@ -555,12 +634,10 @@ public class TasksFragment extends Fragment {
     }
 
     private TaskEntity copyTask(TaskEntity task, boolean keepId) {
-        TaskEntity copy = new TaskEntity(task.getTitle(), task.isDone(), task.getCreatedAt(), task.getDueAt(), task.getDescription());
-        if (keepId) {
-            copy.setId(task.getId());
+        TaskEntity copy = task.copy();
+        if (!keepId) {
+            copy.setId(0);
         }
-        copy.setPinned(task.isPinned());
-        copy.setGroupId(task.getGroupId());
         return copy;
     }
 
@@ -590,7 +667,7 @@ public class TasksFragment extends Fragment {
             }
         });
 
-        groupDao.observeAllOrdered().observe(getViewLifecycleOwner(), groups -> {
+        dictionary.getGroups().observe(getViewLifecycleOwner(), groups -> {
             groupItems.clear();
             groupItems.add(GroupItem.createSystem(getString(R.string.group_inbox), GroupItem.SYSTEM_INBOX));
             groupItems.add(GroupItem.createSystem(getString(R.string.group_deadlines), GroupItem.SYSTEM_DEADLINES));
@@ -623,6 +700,7 @@ public class TasksFragment extends Fragment {
                     @Override
                     public boolean onQueryTextSubmit(String query) {
                         applyQuery(query);
+                        uiState.flushSearchQuery();
                         return true;
                     }
 
@@ -700,6 +778,9 @@ public class TasksFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        if (selectionMode != null) {
+            selectionMode.finish();
+        }
         if (binding != null) {
             binding.tasksList.setAdapter(null);
             binding.groupSelector.setOnItemSelectedListener(null);
@@ -709,14 +790,6 @@ public class TasksFragment extends Fragment {
         groupAdapter = null;
     }
 
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        if (ioExecutor != null && !ioExecutor.isShutdown()) {
-            ioExecutor.shutdown();
-        }
-    }
-
     private static class GroupItem {
         static final int SYSTEM_NONE = 0;
         static final int SYSTEM_INBOX = 1;
@@ -760,12 +833,8 @@ public class TasksFragment extends Fragment {
             selectedGroupMode = mode;
             syncGroupSelection();
         });
-        uiState.getSearchQuery().observe(getViewLifecycleOwner(), query -> {
-            String normalized = query == null ? "" : query;
-            String parsedTextQuery = uiState.getSearchTextQuery().getValue();
-            List<String> parsedTagNames = uiState.getSearchTagNames().getValue();
-            updateSearchState(normalized, parsedTextQuery, parsedTagNames);
-        });
+        uiState.getSearchQuery().observe(getViewLifecycleOwner(), query -> currentQuery = query == null ? "" : query);
+        uiState.getSearchState().observe(getViewLifecycleOwner(), this::updateSearchState);
     }
 
     private void syncGroupSelection() {
@@ -862,34 +931,21 @@ public class TasksFragment extends Fragment {
         if (!uiState.isSearchQueryInitialized()) {
             String restoredQuery = savedInstanceState == null ? "" : savedInstanceState.getString(STATE_QUERY, "");
             uiState.setSearchQuery(restoredQuery);
+            uiState.flushSearchQuery();
         }
         currentQuery = uiState.getSearchQuery().getValue() == null ? "" : uiState.getSearchQuery().getValue();
-        currentTextQuery = uiState.getSearchTextQuery().getValue() == null ? "" : uiState.getSearchTextQuery().getValue();
-        List<String> parsedTags = uiState.getSearchTagNames().getValue();
-        currentTagNames = parsedTags == null ? new ArrayList<>() : new ArrayList<>(parsedTags);
+        currentSearch = uiState.getSearchState().getValue();
         selectedGroupId = uiState.getSelectedGroupId().getValue();
         selectedGroupMode = uiState.getSelectedGroupMode().getValue();
     }
 
-    private void updateSearchState(String rawQuery, @Nullable String parsedTextQuery, @Nullable List<String> parsedTagNames) {
-        boolean changed = false;
-        if (!rawQuery.equals(currentQuery)) {
-            currentQuery = rawQuery;
-            changed = true;
-        }
-        String normalizedText = parsedTextQuery == null ? "" : parsedTextQuery;
-        if (!normalizedText.equals(currentTextQuery)) {
-            currentTextQuery = normalizedText;
-            changed = true;
-        }
-        List<String> normalizedTags = parsedTagNames == null ? new ArrayList<>() : new ArrayList<>(parsedTagNames);
-        if (!normalizedTags.equals(currentTagNames)) {
-            currentTagNames = normalizedTags;
-            changed = true;
-        }
-        if (changed) {
-            observeTasks();
+    /** Re-queries the list only when the settled search selects different tasks. */
+    private void updateSearchState(UiStateViewModel.SearchState state) {
+        if (state.sameFilter(currentSearch)) {
+            return;
         }
+        currentSearch = state;
+        observeTasks();
     }
 
     private void saveSelectedGroup(String mode, @Nullable Long groupId) {
@@ -0,0 +1,89 @@
+package com.example.task_manager.ui.tasks;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.task_manager.data.SubtaskDao;
+import com.example.task_manager.data.TaskDao;
+import com.example.task_manager.data.TaskEntity;
+import com.example.task_manager.data.TaskListRow;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+public class TasksPagingAdapter extends PagingDataAdapter<TaskListRow, TaskViewHolder> {
+
+    private final TaskItemBinder binder;
+
+    public TasksPagingAdapter(TaskDao taskDao, SubtaskDao subtaskDao, Executor ioExecutor, TaskItemBinder.OnTaskLongClickListener longClickListener, TaskItemBinder.OnTaskClickListener clickListener) {
+        super(new TaskItemCallback());
+        this.binder = new TaskItemBinder(this, taskDao, subtaskDao, ioExecutor, longClickListener, clickListener);
+    }
+
+    public void setShowGroupName(boolean showGroupName) {
+        if (binder.setShowGroupName(showGroupName)) {
+            notifyDataSetChanged();
+        }
+    }
+
+    public boolean toggleSelection(long taskId) {
+        return binder.toggleSelection(taskId);
+    }
+
+    public Set<Long> getSelectedTaskIds() {
+        return binder.getSelectedTaskIds();
+    }
+
+    public void clearSelection() {
+        binder.clearSelection();
+    }
+
+    @Nullable
+    public TaskListRow getItemAt(int position) {
+        return peek(position);
+    }
+
+    @Nullable
+    public TaskEntity getTaskAt(int position) {
+        TaskListRow item = peek(position);
+        return item == null ? null : item.task;
+    }
+
+    @NonNull
+    @Override
+    public TaskViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return binder.createViewHolder(parent);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
+        TaskListRow item = getItem(position);
+        if (item != null) {
+            binder.bind(holder, item);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull TaskViewHolder holder, int position, @NonNull List<Object> payloads) {
+        TaskListRow item = getItem(position);
+        if (item != null) {
+            binder.bind(holder, item, payloads);
+        }
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull TaskViewHolder holder) {
+        binder.recycle(holder);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        binder.release();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.task_manager.data;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class ArchiveDaoTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private AppDatabase db;
+    private TaskDao taskDao;
+    private ArchiveDao archiveDao;
+
+    @Before
+    public void openDb() {
+        db = AppDatabase.configure(
+                Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                        .allowMainThreadQueries(),
+                DatabaseConfig.defaults(),
+                Runnable::run,
+                Runnable::run
+        ).build();
+        taskDao = db.taskDao();
+        archiveDao = db.archiveDao();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void archiveBatch_usesCompletionTimeNotDeadline() {
+        long now = System.currentTimeMillis();
+        long oldJustDone = taskDao.insert(new TaskEntity("created long ago", false, now - 40 * DAY, null));
+        taskDao.setDoneByIds(Collections.singletonList(oldJustDone), true, now);
+        TaskEntity futureDeadline = new TaskEntity("due next month", false, now - 40 * DAY, now + 30 * DAY);
+        long doneLongAgo = taskDao.insert(futureDeadline);
+        taskDao.setDoneByIds(Collections.singletonList(doneLongAgo), true, now - 40 * DAY);
+
+        assertEquals(1, archiveDao.archiveBatch(now - 30 * DAY, 10));
+
+        assertNotNull(taskDao.getByIdSync(oldJustDone));
+        assertNull(taskDao.getByIdSync(doneLongAgo));
+    }
+
+    @Test
+    public void pinCopy_keepsCompletionTime() {
+        long now = System.currentTimeMillis();
+        long id = taskDao.insert(new TaskEntity("done long ago", false, now - 40 * DAY, null));
+        taskDao.setDoneByIds(Collections.singletonList(id), true, now - 40 * DAY);
+
+        TaskEntity pinned = taskDao.getByIdSync(id).copy();
+        pinned.setPinned(true);
+        taskDao.update(pinned);
+
+        assertEquals(Long.valueOf(now - 40 * DAY), taskDao.getByIdSync(id).completedAt);
+        assertEquals(1, archiveDao.archiveBatch(now - 30 * DAY, 10));
+    }
+
+    @Test
+    public void restore_keepsRecurrence() {
+        long now = System.currentTimeMillis();
+        TaskEntity series = new TaskEntity("series", false, now - 40 * DAY, now - 40 * DAY);
+        series.recurrence = "FREQ=WEEKLY";
+        long id = taskDao.insert(series);
+        taskDao.setDoneByIds(Collections.singletonList(id), true, now - 40 * DAY);
+        archiveDao.archiveBatch(now - 30 * DAY, 10);
+
+        assertTrue(archiveDao.restore(id));
+
+        TaskEntity restored = taskDao.getByIdSync(id);
+        assertEquals("FREQ=WEEKLY", restored.recurrence);
+        assertFalse(restored.isDone());
+        assertNull(restored.completedAt);
+    }
+}
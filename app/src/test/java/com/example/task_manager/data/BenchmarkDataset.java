@@ -0,0 +1,90 @@
+package com.example.task_manager.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic task graph for benchmarks: a handful of groups, a long-tailed tag vocabulary,
+ * a few subtasks per task and deadlines spread around {@link #NOW}.
+ */
+final class BenchmarkDataset {
+
+    static final long NOW = 1_735_689_600_000L;
+    static final long DAY_MS = 24L * 60 * 60 * 1000;
+    static final int GROUP_COUNT = 8;
+    static final int TAG_COUNT = 40;
+
+    private static final String[] WORDS = {
+            "отчет", "встреча", "звонок", "покупки", "проект", "ремонт", "врач", "оплата",
+            "report", "meeting", "invoice", "review", "release", "groceries", "trip", "backup"
+    };
+    private static final int BATCH = 500;
+
+    final List<Long> groupIds = new ArrayList<>();
+    final List<Long> tagIds = new ArrayList<>();
+    final List<String> tagKeys = new ArrayList<>();
+    final List<Long> taskIds = new ArrayList<>();
+
+    private BenchmarkDataset() {
+    }
+
+    static BenchmarkDataset seed(AppDatabase db, int taskCount) {
+        BenchmarkDataset dataset = new BenchmarkDataset();
+        db.runInTransaction(() -> dataset.insert(db, taskCount, new Random(42)));
+        return dataset;
+    }
+
+    private void insert(AppDatabase db, int taskCount, Random random) {
+        for (int i = 0; i < GROUP_COUNT; i++) {
+            GroupEntity group = new GroupEntity("Группа " + i);
+            group.setOrderIndex(i);
+            groupIds.add(db.groupDao().insert(group));
+        }
+        for (int i = 0; i < TAG_COUNT; i++) {
+            TagEntity tag = new TagEntity(WORDS[i % WORDS.length] + (i < WORDS.length ? "" : String.valueOf(i)));
+            tagIds.add(db.tagDao().insert(tag));
+            tagKeys.add(tag.getNameKey());
+        }
+
+        List<TaskEntity> tasks = new ArrayList<>(BATCH);
+        for (int i = 0; i < taskCount; i++) {
+            long createdAt = NOW - random.nextInt(365) * DAY_MS - random.nextInt((int) DAY_MS);
+            Long dueAt = random.nextInt(10) < 6 ? NOW + (random.nextInt(120) - 60) * DAY_MS + random.nextInt(24) * 3_600_000L : null;
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String description = random.nextInt(3) == 0 ? WORDS[random.nextInt(WORDS.length)] + " details" : "";
+            TaskEntity task = new TaskEntity(title, random.nextInt(10) < 3, createdAt, dueAt, description);
+            task.setPinned(random.nextInt(20) == 0);
+            task.setGroupId(random.nextInt(10) < 3 ? null : groupIds.get(random.nextInt(GROUP_COUNT)));
+            tasks.add(task);
+            if (tasks.size() == BATCH || i == taskCount - 1) {
+                List<Long> ids = db.taskDao().insertAll(tasks);
+                taskIds.addAll(ids);
+                insertChildren(db, ids, random);
+                tasks.clear();
+            }
+        }
+    }
+
+    private void insertChildren(AppDatabase db, List<Long> ids, Random random) {
+        List<SubtaskEntity> subtasks = new ArrayList<>();
+        List<TaskTagCrossRef> refs = new ArrayList<>();
+        for (long taskId : ids) {
+            int subtaskCount = random.nextInt(10) < 5 ? 0 : 1 + random.nextInt(5);
+            for (int s = 0; s < subtaskCount; s++) {
+                subtasks.add(new SubtaskEntity(taskId, WORDS[random.nextInt(WORDS.length)] + " step " + s, random.nextBoolean(), NOW, NOW));
+            }
+            int tagCount = random.nextInt(4);
+            for (int t = 0; t < tagCount; t++) {
+                refs.add(new TaskTagCrossRef(taskId, tagIds.get(skewedIndex(random, TAG_COUNT))));
+            }
+        }
+        db.subtaskDao().insertAll(subtasks);
+        db.taskTagDao().insertCrossRefs(refs);
+    }
+
+    private static int skewedIndex(Random random, int bound) {
+        double u = random.nextDouble();
+        return Math.min(bound - 1, (int) (bound * u * u));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.task_manager.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class QueryStatsTest {
+
+    @Test
+    public void shapeOf_collapsesWhitespaceAndExpandedInLists() {
+        String small = QueryStats.shapeOf("SELECT * FROM tasks\n  WHERE id IN (?,?) AND done = ?");
+        String large = QueryStats.shapeOf("SELECT * FROM tasks WHERE id IN (?, ?, ?, ?) AND done = ?");
+
+        assertEquals("SELECT * FROM tasks WHERE id IN (?) AND done = ?", small);
+        assertEquals(small, large);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.task_manager.data;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class TaskCountersTest {
+
+    private AppDatabase db;
+    private TaskDao taskDao;
+    private SubtaskDao subtaskDao;
+
+    @Before
+    public void openDb() {
+        db = AppDatabase.configure(
+                Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                        .allowMainThreadQueries(),
+                DatabaseConfig.defaults(),
+                Runnable::run,
+                Runnable::run
+        ).build();
+        taskDao = db.taskDao();
+        subtaskDao = db.subtaskDao();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void triggers_followSubtaskAndTagWrites() {
+        long taskId = taskDao.insert(new TaskEntity("task", false, 1L, null));
+        long otherId = taskDao.insert(new TaskEntity("other", false, 2L, null));
+        SubtaskEntity first = new SubtaskEntity(taskId, "a", false, 1L, 1L);
+        first.id = subtaskDao.insert(first);
+        subtaskDao.insert(new SubtaskEntity(taskId, "b", true, 1L, 1L));
+        long tagA = db.tagDao().insert(new TagEntity("a"));
+        long tagB = db.tagDao().insert(new TagEntity("b"));
+        db.taskTagDao().replaceTagsForTask(taskId, Arrays.asList(tagA, tagB));
+        db.taskTagDao().insertCrossRef(new TaskTagCrossRef(taskId, tagA));
+
+        first.done = true;
+        subtaskDao.update(first);
+        first.taskId = otherId;
+        subtaskDao.update(first);
+        db.taskTagDao().deleteCrossRef(taskId, tagB);
+
+        assertCounters(taskId, 1, 1, 1);
+        assertCounters(otherId, 1, 1, 0);
+        assertEquals(0, taskDao.countInconsistentCounters());
+    }
+
+    @Test
+    public void update_keepsCountersOfStaleEntity() {
+        long taskId = taskDao.insert(new TaskEntity("task", false, 1L, null));
+        TaskEntity stale = taskDao.getByIdSync(taskId);
+        subtaskDao.insert(new SubtaskEntity(taskId, "a", false, 1L, 1L));
+
+        stale.setDone(true);
+        taskDao.update(stale);
+
+        assertCounters(taskId, 1, 0, 0);
+    }
+
+    @Test
+    public void repairCounters_recountsDriftedRows() {
+        long taskId = taskDao.insert(new TaskEntity("task", false, 1L, null));
+        subtaskDao.insert(new SubtaskEntity(taskId, "a", true, 1L, 1L));
+        db.getOpenHelper().getWritableDatabase().execSQL("UPDATE tasks SET subtaskTotal = 5, tagCount = 2");
+
+        assertEquals(1, taskDao.countInconsistentCounters());
+        assertEquals(1, taskDao.repairCounters());
+        assertCounters(taskId, 1, 1, 0);
+    }
+
+    @Test
+    public void ftsSync_followsRenamesWithOnlyNarrowedUpdateTriggers() {
+        long taskId = taskDao.insert(new TaskEntity("отчет", false, 1L, null));
+        TaskEntity task = taskDao.getByIdSync(taskId);
+        subtaskDao.insert(new SubtaskEntity(taskId, "a", false, 1L, 1L));
+        task.setTitle("встреча");
+        taskDao.update(task);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM tasks_fts WHERE tasks_fts MATCH 'отчет'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks_fts WHERE tasks_fts MATCH 'встреча'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' AND name IN " +
+                "('room_fts_content_sync_tasks_fts_AFTER_UPDATE', 'room_fts_content_sync_subtasks_fts_AFTER_UPDATE')"));
+    }
+
+    private long count(String sql) {
+        try (Cursor cursor = db.getOpenHelper().getReadableDatabase().query(sql)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+
+    private void assertCounters(long taskId, int total, int done, int tags) {
+        TaskEntity task = taskDao.getByIdSync(taskId);
+        assertEquals(total, task.subtaskTotal);
+        assertEquals(done, task.subtaskDone);
+        assertEquals(tags, task.tagCount);
+    }
+}
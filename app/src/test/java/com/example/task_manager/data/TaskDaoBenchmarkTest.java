@@ -0,0 +1,222 @@
+package com.example.task_manager.data;
+
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Times every {@link TaskDao} read, plus a subtask done toggle with the triggers it fires, against seeded datasets
+ * and compares medians with {@code benchmark/task_dao_baseline.properties}.
+ *
+ * <p>Excluded from {@code testDebugUnitTest} unless {@code -Pbenchmark=true} is passed. Sizes come from
+ * {@code -Pbenchmark.sizes=1000,10000,100000}; every size and query must have a baseline entry, except with
+ * {@code -Pbenchmark.record=true}, which writes fresh medians to {@code build/benchmark} instead of asserting.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class TaskDaoBenchmarkTest {
+
+    private static final String BASELINE_RESOURCE = "/benchmark/task_dao_baseline.properties";
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 7;
+    private static final double TOLERANCE = 1.5;
+    private static final double SLACK_MS = 5;
+
+    private AppDatabase db;
+
+    @After
+    public void closeDb() {
+        if (db != null) {
+            db.close();
+        }
+    }
+
+    @Test
+    public void taskDaoQueries_stayWithinBaseline() throws Exception {
+        Properties baseline = loadBaseline();
+        Properties recorded = new Properties();
+        List<String> regressions = new ArrayList<>();
+        for (int size : sizes()) {
+            openDb();
+            BenchmarkDataset dataset = BenchmarkDataset.seed(db, size);
+            for (Map.Entry<String, Callable<?>> query : queries(dataset).entrySet()) {
+                double median = medianMillis(query.getValue());
+                String key = size + "." + query.getKey();
+                recorded.setProperty(key, String.format(Locale.ROOT, "%.2f", median));
+                System.out.println(String.format(Locale.ROOT, "%-70s %8.2f ms", key, median));
+                String budget = baseline.getProperty(key);
+                if (budget == null) {
+                    regressions.add(key + ": no baseline, record one with -Pbenchmark.record=true");
+                } else if (median > Double.parseDouble(budget) * TOLERANCE + SLACK_MS) {
+                    regressions.add(String.format(Locale.ROOT, "%s: %.2f ms, baseline %s ms", key, median, budget));
+                }
+            }
+            db.close();
+            db = null;
+        }
+        if (Boolean.getBoolean("benchmark.record")) {
+            writeRecorded(recorded);
+            return;
+        }
+        assertTrue("Regressions:\n" + String.join("\n", regressions), regressions.isEmpty());
+    }
+
+    private Map<String, Callable<?>> queries(BenchmarkDataset dataset) {
+        TaskDao dao = db.taskDao();
+        long taskId = dataset.taskIds.get(dataset.taskIds.size() / 2);
+        long groupId = dataset.groupIds.get(0);
+        long from = BenchmarkDataset.NOW - 7 * BenchmarkDataset.DAY_MS;
+        long to = BenchmarkDataset.NOW + 7 * BenchmarkDataset.DAY_MS;
+        String q = FtsQuery.fromText("отчет");
+        List<Long> noTags = Collections.emptyList();
+        List<Long> tagIds = Arrays.asList(dataset.tagIds.get(0), dataset.tagIds.get(1));
+        List<String> tagNames = Arrays.asList(dataset.tagKeys.get(0), dataset.tagKeys.get(1));
+
+        Map<String, Callable<?>> queries = new LinkedHashMap<>();
+        queries.put("observeById", () -> await(dao.observeById(taskId)));
+        queries.put("getByIdSync", () -> dao.getByIdSync(taskId));
+        queries.put("observeUndoneInRange", () -> await(dao.observeUndoneInRange(from, to)));
+        queries.put("observeUndoneInRangeWithGroup", () -> await(dao.observeUndoneInRangeWithGroup(from, to, groupId, 1, "inbox")));
+        queries.put("observeUndoneAll", () -> await(dao.observeUndoneAll()));
+        queries.put("observeUndoneWithDeadline", () -> await(dao.observeUndoneWithDeadline()));
+        queries.put("observeUndoneByGroup", () -> await(dao.observeUndoneByGroup(groupId)));
+        queries.put("searchUndoneInInbox", () -> await(dao.searchUndoneInInbox(q)));
+        queries.put("searchUndoneInGroup", () -> await(dao.searchUndoneInGroup(groupId, q)));
+        queries.put("searchUndoneWithDeadline", () -> await(dao.searchUndoneWithDeadline(q)));
+        queries.put("searchUndoneAll", () -> await(dao.searchUndoneAll(q)));
+        queries.put("observeDoneInRange", () -> await(dao.observeDoneInRange(from, to)));
+        queries.put("observeDoneAll", () -> await(dao.observeDoneAll()));
+        queries.put("observeDoneAllWithGroup", () -> await(dao.observeDoneAllWithGroup("inbox")));
+        queries.put("pageDoneBefore", () -> dao.pageDoneBefore(Long.MAX_VALUE, Long.MAX_VALUE, 60, "inbox"));
+        queries.put("pagePastBefore", () -> dao.pagePastBefore(BenchmarkDataset.NOW, Long.MAX_VALUE, 60, "inbox"));
+        queries.put("observeAllWithTagsAndSubtasksByGroup", () -> await(dao.observeAllWithTagsAndSubtasksByGroup(groupId, 0, noTags)));
+        queries.put("observeAllWithTagsAndSubtasks", () -> await(dao.observeAllWithTagsAndSubtasks(0, noTags)));
+        queries.put("observeAllWithTagsAndSubtasks.tagIds", () -> await(dao.observeAllWithTagsAndSubtasks(1, tagIds)));
+        queries.put("observeUndoneWithTagsAndSubtasksWithDeadline", () -> await(dao.observeUndoneWithTagsAndSubtasksWithDeadline(0, noTags)));
+        queries.put("searchUndoneWithTagsAndSubtasksInInbox", () -> await(dao.searchUndoneWithTagsAndSubtasksInInbox(q, 0, noTags)));
+        queries.put("searchUndoneWithTagsAndSubtasksInGroup", () -> await(dao.searchUndoneWithTagsAndSubtasksInGroup(groupId, q, 0, noTags)));
+        queries.put("searchUndoneWithTagsAndSubtasksAll", () -> await(dao.searchUndoneWithTagsAndSubtasksAll(q, 0, noTags)));
+        queries.put("searchUndoneWithTagsAndSubtasksWithDeadline", () -> await(dao.searchUndoneWithTagsAndSubtasksWithDeadline(q, 0, noTags)));
+        queries.put("searchUndoneWithTagsAndSubtasksInInboxByTagNames", () -> await(dao.searchUndoneWithTagsAndSubtasksInInboxByTagNames(q, 0, tagNames, tagNames.size(), 0, noTags)));
+        queries.put("searchUndoneWithTagsAndSubtasksInGroupByTagNames", () -> await(dao.searchUndoneWithTagsAndSubtasksInGroupByTagNames(groupId, q, 0, tagNames, tagNames.size(), 0, noTags)));
+        queries.put("searchUndoneWithTagsAndSubtasksAllByTagNames", () -> await(dao.searchUndoneWithTagsAndSubtasksAllByTagNames(q, 0, tagNames, tagNames.size(), 0, noTags)));
+        queries.put("searchUndoneWithTagsAndSubtasksWithDeadlineByTagNames", () -> await(dao.searchUndoneWithTagsAndSubtasksWithDeadlineByTagNames(q, 1, tagNames, tagNames.size(), 0, noTags)));
+        queries.put("getTasksSync.all", () -> dao.getTasksSync(TaskQuery.all().toSqlQuery()));
+        queries.put("getTasksSync.groupText", () -> dao.getTasksSync(TaskQuery.inGroup(groupId).withText(q).toSqlQuery()));
+        queries.put("getTasksSync.tagNames", () -> dao.getTasksSync(TaskQuery.all().withAllTagNames(tagNames).toSqlQuery()));
+        queries.put("getTaskRowsSync.all", () -> dao.getTaskRowsSync(TaskQuery.all().toRowSqlQuery()));
+        queries.put("getTaskRowsSync.groupText", () -> dao.getTaskRowsSync(TaskQuery.inGroup(groupId).withText(q).toRowSqlQuery()));
+        SubtaskEntity subtask = firstSubtask(dataset);
+        queries.put("toggleSubtask", () -> {
+            subtask.done = !subtask.done;
+            db.subtaskDao().update(subtask);
+            return null;
+        });
+        return queries;
+    }
+
+    private SubtaskEntity firstSubtask(BenchmarkDataset dataset) {
+        for (long taskId : dataset.taskIds) {
+            List<SubtaskEntity> subtasks = db.subtaskDao().getByTaskIdSync(taskId);
+            if (!subtasks.isEmpty()) {
+                return subtasks.get(0);
+            }
+        }
+        throw new AssertionError("Dataset has no subtasks");
+    }
+
+    private void openDb() {
+        db = AppDatabase.configure(
+                Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                        .allowMainThreadQueries(),
+                DatabaseConfig.defaults(),
+                Runnable::run,
+                Runnable::run
+        ).build();
+    }
+
+    private static double medianMillis(Callable<?> query) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.call();
+        }
+        double[] samples = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            query.call();
+            samples[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_RUNS / 2];
+    }
+
+    private static <T> T await(LiveData<T> liveData) {
+        List<T> values = new ArrayList<>(1);
+        Observer<T> observer = values::add;
+        liveData.observeForever(observer);
+        shadowOf(Looper.getMainLooper()).idle();
+        liveData.removeObserver(observer);
+        assertTrue("No value emitted", !values.isEmpty());
+        return values.get(0);
+    }
+
+    private static List<Integer> sizes() {
+        List<Integer> sizes = new ArrayList<>();
+        for (String size : System.getProperty("benchmark.sizes", "1000").split(",")) {
+            if (!size.trim().isEmpty()) {
+                sizes.add(Integer.parseInt(size.trim()));
+            }
+        }
+        return sizes;
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = TaskDaoBenchmarkTest.class.getResourceAsStream(BASELINE_RESOURCE)) {
+            assertNotNull("Missing " + BASELINE_RESOURCE, in);
+            baseline.load(in);
+        }
+        return baseline;
+    }
+
+    private static void writeRecorded(Properties recorded) throws IOException {
+        File dir = new File(System.getProperty("benchmark.outputDir", "build/benchmark"));
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        File file = new File(dir, "task_dao_baseline.properties");
+        try (OutputStream out = new FileOutputStream(file)) {
+            recorded.store(out, "Median TaskDao query time in ms");
+        }
+        System.out.println("Recorded baseline to " + file);
+    }
+}
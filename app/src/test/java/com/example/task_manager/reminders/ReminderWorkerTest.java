@@ -0,0 +1,99 @@
+package com.example.task_manager.reminders;
+
+import android.app.NotificationManager;
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.work.Configuration;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.TestDriver;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.TaskDao;
+import com.example.task_manager.data.TaskEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class ReminderWorkerTest {
+
+    private Context context;
+    private WorkManager workManager;
+    private TestDriver testDriver;
+    private ExecutorService background;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context,
+                new Configuration.Builder().setExecutor(new SynchronousExecutor()).build());
+        workManager = WorkManager.getInstance(context);
+        testDriver = WorkManagerTestInitHelper.getTestDriver(context);
+        background = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        background.shutdownNow();
+    }
+
+    @Test
+    public void consecutiveMinutes_eachRunSucceedsAndArmsTheNext() throws Exception {
+        // Room refuses queries on the main thread, which is the test thread under Robolectric.
+        background.submit(() -> {
+            long minute = (System.currentTimeMillis() / ReminderScheduler.MINUTE_MILLIS + 2) * ReminderScheduler.MINUTE_MILLIS;
+            TaskDao taskDao = AppDatabase.getInstance(context).taskDao();
+            taskDao.insert(new TaskEntity("первая", false, 1L, minute + 1_000L));
+            taskDao.insert(new TaskEntity("вторая", false, 1L, minute + ReminderScheduler.MINUTE_MILLIS + 1_000L));
+            ReminderScheduler.get(context).rearm();
+
+            UUID first = onlyEnqueued();
+            testDriver.setInitialDelayMet(first);
+            UUID second = onlyEnqueued();
+            testDriver.setInitialDelayMet(second);
+
+            assertEquals(WorkInfo.State.SUCCEEDED, workManager.getWorkInfoById(first).get().getState());
+            assertEquals(WorkInfo.State.SUCCEEDED, workManager.getWorkInfoById(second).get().getState());
+            assertEquals(0, enqueued().size());
+            return null;
+        }).get();
+
+        assertEquals(2, shadowOf(context.getSystemService(NotificationManager.class)).size());
+    }
+
+    private UUID onlyEnqueued() throws Exception {
+        List<UUID> ids = enqueued();
+        assertEquals(1, ids.size());
+        return ids.get(0);
+    }
+
+    private List<UUID> enqueued() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (WorkInfo info : workManager.getWorkInfosForUniqueWork(ReminderScheduler.WORK_NAME).get()) {
+            if (info.getState() == WorkInfo.State.ENQUEUED) {
+                ids.add(info.getId());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.task_manager.ui.calendar;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.task_manager.data.AppDatabase;
+import com.example.task_manager.data.TaskDao;
+import com.example.task_manager.data.TaskEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class DaySectionsAdapterTest {
+
+    private AppDatabase db;
+    private TaskDao taskDao;
+
+    @Before
+    public void openDb() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        taskDao = db.taskDao();
+    }
+
+    @After
+    public void closeDb() {
+        db.close();
+    }
+
+    @Test
+    public void saveDone_keepsEditsMadeAfterTheRowWasBound() {
+        long id = taskDao.insert(new TaskEntity("отчет", false, 1L, 2L));
+        TaskEntity bound = taskDao.getByIdSync(id);
+        TaskEntity edited = taskDao.getByIdSync(id);
+        edited.setDescription("новое описание");
+        edited.setPinned(true);
+        taskDao.update(edited);
+
+        DaySectionsAdapter.saveDone(taskDao, bound.getId(), true);
+
+        TaskEntity saved = taskDao.getByIdSync(id);
+        assertTrue(saved.isDone());
+        assertEquals("новое описание", saved.getDescription());
+        assertTrue(saved.isPinned());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.task_manager.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Task-shaped fixture with the fields the UI transforms read. */
+final class BenchTask {
+
+    static final long NOW = 1_735_689_600_000L;
+    static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    final long id;
+    final long createdAt;
+    final Long dueAt;
+    final String title;
+    final List<Tag> tags;
+    final List<Subtask> subtasks;
+
+    BenchTask(long id, long createdAt, Long dueAt, String title, List<Tag> tags, List<Subtask> subtasks) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.dueAt = dueAt;
+        this.title = title;
+        this.tags = tags;
+        this.subtasks = subtasks;
+    }
+
+    long archiveTime() {
+        return dueAt != null ? dueAt : createdAt;
+    }
+
+    BenchTask withTitle(String newTitle) {
+        return new BenchTask(id, createdAt, dueAt, newTitle, new ArrayList<>(tags), new ArrayList<>(subtasks));
+    }
+
+    /** {@code size} tasks with deadlines spread over {@code spanDays} days starting at {@link #NOW}. */
+    static List<BenchTask> generate(int size, int spanDays, long seed) {
+        Random random = new Random(seed);
+        List<BenchTask> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long createdAt = NOW - random.nextInt(365) * DAY_MS;
+            Long dueAt = random.nextInt(10) < 8 ? NOW + random.nextInt(spanDays) * DAY_MS + random.nextInt(24) * 3_600_000L : null;
+            List<Tag> tags = new ArrayList<>();
+            for (int t = random.nextInt(4); t > 0; t--) {
+                int tagId = random.nextInt(40);
+                tags.add(new Tag(tagId, "tag" + tagId));
+            }
+            List<Subtask> subtasks = new ArrayList<>();
+            for (int s = random.nextInt(10) < 5 ? 0 : 1 + random.nextInt(5); s > 0; s--) {
+                subtasks.add(new Subtask(i * 10L + s, "step " + s, random.nextBoolean(), NOW));
+            }
+            tasks.add(new BenchTask(i, createdAt, dueAt, "task " + i, tags, subtasks));
+        }
+        return tasks;
+    }
+
+    static final class Tag {
+        final long id;
+        final String name;
+
+        Tag(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    static final class Subtask {
+        final long id;
+        final String title;
+        final boolean done;
+        final long updatedAt;
+
+        Subtask(long id, String title, boolean done, long updatedAt) {
+            this.id = id;
+            this.title = title;
+            this.done = done;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.core.DayBucketIndex;
+import com.example.task_manager.core.DayBuckets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/** Calendar week sections ({@code CalendarFragment}) and archive sections ({@code ArchiveFragment}). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DayBucketsBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int size;
+
+    private final ZoneId zoneId = ZoneId.of("Europe/Moscow");
+    private List<BenchTask> weekTasks;
+    private List<BenchTask> archiveTasks;
+    private LocalDate weekStart;
+    private List<BenchTask> weekTasksToggled;
+    private DayBucketIndex<BenchTask> weekIndex;
+    private boolean toggled;
+
+    @Setup
+    public void setUp() {
+        weekTasks = BenchTask.generate(size, 7, 1);
+        archiveTasks = BenchTask.generate(size, 365, 2);
+        weekStart = LocalDate.ofInstant(Instant.ofEpochMilli(BenchTask.NOW), zoneId);
+        weekTasksToggled = new ArrayList<>(weekTasks);
+        weekTasksToggled.remove(weekTasksToggled.size() / 2);
+        weekIndex = new DayBucketIndex<>(task -> task.id, task -> task.dueAt,
+                (a, b) -> Objects.equals(a.title, b.title), zoneId);
+        weekIndex.setRange(weekStart, weekStart.plusDays(6));
+        weekIndex.apply(weekTasks);
+    }
+
+    @Benchmark
+    public List<DayBuckets.Bucket<BenchTask>> calendarWeek() {
+        return DayBuckets.inRange(weekTasks, task -> task.dueAt, zoneId, weekStart, weekStart.plusDays(6), true);
+    }
+
+    /** One task completed or restored per emission, as when toggling a checkbox in the week view. */
+    @Benchmark
+    public List<DayBuckets.Bucket<BenchTask>> calendarWeekIncremental() {
+        toggled = !toggled;
+        weekIndex.apply(toggled ? weekTasksToggled : weekTasks);
+        return weekIndex.buckets(true);
+    }
+
+    @Benchmark
+    public List<DayBuckets.Bucket<BenchTask>> archiveNewestFirst() {
+        return DayBuckets.newestFirst(archiveTasks, BenchTask::archiveTime, zoneId);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.core.OccurrenceExpander;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recurring series started up to a year before the visible range, expanded the way {@code CalendarViewModel} does
+ * for one week or month. A fresh expander per call, as each background batch creates its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OccurrenceExpanderBenchmark {
+
+    private static final String[] RULES = {
+            "FREQ=DAILY", "FREQ=DAILY;INTERVAL=3", "FREQ=WEEKLY", "FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH",
+            "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR", "FREQ=MONTHLY", "FREQ=MONTHLY;INTERVAL=3"
+    };
+
+    @Param({"1000", "5000"})
+    public int series;
+
+    private final ZoneId zoneId = ZoneId.of("Europe/Moscow");
+    private List<Row> rows;
+    private LocalDate today;
+
+    static final class Row {
+        final long id;
+        final long time;
+        final String rule;
+
+        Row(long id, long time, String rule) {
+            this.id = id;
+            this.time = time;
+            this.rule = rule;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        today = LocalDate.ofInstant(Instant.ofEpochMilli(BenchTask.NOW), zoneId);
+        long yearAgo = today.minusYears(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+        Random random = new Random(3);
+        rows = new ArrayList<>(series);
+        for (int i = 0; i < series; i++) {
+            long start = yearAgo + random.nextInt(365) * BenchTask.DAY_MS + random.nextInt(86_400) * 1000L;
+            rows.add(new Row(i, start, RULES[random.nextInt(RULES.length)]));
+        }
+    }
+
+    @Benchmark
+    public List<Row> week() {
+        return expander().expand(Collections.emptyList(), rows, today, today.plusDays(6));
+    }
+
+    @Benchmark
+    public List<Row> month() {
+        LocalDate first = today.withDayOfMonth(1);
+        return expander().expand(Collections.emptyList(), rows, first, first.plusMonths(1).minusDays(1));
+    }
+
+    private OccurrenceExpander<Row> expander() {
+        return new OccurrenceExpander<>(row -> row.time, row -> row.rule, (row, time) -> new Row(row.id, time, null), zoneId);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.core.SearchQuery;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Search box parsing done on every keystroke by {@code UiStateViewModel.setSearchQuery}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SearchQueryBenchmark {
+
+    @Param({"отчет", "отчет за квартал #работа", "#работа #Дом   #работа звонок  маме #"})
+    public String query;
+
+    @Benchmark
+    public SearchQuery parse() {
+        return SearchQuery.parse(query);
+    }
+}
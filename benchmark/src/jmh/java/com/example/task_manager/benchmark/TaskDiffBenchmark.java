@@ -0,0 +1,76 @@
+package com.example.task_manager.benchmark;
+
+import com.example.task_manager.core.ListDiffs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content comparison of a full list refresh, mirroring {@code TaskItemCallback.areContentsTheSame}:
+ * every tenth task gets a new title, the rest are equal copies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskDiffBenchmark {
+
+    private static final Comparator<BenchTask.Tag> TAG_ORDER = Comparator.comparing(tag -> tag.name, String.CASE_INSENSITIVE_ORDER);
+
+    @Param({"1000", "10000", "50000"})
+    public int size;
+
+    private List<BenchTask> oldTasks;
+    private List<BenchTask> newTasks;
+
+    @Setup
+    public void setUp() {
+        oldTasks = BenchTask.generate(size, 60, 3);
+        newTasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BenchTask task = oldTasks.get(i);
+            newTasks.add(task.withTitle(i % 10 == 0 ? task.title + " edited" : task.title));
+        }
+    }
+
+    @Benchmark
+    public int changedItems() {
+        int changed = 0;
+        for (int i = 0; i < size; i++) {
+            if (!areContentsTheSame(oldTasks.get(i), newTasks.get(i))) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static boolean areContentsTheSame(BenchTask oldTask, BenchTask newTask) {
+        return oldTask.createdAt == newTask.createdAt
+                && Objects.equals(oldTask.dueAt, newTask.dueAt)
+                && oldTask.title.equals(newTask.title)
+                && ListDiffs.sameInOrder(oldTask.subtasks, newTask.subtasks, TaskDiffBenchmark::isSameSubtask)
+                && ListDiffs.sameSorted(oldTask.tags, newTask.tags, TAG_ORDER, TaskDiffBenchmark::isSameTag);
+    }
+
+    private static boolean isSameSubtask(BenchTask.Subtask oldSubtask, BenchTask.Subtask newSubtask) {
+        return oldSubtask.id == newSubtask.id
+                && oldSubtask.done == newSubtask.done
+                && oldSubtask.updatedAt == newSubtask.updatedAt
+                && oldSubtask.title.equals(newSubtask.title);
+    }
+
+    private static boolean isSameTag(BenchTask.Tag oldTag, BenchTask.Tag newTag) {
+        return oldTag.id == newTag.id && oldTag.name.equals(newTag.name);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.task_manager.core;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Items of a day range kept bucketed by day across successive snapshots. {@link #apply} compares a snapshot with
+ * the previous one by item id and only rebuilds the days whose items were added, removed, moved, reordered or
+ * changed; every other day keeps its {@link DayBuckets.Bucket} instance, so callers can diff buckets by identity.
+ * Day boundaries are computed once per range. Items keep their snapshot order within a day and repeated ids after
+ * the first are ignored. Not thread-safe.
+ */
+public final class DayBucketIndex<T> {
+
+    private static final int NO_DAY = -1;
+
+    private final ToLongFunction<? super T> idOf;
+    private final Function<? super T, Long> timeOf;
+    private final BiPredicate<? super T, ? super T> sameContent;
+    private final ZoneId zoneId;
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+    private final List<DayBuckets.Bucket<T>> buckets = new ArrayList<>();
+    private LocalDate startDay;
+    private long[] dayStarts = new long[0];
+    private int generation;
+
+    public DayBucketIndex(ToLongFunction<? super T> idOf,
+                          Function<? super T, Long> timeOf,
+                          BiPredicate<? super T, ? super T> sameContent,
+                          ZoneId zoneId) {
+        this.idOf = idOf;
+        this.timeOf = timeOf;
+        this.sameContent = sameContent;
+        this.zoneId = zoneId;
+    }
+
+    /** Re-targets the index at {@code startDay..endDay}; days present in both ranges keep their buckets. */
+    public void setRange(LocalDate startDay, LocalDate endDay) {
+        int dayCount = (int) (endDay.toEpochDay() - startDay.toEpochDay()) + 1;
+        if (startDay.equals(this.startDay) && dayCount == buckets.size()) {
+            return;
+        }
+        int shift = this.startDay == null ? 0 : (int) (startDay.toEpochDay() - this.startDay.toEpochDay());
+        List<DayBuckets.Bucket<T>> kept = new ArrayList<>(dayCount);
+        long[] starts = new long[dayCount + 1];
+        for (int day = 0; day <= dayCount; day++) {
+            LocalDate date = startDay.plusDays(day);
+            starts[day] = date.atStartOfDay(zoneId).toInstant().toEpochMilli();
+            if (day == dayCount) {
+                break;
+            }
+            int old = day + shift;
+            kept.add(this.startDay != null && old >= 0 && old < buckets.size()
+                    ? buckets.get(old)
+                    : new DayBuckets.Bucket<>(date, Collections.emptyList()));
+        }
+        for (Iterator<Entry<T>> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry<T> entry = it.next();
+            entry.day -= shift;
+            if (entry.day < 0 || entry.day >= dayCount) {
+                it.remove();
+            }
+        }
+        buckets.clear();
+        buckets.addAll(kept);
+        dayStarts = starts;
+        this.startDay = startDay;
+    }
+
+    /** Replaces the contents with {@code items}; returns how many days were rebuilt. */
+    public int apply(List<? extends T> items) {
+        generation++;
+        int dayCount = buckets.size();
+        int[] counts = new int[dayCount];
+        boolean[] dirty = new boolean[dayCount];
+        if (items != null) {
+            for (T item : items) {
+                int day = dayOf(timeOf.apply(item));
+                if (day == NO_DAY) {
+                    continue;
+                }
+                long id = idOf.applyAsLong(item);
+                Entry<T> entry = entries.get(id);
+                if (entry != null && entry.generation == generation) {
+                    continue;
+                }
+                int position = counts[day]++;
+                if (entry == null) {
+                    entry = new Entry<>();
+                    entries.put(id, entry);
+                    dirty[day] = true;
+                } else if (entry.day != day || entry.position != position || !sameContent.test(entry.item, item)) {
+                    dirty[day] = true;
+                    dirty[entry.day] = true;
+                }
+                entry.item = item;
+                entry.day = day;
+                entry.position = position;
+                entry.generation = generation;
+            }
+        }
+        for (Iterator<Entry<T>> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry<T> entry = it.next();
+            if (entry.generation != generation) {
+                dirty[entry.day] = true;
+                it.remove();
+            }
+        }
+
+        Object[][] rebuilt = new Object[dayCount][];
+        int changed = 0;
+        for (int day = 0; day < dayCount; day++) {
+            if (dirty[day]) {
+                rebuilt[day] = new Object[counts[day]];
+                changed++;
+            }
+        }
+        if (changed == 0) {
+            return 0;
+        }
+        for (Entry<T> entry : entries.values()) {
+            Object[] dayItems = rebuilt[entry.day];
+            if (dayItems != null) {
+                dayItems[entry.position] = entry.item;
+            }
+        }
+        for (int day = 0; day < dayCount; day++) {
+            if (rebuilt[day] != null) {
+                @SuppressWarnings("unchecked")
+                List<T> dayItems = (List<T>) Collections.unmodifiableList(Arrays.asList(rebuilt[day]));
+                buckets.set(day, new DayBuckets.Bucket<>(buckets.get(day).getDate(), dayItems));
+            }
+        }
+        return changed;
+    }
+
+    /** Current buckets in day order; empty days are included when {@code includeEmptyDays} is set. */
+    public List<DayBuckets.Bucket<T>> buckets(boolean includeEmptyDays) {
+        List<DayBuckets.Bucket<T>> result = new ArrayList<>(buckets.size());
+        for (DayBuckets.Bucket<T> bucket : buckets) {
+            if (includeEmptyDays || !bucket.getItems().isEmpty()) {
+                result.add(bucket);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private int dayOf(Long time) {
+        if (time == null || dayStarts.length == 0 || time < dayStarts[0] || time >= dayStarts[dayStarts.length - 1]) {
+            return NO_DAY;
+        }
+        int index = Arrays.binarySearch(dayStarts, time);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static final class Entry<T> {
+        T item;
+        int day;
+        int position;
+        int generation;
+    }
+}
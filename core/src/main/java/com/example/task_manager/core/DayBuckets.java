@@ -0,0 +1,105 @@
+package com.example.task_manager.core;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Groups time-stamped items into calendar days. Items whose time function returns {@code null} are skipped.
+ */
+public final class DayBuckets {
+
+    public static final class Bucket<T> {
+        private final LocalDate date;
+        private final List<T> items;
+
+        Bucket(LocalDate date, List<T> items) {
+            this.date = date;
+            this.items = items;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+    }
+
+    private DayBuckets() {
+    }
+
+    /** One bucket per day from {@code startDay} to {@code endDay}; items keep their input order within a day. */
+    public static <T> List<Bucket<T>> inRange(List<T> items,
+                                              Function<? super T, Long> timeOf,
+                                              ZoneId zoneId,
+                                              LocalDate startDay,
+                                              LocalDate endDay,
+                                              boolean includeEmptyDays) {
+        Map<LocalDate, List<T>> byDay = new HashMap<>();
+        if (items != null) {
+            for (T item : items) {
+                Long time = timeOf.apply(item);
+                if (time == null) {
+                    continue;
+                }
+                LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(time), zoneId);
+                List<T> list = byDay.get(date);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    byDay.put(date, list);
+                }
+                list.add(item);
+            }
+        }
+
+        List<Bucket<T>> buckets = new ArrayList<>();
+        LocalDate cursor = startDay;
+        while (!cursor.isAfter(endDay)) {
+            List<T> dayItems = byDay.get(cursor);
+            if (includeEmptyDays || (dayItems != null && !dayItems.isEmpty())) {
+                buckets.add(new Bucket<>(cursor, dayItems == null ? new ArrayList<>() : dayItems));
+            }
+            cursor = cursor.plusDays(1);
+        }
+        return buckets;
+    }
+
+    /** Buckets for every day that has items, newest day first and newest item first within a day. */
+    public static <T> List<Bucket<T>> newestFirst(List<T> items, Function<? super T, Long> timeOf, ZoneId zoneId) {
+        List<T> sorted = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (timeOf.apply(item) != null) {
+                sorted.add(item);
+            }
+        }
+        sorted.sort((a, b) -> Long.compare(timeOf.apply(b), timeOf.apply(a)));
+
+        Map<LocalDate, List<T>> grouped = new HashMap<>();
+        for (T item : sorted) {
+            LocalDate day = LocalDate.ofInstant(Instant.ofEpochMilli(timeOf.apply(item)), zoneId);
+            List<T> bucket = grouped.get(day);
+            if (bucket == null) {
+                bucket = new ArrayList<>();
+                grouped.put(day, bucket);
+            }
+            bucket.add(item);
+        }
+
+        List<LocalDate> days = new ArrayList<>(grouped.keySet());
+        days.sort(Comparator.reverseOrder());
+
+        List<Bucket<T>> buckets = new ArrayList<>(days.size());
+        for (LocalDate day : days) {
+            buckets.add(new Bucket<>(day, grouped.get(day)));
+        }
+        return buckets;
+    }
+}
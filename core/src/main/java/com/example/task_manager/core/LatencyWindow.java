@@ -0,0 +1,59 @@
+package com.example.task_manager.core;
+
+import java.util.Arrays;
+
+/**
+ * Count, total and maximum of all recorded durations plus percentiles over the most recent {@code size} of them.
+ * Thread-safe.
+ */
+public final class LatencyWindow {
+
+    private final long[] window;
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public LatencyWindow(int size) {
+        this.window = new long[size];
+    }
+
+    public synchronized void add(long durationNanos) {
+        window[(int) (count % window.length)] = durationNanos;
+        count++;
+        totalNanos += durationNanos;
+        maxNanos = Math.max(maxNanos, durationNanos);
+    }
+
+    public synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(window, (int) Math.min(count, window.length));
+        Arrays.sort(sorted);
+        return new Snapshot(count, totalNanos / 1e6,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99), maxNanos / 1e6);
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    public static final class Snapshot {
+        public final long count;
+        public final double totalMillis;
+        public final double p50Millis;
+        public final double p95Millis;
+        public final double p99Millis;
+        public final double maxMillis;
+
+        Snapshot(long count, double totalMillis, double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+            this.count = count;
+            this.totalMillis = totalMillis;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.task_manager.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Element-wise list comparisons for diff callbacks. Two {@code null} lists are equal; {@code null} and non-null are not.
+ */
+public final class ListDiffs {
+
+    private ListDiffs() {
+    }
+
+    public static <T> boolean sameInOrder(List<T> oldItems, List<T> newItems, BiPredicate<? super T, ? super T> same) {
+        if (oldItems == null && newItems == null) {
+            return true;
+        }
+        if (oldItems == null || newItems == null || oldItems.size() != newItems.size()) {
+            return false;
+        }
+        for (int i = 0; i < oldItems.size(); i++) {
+            if (!same.test(oldItems.get(i), newItems.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Compares the lists after sorting copies of both by {@code order}, so element order does not matter. */
+    public static <T> boolean sameSorted(List<T> oldItems,
+                                         List<T> newItems,
+                                         Comparator<? super T> order,
+                                         BiPredicate<? super T, ? super T> same) {
+        if (oldItems == null && newItems == null) {
+            return true;
+        }
+        if (oldItems == null || newItems == null || oldItems.size() != newItems.size()) {
+            return false;
+        }
+        List<T> oldSorted = new ArrayList<>(oldItems);
+        List<T> newSorted = new ArrayList<>(newItems);
+        oldSorted.sort(order);
+        newSorted.sort(order);
+        return sameInOrder(oldSorted, newSorted, same);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.task_manager.core;
+
+import java.util.Arrays;
+
+/**
+ * Least-recently-used map from primitive {@code long} keys to values. Lookups and updates of existing keys do not
+ * allocate, which keeps it usable from bind paths. Not thread-safe.
+ */
+public final class LongLruCache<V> {
+
+    private static final int NONE = -1;
+
+    private final long[] keys;
+    private final Object[] values;
+    private final int[] chain;
+    private final int[] newer;
+    private final int[] older;
+    private final int[] buckets;
+    private int size;
+    private int newest = NONE;
+    private int oldest = NONE;
+
+    public LongLruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        keys = new long[capacity];
+        values = new Object[capacity];
+        chain = new int[capacity];
+        newer = new int[capacity];
+        older = new int[capacity];
+        buckets = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        Arrays.fill(buckets, NONE);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /** Returns the cached value and marks it as most recently used, or {@code null} when absent. */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = find(key);
+        if (slot == NONE) {
+            return null;
+        }
+        touch(slot);
+        return (V) values[slot];
+    }
+
+    /** Stores {@code value}, evicting the least recently used entry when the cache is full. */
+    public void put(long key, V value) {
+        int slot = find(key);
+        if (slot != NONE) {
+            values[slot] = value;
+            touch(slot);
+            return;
+        }
+        if (size < keys.length) {
+            slot = size++;
+        } else {
+            slot = oldest;
+            unlinkBucket(slot);
+            unlinkAge(slot);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        int bucket = bucketOf(key);
+        chain[slot] = buckets[bucket];
+        buckets[bucket] = slot;
+        linkNewest(slot);
+    }
+
+    public void clear() {
+        Arrays.fill(buckets, NONE);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        newest = NONE;
+        oldest = NONE;
+    }
+
+    private int find(long key) {
+        for (int slot = buckets[bucketOf(key)]; slot != NONE; slot = chain[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return NONE;
+    }
+
+    private int bucketOf(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & (buckets.length - 1);
+    }
+
+    private void touch(int slot) {
+        if (slot != newest) {
+            unlinkAge(slot);
+            linkNewest(slot);
+        }
+    }
+
+    private void unlinkBucket(int slot) {
+        int bucket = bucketOf(keys[slot]);
+        if (buckets[bucket] == slot) {
+            buckets[bucket] = chain[slot];
+            return;
+        }
+        int previous = buckets[bucket];
+        while (chain[previous] != slot) {
+            previous = chain[previous];
+        }
+        chain[previous] = chain[slot];
+    }
+
+    private void unlinkAge(int slot) {
+        if (newer[slot] != NONE) {
+            older[newer[slot]] = older[slot];
+        } else {
+            newest = older[slot];
+        }
+        if (older[slot] != NONE) {
+            newer[older[slot]] = newer[slot];
+        } else {
+            oldest = newer[slot];
+        }
+    }
+
+    private void linkNewest(int slot) {
+        newer[slot] = NONE;
+        older[slot] = newest;
+        if (newest != NONE) {
+            newer[newest] = slot;
+        }
+        newest = slot;
+        if (oldest == NONE) {
+            oldest = slot;
+        }
+    }
+}
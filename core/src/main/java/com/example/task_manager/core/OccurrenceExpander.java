@@ -0,0 +1,102 @@
+package com.example.task_manager.core;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Turns recurring series into the rows of a day range and merges them with the stored one-off rows of that range.
+ * Nothing is materialized outside the range. Parsed rules are cached by their text, since most series share a
+ * handful of rules. Not thread-safe.
+ */
+public final class OccurrenceExpander<T> {
+
+    /** Builds the row shown for one occurrence of {@code series} at {@code time}. */
+    public interface Factory<T> {
+        T occurrence(T series, long time);
+    }
+
+    private final ToLongFunction<T> timeOf;
+    private final Function<T, String> ruleOf;
+    private final Factory<T> factory;
+    private final ZoneId zoneId;
+    private final Map<String, Recurrence> rules = new HashMap<>();
+
+    public OccurrenceExpander(ToLongFunction<T> timeOf, Function<T, String> ruleOf, Factory<T> factory, ZoneId zoneId) {
+        this.timeOf = timeOf;
+        this.ruleOf = ruleOf;
+        this.factory = factory;
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * Rows of {@code [from, to]}: {@code stored}, ordered by time, merged with the occurrences of every series.
+     * A series whose rule does not parse shows once, at its own time. Ties keep stored rows first.
+     */
+    public List<T> expand(List<T> stored, List<T> series, LocalDate from, LocalDate to) {
+        if (series.isEmpty()) {
+            return stored;
+        }
+        List<T> occurrences = new ArrayList<>();
+        long fromMillis = from.atStartOfDay(zoneId).toInstant().toEpochMilli();
+        long toMillis = to.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        int rangeOffset = Recurrence.rangeOffsetMillis(zoneId, from, to);
+        for (T item : series) {
+            long start = timeOf.applyAsLong(item);
+            Recurrence rule = ruleFor(ruleOf.apply(item));
+            if (rule == null) {
+                if (start >= fromMillis && start < toMillis) {
+                    occurrences.add(factory.occurrence(item, start));
+                }
+            } else if (start < toMillis) {
+                rule.expand(start, zoneId, fromDay, toDay, rangeOffset, time -> occurrences.add(factory.occurrence(item, time)));
+            }
+        }
+        if (occurrences.isEmpty()) {
+            return stored;
+        }
+        occurrences.sort(Comparator.comparingLong(timeOf));
+        return merge(stored, occurrences);
+    }
+
+    private Recurrence ruleFor(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (rules.containsKey(text)) {
+            return rules.get(text);
+        }
+        Recurrence rule;
+        try {
+            rule = Recurrence.parse(text);
+        } catch (IllegalArgumentException e) {
+            rule = null;
+        }
+        rules.put(text, rule);
+        return rule;
+    }
+
+    private List<T> merge(List<T> stored, List<T> occurrences) {
+        List<T> merged = new ArrayList<>(stored.size() + occurrences.size());
+        int i = 0;
+        int j = 0;
+        while (i < stored.size() && j < occurrences.size()) {
+            if (timeOf.applyAsLong(occurrences.get(j)) < timeOf.applyAsLong(stored.get(i))) {
+                merged.add(occurrences.get(j++));
+            } else {
+                merged.add(stored.get(i++));
+            }
+        }
+        merged.addAll(stored.subList(i, stored.size()));
+        merged.addAll(occurrences.subList(j, occurrences.size()));
+        return merged;
+    }
+}
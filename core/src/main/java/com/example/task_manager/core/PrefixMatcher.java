@@ -0,0 +1,85 @@
+package com.example.task_manager.core;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * In-memory counterpart of an FTS4 prefix query such as {@code "отч* год*"}: every query token must be a prefix of
+ * some word. Words are split on non letter-or-digit characters and lower-cased; like the {@code unicode61} tokenizer
+ * with its default {@code remove_diacritics=1}, only Latin letters lose their diacritics, so "й" and "ё" stay
+ * distinct from "и" and "е" here as they are in SQL.
+ */
+public final class PrefixMatcher {
+
+    private PrefixMatcher() {
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= composed.length(); i++) {
+            char c = i < composed.length() ? composed.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                appendFolded(token, c);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static void appendFolded(StringBuilder token, char c) {
+        if (c < 0x80 || Character.UnicodeScript.of(c) != Character.UnicodeScript.LATIN) {
+            token.append(Character.toLowerCase(c));
+            return;
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        for (int i = 0; i < decomposed.length(); i++) {
+            char part = decomposed.charAt(i);
+            if (Character.getType(part) != Character.NON_SPACING_MARK) {
+                token.append(Character.toLowerCase(part));
+            }
+        }
+    }
+
+    /**
+     * Whether everything matching {@code next} also matches {@code previous}: each previous token is a prefix of the
+     * token in the same position, and {@code next} may add tokens. Results for {@code previous} can then be filtered
+     * instead of queried again.
+     */
+    public static boolean refines(List<String> previous, List<String> next) {
+        if (previous.isEmpty() || next.size() < previous.size()) {
+            return false;
+        }
+        for (int i = 0; i < previous.size(); i++) {
+            if (!next.get(i).startsWith(previous.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Whether every query token is a prefix of at least one of {@code words}. */
+    public static boolean matchesAll(List<String> queryTokens, List<String> words) {
+        for (String queryToken : queryTokens) {
+            boolean found = false;
+            for (String word : words) {
+                if (word.startsWith(queryToken)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
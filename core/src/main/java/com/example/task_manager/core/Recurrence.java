@@ -0,0 +1,318 @@
+package com.example.task_manager.core;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Repetition rule of a task, stored as an RRULE subset: {@code FREQ} (DAILY, WEEKLY, MONTHLY), {@code INTERVAL},
+ * {@code BYDAY} for weekly rules and {@code UNTIL} as a date. Occurrences are computed on demand for a day range;
+ * the first one in range is found arithmetically, so the cost depends on the range and not on the age of the series.
+ *
+ * <p>Monthly rules repeat on the start's day of month and, as in RFC 5545, skip months without that day.
+ */
+public final class Recurrence {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+
+    /** Returned by the package-private overloads for an offset that changes within the range. */
+    static final int VARIABLE_OFFSET = Integer.MIN_VALUE;
+
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final long NONE = Long.MIN_VALUE;
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+    private final Frequency frequency;
+    private final int interval;
+    /** Bit {@code DayOfWeek.getValue() - 1} per weekday; 0 repeats on the start's weekday. Weekly rules only. */
+    private final int weekdays;
+    private final LocalDate until;
+    private final long untilDay;
+
+    public Recurrence(Frequency frequency, int interval, int weekdays, LocalDate until) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        this.frequency = Objects.requireNonNull(frequency);
+        this.interval = interval;
+        this.weekdays = frequency == Frequency.WEEKLY ? weekdays & 0x7f : 0;
+        this.until = until;
+        this.untilDay = until == null ? Long.MAX_VALUE : until.toEpochDay();
+    }
+
+    public static Recurrence of(Frequency frequency, int interval) {
+        return new Recurrence(frequency, interval, 0, null);
+    }
+
+    public static int weekdayBit(DayOfWeek day) {
+        return 1 << (day.getValue() - 1);
+    }
+
+    /** Parses {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;UNTIL=20251231}; unknown parts are rejected. */
+    public static Recurrence parse(String rule) {
+        Frequency frequency = null;
+        int interval = 1;
+        int weekdays = 0;
+        LocalDate until = null;
+        for (String part : rule.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Malformed rule part: " + part);
+            }
+            String name = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim().toUpperCase(Locale.ROOT);
+            try {
+                switch (name) {
+                    case "FREQ":
+                        frequency = Frequency.valueOf(value);
+                        break;
+                    case "INTERVAL":
+                        interval = Integer.parseInt(value);
+                        break;
+                    case "BYDAY":
+                        weekdays = parseWeekdays(value);
+                        break;
+                    case "UNTIL":
+                        until = LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, UNTIL_FORMAT);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported rule part: " + name);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Malformed rule part: " + part, e);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Rule without FREQ: " + rule);
+        }
+        return new Recurrence(frequency, interval, weekdays, until);
+    }
+
+    private static int parseWeekdays(String value) {
+        int mask = 0;
+        for (String code : value.split(",")) {
+            int index = indexOfDay(code.trim());
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown weekday: " + code);
+            }
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    private static int indexOfDay(String code) {
+        for (int i = 0; i < DAY_CODES.length; i++) {
+            if (DAY_CODES[i].equals(code)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getWeekdays() {
+        return weekdays;
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /** The rule in the form {@link #parse} reads; {@code INTERVAL=1} is left out. */
+    public String toRule() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency.name());
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (weekdays != 0) {
+            rule.append(";BYDAY=");
+            boolean first = true;
+            for (int i = 0; i < DAY_CODES.length; i++) {
+                if ((weekdays & (1 << i)) != 0) {
+                    rule.append(first ? "" : ",").append(DAY_CODES[i]);
+                    first = false;
+                }
+            }
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_FORMAT.format(until));
+        }
+        return rule.toString();
+    }
+
+    /**
+     * Emits the epoch millis of every occurrence of a series starting at {@code startMillis} whose day in
+     * {@code zoneId} falls in {@code [from, to]}, in order. Returns the number emitted.
+     */
+    public int expand(long startMillis, ZoneId zoneId, LocalDate from, LocalDate to, LongConsumer out) {
+        return expand(startMillis, zoneId, from.toEpochDay(), to.toEpochDay(), rangeOffsetMillis(zoneId, from, to), out);
+    }
+
+    /** {@link #expand(long, ZoneId, LocalDate, LocalDate, LongConsumer)} with the range's offset computed once. */
+    int expand(long startMillis, ZoneId zoneId, long fromDay, long toDay, int rangeOffsetMillis, LongConsumer out) {
+        ZoneRules rules = zoneId.getRules();
+        long startLocal = startMillis + rules.getOffset(Instant.ofEpochMilli(startMillis)).getTotalSeconds() * 1000L;
+        long startDay = Math.floorDiv(startLocal, DAY_MILLIS);
+        long timeOfDay = Math.floorMod(startLocal, DAY_MILLIS);
+        int count = 0;
+        for (long day = firstOnOrAfter(startDay, fromDay); day != NONE && day <= toDay;
+             day = firstOnOrAfter(startDay, day + 1)) {
+            long local = day * DAY_MILLIS + timeOfDay;
+            out.accept(rangeOffsetMillis != VARIABLE_OFFSET ? local - rangeOffsetMillis : toEpochMillis(local, zoneId));
+            count++;
+        }
+        return count;
+    }
+
+    /** The first occurrence strictly after {@code afterMillis}, or -1 when the series has ended. */
+    public long nextAfter(long startMillis, ZoneId zoneId, long afterMillis) {
+        ZoneRules rules = zoneId.getRules();
+        long startLocal = startMillis + rules.getOffset(Instant.ofEpochMilli(startMillis)).getTotalSeconds() * 1000L;
+        long startDay = Math.floorDiv(startLocal, DAY_MILLIS);
+        long timeOfDay = Math.floorMod(startLocal, DAY_MILLIS);
+        long afterLocal = afterMillis + rules.getOffset(Instant.ofEpochMilli(afterMillis)).getTotalSeconds() * 1000L;
+        for (long day = firstOnOrAfter(startDay, Math.floorDiv(afterLocal, DAY_MILLIS)); day != NONE;
+             day = firstOnOrAfter(startDay, day + 1)) {
+            long millis = toEpochMillis(day * DAY_MILLIS + timeOfDay, zoneId);
+            if (millis > afterMillis) {
+                return millis;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The zone offset valid throughout {@code [from, to]} with a day of margin either side, or
+     * {@link #VARIABLE_OFFSET} when a transition falls inside and each occurrence needs its own lookup.
+     */
+    static int rangeOffsetMillis(ZoneId zoneId, LocalDate from, LocalDate to) {
+        ZoneRules rules = zoneId.getRules();
+        Instant start = Instant.ofEpochMilli((from.toEpochDay() - 1) * DAY_MILLIS);
+        if (!rules.isFixedOffset()) {
+            ZoneOffsetTransition next = rules.nextTransition(start);
+            if (next != null && next.getInstant().toEpochMilli() < (to.toEpochDay() + 2) * DAY_MILLIS) {
+                return VARIABLE_OFFSET;
+            }
+        }
+        return rules.getOffset(start).getTotalSeconds() * 1000;
+    }
+
+    private static long toEpochMillis(long localMillis, ZoneId zoneId) {
+        LocalDateTime local = LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000L),
+                (int) Math.floorMod(localMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+        return local.atZone(zoneId).toInstant().toEpochMilli();
+    }
+
+    /** First occurrence epoch day on or after {@code day}, or {@link #NONE} past {@link #until}. */
+    long firstOnOrAfter(long startDay, long day) {
+        if (day < startDay) {
+            day = startDay;
+        }
+        long result;
+        switch (frequency) {
+            case DAILY:
+                result = startDay + ceilToInterval(day - startDay);
+                break;
+            case WEEKLY:
+                result = firstWeekly(startDay, day);
+                break;
+            default:
+                result = firstMonthly(startDay, day);
+                break;
+        }
+        return result > untilDay ? NONE : result;
+    }
+
+    private long firstWeekly(long startDay, long day) {
+        int mask = weekdays != 0 ? weekdays : 1 << weekdayIndex(startDay);
+        long anchor = startDay - weekdayIndex(startDay);
+        long weekStart = day - weekdayIndex(day);
+        long weeks = (weekStart - anchor) / 7;
+        if (weeks % interval == 0) {
+            for (int i = weekdayIndex(day); i < 7; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    return weekStart + i;
+                }
+            }
+            weeks += interval;
+        } else {
+            weeks = ceilToInterval(weeks);
+        }
+        return anchor + weeks * 7 + Integer.numberOfTrailingZeros(mask);
+    }
+
+    /** Monday-based index of the weekday of an epoch day; 1970-01-01 was a Thursday. */
+    private static int weekdayIndex(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    /** Terminates: the month of the start recurs every {@code lcm(interval, 48)} months with the same length. */
+    private long firstMonthly(long startDay, long day) {
+        LocalDate start = LocalDate.ofEpochDay(startDay);
+        LocalDate target = LocalDate.ofEpochDay(day);
+        YearMonth startMonth = YearMonth.from(start);
+        int dayOfMonth = start.getDayOfMonth();
+        long months = ceilToInterval(ChronoUnit.MONTHS.between(startMonth, YearMonth.from(target)));
+        while (true) {
+            YearMonth month = startMonth.plusMonths(months);
+            if (month.isValidDay(dayOfMonth)) {
+                long candidate = month.atDay(dayOfMonth).toEpochDay();
+                if (candidate >= day) {
+                    return candidate;
+                }
+            }
+            months += interval;
+        }
+    }
+
+    private long ceilToInterval(long units) {
+        return (units + interval - 1) / interval * interval;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Recurrence)) {
+            return false;
+        }
+        Recurrence other = (Recurrence) o;
+        return frequency == other.frequency && interval == other.interval && weekdays == other.weekdays
+                && Objects.equals(until, other.until);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(frequency, interval, weekdays, until);
+    }
+
+    @Override
+    public String toString() {
+        return toRule();
+    }
+}
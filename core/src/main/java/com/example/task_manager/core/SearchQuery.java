@@ -0,0 +1,53 @@
+package com.example.task_manager.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Search box input split into free text and {@code #tag} names. Tag names are lower-cased and de-duplicated.
+ */
+public final class SearchQuery {
+
+    private final String text;
+    private final List<String> tagNames;
+
+    private SearchQuery(String text, List<String> tagNames) {
+        this.text = text;
+        this.tagNames = tagNames;
+    }
+
+    public static SearchQuery parse(String query) {
+        String normalized = query == null ? "" : query.trim();
+        if (normalized.isEmpty()) {
+            return new SearchQuery("", new ArrayList<>());
+        }
+        String[] tokens = normalized.split("\\s+");
+        StringBuilder text = new StringBuilder();
+        Set<String> tags = new LinkedHashSet<>();
+        for (String token : tokens) {
+            if (token.startsWith("#")) {
+                String tag = token.substring(1).trim().toLowerCase(Locale.ROOT);
+                if (!tag.isEmpty()) {
+                    tags.add(tag);
+                }
+            } else {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(token);
+            }
+        }
+        return new SearchQuery(text.toString().trim(), new ArrayList<>(tags));
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public List<String> getTagNames() {
+        return tagNames;
+    }
+}
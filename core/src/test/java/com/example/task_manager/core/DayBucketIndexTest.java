@@ -0,0 +1,105 @@
+package com.example.task_manager.core;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class DayBucketIndexTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    private static final class Item {
+        final long id;
+        final long time;
+        final String title;
+
+        Item(long id, LocalDate day, int hour, String title) {
+            this.id = id;
+            this.time = day.atStartOfDay(UTC).toInstant().toEpochMilli() + hour * 3_600_000L;
+            this.title = title;
+        }
+    }
+
+    private static DayBucketIndex<Item> newIndex() {
+        DayBucketIndex<Item> index = new DayBucketIndex<>(item -> item.id, item -> item.time,
+                (a, b) -> Objects.equals(a.title, b.title), UTC);
+        index.setRange(DAY, DAY.plusDays(6));
+        return index;
+    }
+
+    @Test
+    public void apply_matchesDayBucketsInRange() {
+        List<Item> items = Arrays.asList(
+                new Item(1, DAY, 9, "a"), new Item(2, DAY.plusDays(3), 1, "b"),
+                new Item(3, DAY, 8, "c"), new Item(4, DAY.plusDays(9), 1, "out of range"));
+        DayBucketIndex<Item> index = newIndex();
+
+        index.apply(items);
+
+        List<DayBuckets.Bucket<Item>> expected = DayBuckets.inRange(items, item -> item.time, UTC, DAY, DAY.plusDays(6), true);
+        List<DayBuckets.Bucket<Item>> actual = index.buckets(true);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getDate(), actual.get(i).getDate());
+            assertEquals(expected.get(i).getItems(), actual.get(i).getItems());
+        }
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void apply_rebuildsOnlyDaysThatChanged() {
+        Item first = new Item(1, DAY, 9, "a");
+        Item moving = new Item(2, DAY.plusDays(1), 9, "b");
+        Item untouched = new Item(3, DAY.plusDays(2), 9, "c");
+        DayBucketIndex<Item> index = newIndex();
+        index.apply(Arrays.asList(first, moving, untouched));
+        List<DayBuckets.Bucket<Item>> before = index.buckets(true);
+
+        Item moved = new Item(2, DAY.plusDays(4), 9, "b");
+        int changed = index.apply(Arrays.asList(first, untouched, moved));
+
+        List<DayBuckets.Bucket<Item>> after = index.buckets(true);
+        assertEquals(2, changed);
+        assertSame(before.get(0), after.get(0));
+        assertSame(before.get(2), after.get(2));
+        assertNotSame(before.get(1), after.get(1));
+        assertEquals(Collections.emptyList(), after.get(1).getItems());
+        assertEquals(Collections.singletonList(moved), after.get(4).getItems());
+    }
+
+    @Test
+    public void apply_detectsContentChangeAndRemoval() {
+        DayBucketIndex<Item> index = newIndex();
+        index.apply(Arrays.asList(new Item(1, DAY, 9, "a"), new Item(2, DAY.plusDays(1), 9, "b")));
+
+        assertEquals(0, index.apply(Arrays.asList(new Item(1, DAY, 9, "a"), new Item(2, DAY.plusDays(1), 9, "b"))));
+        assertEquals(1, index.apply(Arrays.asList(new Item(1, DAY, 9, "renamed"), new Item(2, DAY.plusDays(1), 9, "b"))));
+        assertEquals(1, index.apply(Collections.singletonList(new Item(1, DAY, 9, "renamed"))));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void setRange_keepsBucketsOfOverlappingDays() {
+        DayBucketIndex<Item> index = newIndex();
+        index.apply(Arrays.asList(new Item(1, DAY, 9, "a"), new Item(2, DAY.plusDays(5), 9, "b")));
+        DayBuckets.Bucket<Item> kept = index.buckets(true).get(5);
+
+        index.setRange(DAY.plusDays(3), DAY.plusDays(9));
+
+        List<DayBuckets.Bucket<Item>> buckets = index.buckets(true);
+        assertEquals(DAY.plusDays(3), buckets.get(0).getDate());
+        assertSame(kept, buckets.get(2));
+        assertEquals(1, index.size());
+    }
+}
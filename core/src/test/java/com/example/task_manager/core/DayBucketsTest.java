@@ -0,0 +1,44 @@
+package com.example.task_manager.core;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class DayBucketsTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    private static Long at(LocalDate day, int hour) {
+        return day.atStartOfDay(UTC).toInstant().toEpochMilli() + hour * 3_600_000L;
+    }
+
+    @Test
+    public void inRange_keepsEmptyDaysAndSkipsUndated() {
+        List<Long> times = Arrays.asList(at(DAY, 9), null, at(DAY.plusDays(2), 1), at(DAY, 8));
+
+        List<DayBuckets.Bucket<Long>> buckets = DayBuckets.inRange(times, t -> t, UTC, DAY, DAY.plusDays(2), true);
+
+        assertEquals(3, buckets.size());
+        assertEquals(Arrays.asList(at(DAY, 9), at(DAY, 8)), buckets.get(0).getItems());
+        assertEquals(Collections.emptyList(), buckets.get(1).getItems());
+        assertEquals(DAY.plusDays(2), buckets.get(2).getDate());
+    }
+
+    @Test
+    public void newestFirst_ordersDaysAndItemsDescending() {
+        List<Long> times = Arrays.asList(at(DAY, 1), at(DAY.plusDays(1), 5), at(DAY, 7));
+
+        List<DayBuckets.Bucket<Long>> buckets = DayBuckets.newestFirst(times, t -> t, UTC);
+
+        assertEquals(DAY.plusDays(1), buckets.get(0).getDate());
+        assertEquals(Arrays.asList(at(DAY, 7), at(DAY, 1)), buckets.get(1).getItems());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.task_manager.core;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LongLruCacheTest {
+
+    @Test
+    public void put_evictsLeastRecentlyUsed() {
+        LongLruCache<String> cache = new LongLruCache<>(2);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.get(1);
+        cache.put(3, "c");
+
+        assertEquals("a", cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals("c", cache.get(3));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void matchesLinkedHashMapUnderRandomAccess() {
+        int capacity = 37;
+        LongLruCache<Long> cache = new LongLruCache<>(capacity);
+        Map<Long, Long> expected = new LinkedHashMap<Long, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(100) - 50;
+            if (random.nextBoolean()) {
+                cache.put(key, (long) i);
+                expected.put(key, (long) i);
+            } else {
+                assertEquals(expected.get(key), cache.get(key));
+            }
+            if (i % 5_000 == 4_999) {
+                cache.clear();
+                expected.clear();
+            }
+        }
+        Map<Long, Long> remaining = new HashMap<>(expected);
+        for (Map.Entry<Long, Long> entry : remaining.entrySet()) {
+            assertEquals(entry.getValue(), cache.get(entry.getKey()));
+        }
+        assertEquals(expected.size(), cache.size());
+    }
+}
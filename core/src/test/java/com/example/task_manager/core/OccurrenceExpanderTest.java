@@ -0,0 +1,72 @@
+package com.example.task_manager.core;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class OccurrenceExpanderTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+    private static final long HOUR = 3_600_000L;
+
+    private static final class Row {
+        final String name;
+        final long time;
+        final String rule;
+
+        Row(String name, long time, String rule) {
+            this.name = name;
+            this.time = time;
+            this.rule = rule;
+        }
+    }
+
+    @Test
+    public void expand_mergesOccurrencesWithStoredRowsInTimeOrder() {
+        Row daily = new Row("daily", at(MONDAY.minusDays(10), 9), "FREQ=DAILY;INTERVAL=2");
+        Row weekly = new Row("weekly", at(MONDAY.minusWeeks(3), 12), "FREQ=WEEKLY;BYDAY=TU,TH");
+        List<Row> stored = Arrays.asList(new Row("a", at(MONDAY, 10), null), new Row("b", at(MONDAY.plusDays(3), 12), null));
+
+        List<Row> rows = expander().expand(stored, Arrays.asList(daily, weekly), MONDAY, MONDAY.plusDays(3));
+
+        assertEquals(Arrays.asList("daily@0", "a@0", "weekly@1", "daily@2", "b@3", "weekly@3"), names(rows));
+    }
+
+    @Test
+    public void expand_showsUnparseableRuleOnceAndKeepsStoredListWithoutOccurrences() {
+        Row broken = new Row("broken", at(MONDAY.plusDays(1), 8), "FREQ=YEARLY");
+        Row later = new Row("later", at(MONDAY.plusWeeks(2), 8), "FREQ=DAILY");
+        List<Row> stored = Collections.singletonList(new Row("a", at(MONDAY, 10), null));
+        OccurrenceExpander<Row> expander = expander();
+
+        assertEquals(Arrays.asList("a@0", "broken@1"), names(expander.expand(stored, Arrays.asList(broken, later), MONDAY, MONDAY.plusDays(6))));
+        assertSame(stored, expander.expand(stored, Collections.singletonList(later), MONDAY, MONDAY.plusDays(6)));
+    }
+
+    private static OccurrenceExpander<Row> expander() {
+        return new OccurrenceExpander<>(row -> row.time, row -> row.rule, (row, time) -> new Row(row.name, time, null), UTC);
+    }
+
+    private static long at(LocalDate day, int hour) {
+        return day.atStartOfDay(UTC).toInstant().toEpochMilli() + hour * HOUR;
+    }
+
+    private static List<String> names(List<Row> rows) {
+        List<String> names = new ArrayList<>();
+        for (Row row : rows) {
+            long day = Math.floorDiv(row.time, 86_400_000L) - MONDAY.toEpochDay();
+            names.add(row.name + "@" + day);
+        }
+        return names;
+    }
+}
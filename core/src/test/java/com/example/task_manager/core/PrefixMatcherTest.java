@@ -0,0 +1,49 @@
+package com.example.task_manager.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PrefixMatcherTest {
+
+    @Test
+    public void tokenize_lowerCasesAndFoldsLatinDiacritics() {
+        assertEquals(Arrays.asList("отчет", "за", "2024", "cafe", "uber"), PrefixMatcher.tokenize("Отчет за 2024, café! Über"));
+        assertEquals(Collections.emptyList(), PrefixMatcher.tokenize(" -- "));
+    }
+
+    @Test
+    public void tokenize_keepsCyrillicLettersLikeUnicode61() {
+        assertEquals(Arrays.asList("мой", "ёлка", "йогурт"), PrefixMatcher.tokenize("Мой ЁЛКА Йогурт"));
+        assertEquals(Collections.singletonList("ёлка"), PrefixMatcher.tokenize("е\u0308лка"));
+        assertFalse(PrefixMatcher.matchesAll(PrefixMatcher.tokenize("мой"), PrefixMatcher.tokenize("мои задачи")));
+        assertFalse(PrefixMatcher.matchesAll(PrefixMatcher.tokenize("елка"), PrefixMatcher.tokenize("Ёлка")));
+        assertFalse(PrefixMatcher.matchesAll(PrefixMatcher.tokenize("ёлка"), PrefixMatcher.tokenize("елка")));
+    }
+
+    @Test
+    public void refines_acceptsExtendedTokensAndAddedWords() {
+        List<String> previous = PrefixMatcher.tokenize("отч");
+
+        assertTrue(PrefixMatcher.refines(previous, PrefixMatcher.tokenize("отче")));
+        assertTrue(PrefixMatcher.refines(previous, PrefixMatcher.tokenize("отчет го")));
+        assertFalse(PrefixMatcher.refines(previous, PrefixMatcher.tokenize("от")));
+        assertFalse(PrefixMatcher.refines(previous, PrefixMatcher.tokenize("план отчет")));
+        assertFalse(PrefixMatcher.refines(Collections.emptyList(), previous));
+    }
+
+    @Test
+    public void matchesAll_requiresEveryTokenAsWordPrefix() {
+        List<String> words = PrefixMatcher.tokenize("Годовой отчет");
+
+        assertTrue(PrefixMatcher.matchesAll(PrefixMatcher.tokenize("отче год"), words));
+        assertFalse(PrefixMatcher.matchesAll(PrefixMatcher.tokenize("отче план"), words));
+        assertFalse(PrefixMatcher.matchesAll(PrefixMatcher.tokenize("чет"), words));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.task_manager.core;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class RecurrenceTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final LocalDate START = LocalDate.of(2024, 1, 31);
+
+    @Test
+    public void parse_roundTripsRule() {
+        Recurrence rule = Recurrence.parse("freq=weekly;INTERVAL=2;BYDAY=TH,MO;UNTIL=20251231T235959Z");
+
+        assertEquals(Recurrence.Frequency.WEEKLY, rule.getFrequency());
+        assertEquals(2, rule.getInterval());
+        assertEquals(Recurrence.weekdayBit(DayOfWeek.MONDAY) | Recurrence.weekdayBit(DayOfWeek.THURSDAY), rule.getWeekdays());
+        assertEquals("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;UNTIL=20251231", rule.toRule());
+        assertEquals(rule, Recurrence.parse(rule.toRule()));
+    }
+
+    @Test
+    public void expand_monthlySkipsMonthsWithoutTheDay() {
+        List<LocalDate> days = expand(Recurrence.of(Recurrence.Frequency.MONTHLY, 1), START, START, LocalDate.of(2024, 7, 31));
+
+        assertEquals(Arrays.asList(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 5, 31),
+                LocalDate.of(2024, 7, 31)), days);
+    }
+
+    @Test
+    public void expand_matchesDayByDayScan() {
+        Random random = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            Recurrence.Frequency frequency = Recurrence.Frequency.values()[random.nextInt(3)];
+            LocalDate until = random.nextInt(4) == 0 ? START.plusDays(random.nextInt(900)) : null;
+            Recurrence rule = new Recurrence(frequency, 1 + random.nextInt(5), random.nextInt(128), until);
+            LocalDate start = START.plusDays(random.nextInt(60));
+            LocalDate from = START.plusDays(random.nextInt(800) - 30);
+            LocalDate to = from.plusDays(random.nextInt(40));
+
+            assertEquals(rule.toRule() + " from " + start, scan(rule, start, from, to), expand(rule, start, from, to));
+        }
+    }
+
+    @Test
+    public void nextAfter_stepsToFollowingOccurrenceUntilTheEnd() {
+        long start = millis(START.atTime(9, 0));
+        Recurrence rule = new Recurrence(Recurrence.Frequency.DAILY, 3, 0, START.plusDays(6));
+
+        assertEquals(millis(START.plusDays(3).atTime(9, 0)), rule.nextAfter(start, UTC, start));
+        assertEquals(millis(START.plusDays(6).atTime(9, 0)), rule.nextAfter(start, UTC, millis(START.plusDays(3).atTime(9, 0))));
+        assertEquals(-1, rule.nextAfter(start, UTC, millis(START.plusDays(6).atTime(9, 0))));
+    }
+
+    private static List<LocalDate> expand(Recurrence rule, LocalDate start, LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        rule.expand(millis(start.atTime(9, 30)), UTC, from, to,
+                time -> days.add(LocalDateTime.ofEpochSecond(time / 1000, 0, ZoneOffset.UTC).toLocalDate()));
+        return days;
+    }
+
+    private static List<LocalDate> scan(Recurrence rule, LocalDate start, LocalDate from, LocalDate to) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = start; !day.isAfter(to); day = day.plusDays(1)) {
+            if (!day.isBefore(from) && (rule.getUntil() == null || !day.isAfter(rule.getUntil())) && occursOn(rule, start, day)) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    private static boolean occursOn(Recurrence rule, LocalDate start, LocalDate day) {
+        int interval = rule.getInterval();
+        switch (rule.getFrequency()) {
+            case DAILY:
+                return ChronoUnit.DAYS.between(start, day) % interval == 0;
+            case WEEKLY:
+                int mask = rule.getWeekdays() != 0 ? rule.getWeekdays() : Recurrence.weekdayBit(start.getDayOfWeek());
+                long weeks = ChronoUnit.WEEKS.between(start.with(DayOfWeek.MONDAY), day.with(DayOfWeek.MONDAY));
+                return weeks % interval == 0 && (mask & Recurrence.weekdayBit(day.getDayOfWeek())) != 0;
+            default:
+                return day.getDayOfMonth() == start.getDayOfMonth()
+                        && ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(day)) % interval == 0;
+        }
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.task_manager.core;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class SearchQueryTest {
+
+    @Test
+    public void parse_splitsTextAndNormalizedTags() {
+        SearchQuery query = SearchQuery.parse("  отчет #Работа  за #работа # год ");
+
+        assertEquals("отчет за год", query.getText());
+        assertEquals(Collections.singletonList("работа"), query.getTagNames());
+    }
+
+    @Test
+    public void parse_blankInputIsEmpty() {
+        SearchQuery query = SearchQuery.parse("   ");
+
+        assertEquals("", query.getText());
+        assertEquals(Collections.emptyList(), query.getTagNames());
+    }
+}
@@ -21,4 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "task_manager"
 include(":app")
+include(":core")
+include(":benchmark")
  
\ No newline at end of file